@@ -20,14 +20,21 @@ import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryProviderConfiguration;
 import org.finos.legend.depot.schedules.services.SchedulesFactory;
+import org.finos.legend.depot.pure.model.context.PureModelContextPrecomputer;
+import org.finos.legend.depot.store.api.entities.UpdateEntities;
+import org.finos.legend.depot.store.api.pmcd.UpdatePrecomputedPureModelContexts;
+import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
 import org.finos.legend.depot.store.artifacts.api.ArtifactsRefreshService;
 import org.finos.legend.depot.store.artifacts.api.ParentEvent;
 import org.finos.legend.depot.store.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
+import org.finos.legend.depot.store.artifacts.configuration.PureModelContextPrecomputeConfiguration;
 import org.finos.legend.depot.store.artifacts.resources.ArtifactsRefreshResource;
 import org.finos.legend.depot.store.artifacts.resources.DependenciesResource;
 import org.finos.legend.depot.store.artifacts.services.ArtifactsRefreshServiceImpl;
 import org.finos.legend.depot.store.artifacts.services.DependencyManager;
+import org.finos.legend.depot.store.artifacts.services.ProjectVersionIngestionStages;
 import org.finos.legend.depot.store.artifacts.services.ProjectVersionRefreshHandler;
+import org.finos.legend.depot.store.artifacts.services.pmcd.PureModelContextIngestionStage;
 import org.finos.legend.depot.store.notifications.api.NotificationEventHandler;
 import org.finos.legend.depot.tracing.api.PrometheusMetricsHandler;
 
@@ -78,6 +85,18 @@ public class ArtifactsRefreshModule extends PrivateModule
         return true;
     }
 
+    @Provides
+    @Singleton
+    @Named("pmcd-precompute-stage")
+    boolean registerPureModelContextPrecomputeStage(PureModelContextPrecomputeConfiguration configuration, UpdateEntities entities, UpdateProjectsVersions projectsVersions, UpdatePrecomputedPureModelContexts precomputedPureModelContexts)
+    {
+        if (configuration.isEnabled())
+        {
+            ProjectVersionIngestionStages.registerStage(new PureModelContextIngestionStage(new PureModelContextPrecomputer(entities, projectsVersions, precomputedPureModelContexts, configuration.getMaximumDependantsRegenerated()), configuration));
+        }
+        return true;
+    }
+
     @Provides
     @Singleton
     @Named("maximumSnapshotsAllowed")
@@ -19,6 +19,7 @@ import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
 
 import java.io.File;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public interface ArtifactsExtractor<T>
@@ -34,4 +35,9 @@ public interface ArtifactsExtractor<T>
 
     List<T> extractArtifactsForType(Stream<File> files);
 
+    default void forEachArtifact(List<File> files, Consumer<T> consumer)
+    {
+        extractArtifacts(files).forEach(consumer);
+    }
+
 }
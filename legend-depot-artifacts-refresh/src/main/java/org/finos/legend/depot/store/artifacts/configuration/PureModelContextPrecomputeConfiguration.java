@@ -0,0 +1,78 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.artifacts.configuration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.engine.protocol.pure.PureClientVersions;
+
+import java.util.Collections;
+import java.util.List;
+
+public class PureModelContextPrecomputeConfiguration
+{
+    private static final int DEFAULT_MAXIMUM_DEPENDANTS_REGENERATED = 20;
+
+    @JsonProperty
+    private final boolean enabled;
+
+    @JsonProperty
+    private final List<String> clientVersions;
+
+    @JsonProperty
+    private final boolean includeTransitive;
+
+    @JsonProperty
+    private final int maximumDependantsRegenerated;
+
+    @JsonCreator
+    public PureModelContextPrecomputeConfiguration(@JsonProperty("enabled") boolean enabled, @JsonProperty("clientVersions") List<String> clientVersions, @JsonProperty("includeTransitive") boolean includeTransitive, @JsonProperty("maximumDependantsRegenerated") Integer maximumDependantsRegenerated)
+    {
+        this.enabled = enabled;
+        this.clientVersions = clientVersions == null || clientVersions.isEmpty() ? Collections.singletonList(PureClientVersions.production) : clientVersions;
+        this.includeTransitive = includeTransitive;
+        this.maximumDependantsRegenerated = maximumDependantsRegenerated == null ? DEFAULT_MAXIMUM_DEPENDANTS_REGENERATED : maximumDependantsRegenerated;
+    }
+
+    public static PureModelContextPrecomputeConfiguration disabled()
+    {
+        return new PureModelContextPrecomputeConfiguration(false, null, false, null);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public List<String> getClientVersions()
+    {
+        return clientVersions;
+    }
+
+    public boolean isIncludeTransitive()
+    {
+        return includeTransitive;
+    }
+
+    /**
+     * Dependants whose transitive PMCD is rebuilt when a version is refreshed, the others fall back to on demand builds
+     */
+    public int getMaximumDependantsRegenerated()
+    {
+        return maximumDependantsRegenerated;
+    }
+}
@@ -19,15 +19,20 @@ import org.finos.legend.depot.artifacts.repository.domain.ArtifactDependency;
 import org.finos.legend.depot.artifacts.repository.services.RepositoryServices;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
-import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithPlatformVersions;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Optional;
@@ -59,6 +64,11 @@ public class DependencyManager
     }
 
     protected VersionDependencyReport calculateTransitiveDependencies(List<ProjectVersion> directDependencies)
+    {
+        return calculateTransitiveDependencies(directDependencies, Collections.emptyMap());
+    }
+
+    private VersionDependencyReport calculateTransitiveDependencies(List<ProjectVersion> directDependencies, Map<ProjectVersion, StoreProjectVersionData> updated)
     {
         Set<ProjectVersion> projectDependencies = new HashSet<>();
         try
@@ -66,7 +76,7 @@ public class DependencyManager
             directDependencies.forEach(deps ->
             {
                 LOGGER.info(String.format("Finding dependencies for %s-%s-%s", deps.getGroupId(), deps.getArtifactId(), deps.getVersionId()));
-                Optional<StoreProjectVersionData> projectData = this.projects.find(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId());
+                Optional<StoreProjectVersionData> projectData = updated.containsKey(deps) ? Optional.of(updated.get(deps)) : this.projects.find(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId());
                 if (projectData.isPresent())
                 {
                     if (projectData.get().getVersionData().isExcluded())
@@ -85,7 +95,7 @@ public class DependencyManager
                     LOGGER.info(String.format("Finding dependencies for %s-%s-%s as no data is present in the store", deps.getGroupId(), deps.getArtifactId(), deps.getVersionId()));
                     List<ProjectVersion> dependencies = this.calculateDependencies(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId());
                     projectDependencies.addAll(dependencies);
-                    VersionDependencyReport report = calculateTransitiveDependencies(dependencies);
+                    VersionDependencyReport report = calculateTransitiveDependencies(dependencies, updated);
                     if (!report.isValid())
                     {
                         throw new IllegalStateException(String.format("Cannot calculate dependencies for project version: %s", deps.getGav()));
@@ -121,12 +131,109 @@ public class DependencyManager
         projectData = this.projects.createOrUpdate(projectData);
         if (VersionValidator.isSnapshotVersion(projectData.getVersionId()))
         {
-            List<ProjectDependencyWithPlatformVersions> dependantProjects = this.projects.getDependantProjects(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
-            dependantProjects.forEach(d -> updateTransitiveDependencies(d.getGroupId(), d.getArtifactId(), d.getVersionId()));
+            updateDependantsTransitiveDependencies(projectData);
         }
         return projectData;
     }
 
+    /**
+     * Recomputes the closures of everything transitively depending on the given snapshot.
+     * Each dependant is computed once, after all of its affected dependencies, and only the new reports are written in one bulk write.
+     */
+    private void updateDependantsTransitiveDependencies(StoreProjectVersionData snapshot)
+    {
+        long start = System.currentTimeMillis();
+        Map<ProjectVersion, StoreProjectVersionData> dependants = collectDependants(snapshot);
+        List<StoreProjectVersionData> sorted = sortTopologically(dependants);
+
+        Map<ProjectVersion, StoreProjectVersionData> updated = new HashMap<>();
+        updated.put(toProjectVersion(snapshot), snapshot);
+        int invalid = 0;
+        for (StoreProjectVersionData dependant : sorted)
+        {
+            VersionDependencyReport report = calculateTransitiveDependencies(dependant.getVersionData().getDependencies(), updated);
+            dependant.setTransitiveDependenciesReport(report);
+            updated.put(toProjectVersion(dependant), dependant);
+            invalid += report.isValid() ? 0 : 1;
+        }
+        long written = this.projects.updateTransitiveDependencies(sorted);
+        LOGGER.info("Updated transitive dependencies of [{}] dependants of {}-{}-{} ([{}] invalid, [{}] written) in [{}] ms",
+                sorted.size(), snapshot.getGroupId(), snapshot.getArtifactId(), snapshot.getVersionId(), invalid, written, System.currentTimeMillis() - start);
+    }
+
+    private Map<ProjectVersion, StoreProjectVersionData> collectDependants(StoreProjectVersionData snapshot)
+    {
+        Map<ProjectVersion, StoreProjectVersionData> dependants = new LinkedHashMap<>();
+        Set<ProjectVersion> visited = new HashSet<>();
+        visited.add(toProjectVersion(snapshot));
+        Deque<StoreProjectVersionData> toVisit = new ArrayDeque<>();
+        toVisit.add(snapshot);
+        while (!toVisit.isEmpty())
+        {
+            StoreProjectVersionData current = toVisit.poll();
+            if (!VersionValidator.isSnapshotVersion(current.getVersionId()))
+            {
+                continue;
+            }
+            List<ProjectVersion> found = this.projects.getDependantProjects(current.getGroupId(), current.getArtifactId(), current.getVersionId()).stream()
+                    .map(d -> new ProjectVersion(d.getGroupId(), d.getArtifactId(), d.getVersionId()))
+                    .filter(visited::add)
+                    .collect(Collectors.toList());
+            if (!found.isEmpty())
+            {
+                this.projects.find(found).stream().filter(d -> !d.getVersionData().isExcluded()).forEach(d ->
+                {
+                    dependants.put(toProjectVersion(d), d);
+                    toVisit.add(d);
+                });
+            }
+        }
+        return dependants;
+    }
+
+    private List<StoreProjectVersionData> sortTopologically(Map<ProjectVersion, StoreProjectVersionData> versions)
+    {
+        Map<ProjectVersion, Integer> pendingDependencies = new HashMap<>();
+        Map<ProjectVersion, List<ProjectVersion>> dependantsOf = new HashMap<>();
+        versions.forEach((projectVersion, data) ->
+        {
+            List<ProjectVersion> affectedDependencies = data.getVersionData().getDependencies().stream().filter(versions::containsKey).distinct().collect(Collectors.toList());
+            pendingDependencies.put(projectVersion, affectedDependencies.size());
+            affectedDependencies.forEach(dep -> dependantsOf.computeIfAbsent(dep, k -> new ArrayList<>()).add(projectVersion));
+        });
+        Deque<ProjectVersion> ready = versions.keySet().stream().filter(pv -> pendingDependencies.get(pv) == 0).collect(Collectors.toCollection(ArrayDeque::new));
+        List<StoreProjectVersionData> sorted = new ArrayList<>();
+        while (!ready.isEmpty())
+        {
+            ProjectVersion next = ready.poll();
+            sorted.add(versions.get(next));
+            dependantsOf.getOrDefault(next, Collections.emptyList()).forEach(dependant ->
+            {
+                if (pendingDependencies.merge(dependant, -1, Integer::sum) == 0)
+                {
+                    ready.add(dependant);
+                }
+            });
+        }
+        if (sorted.size() < versions.size())
+        {
+            LOGGER.warn("Dependency cycle found among [{}] dependants, their closures are computed from stored data", versions.size() - sorted.size());
+            versions.forEach((projectVersion, data) ->
+            {
+                if (pendingDependencies.get(projectVersion) > 0)
+                {
+                    sorted.add(data);
+                }
+            });
+        }
+        return sorted;
+    }
+
+    private static ProjectVersion toProjectVersion(StoreProjectVersionData projectData)
+    {
+        return new ProjectVersion(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
+    }
+
     public void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData)
     {
         projectData.setTransitiveDependenciesReport(calculateTransitiveDependencies(projectData.getVersionData().getDependencies()));
@@ -0,0 +1,41 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.artifacts.services;
+
+import org.finos.legend.depot.store.artifacts.api.ProjectVersionIngestionStage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class ProjectVersionIngestionStages
+{
+    private static final List<ProjectVersionIngestionStage> stages = new CopyOnWriteArrayList<>();
+
+    private ProjectVersionIngestionStages()
+    {
+    }
+
+    public static void registerStage(ProjectVersionIngestionStage stage)
+    {
+        stages.add(stage);
+    }
+
+    public static List<ProjectVersionIngestionStage> getStages()
+    {
+        return stages;
+    }
+}
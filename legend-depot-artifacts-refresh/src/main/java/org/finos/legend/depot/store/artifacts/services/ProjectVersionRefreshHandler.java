@@ -16,7 +16,7 @@
 package org.finos.legend.depot.store.artifacts.services;
 
 import com.google.inject.name.Named;
-import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.maven.model.Model;
 import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryException;
@@ -24,6 +24,7 @@ import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
 import org.finos.legend.depot.artifacts.repository.services.RepositoryServices;
 import org.finos.legend.depot.domain.CoordinateValidator;
 import org.finos.legend.depot.domain.api.MetadataEventResponse;
+import org.finos.legend.depot.domain.notifications.EventPriority;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.store.artifacts.configuration.IncludeProjectPropertiesConfiguration;
 import org.finos.legend.depot.domain.project.ProjectVersion;
@@ -44,17 +45,29 @@ import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -73,6 +86,8 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
 
     private static final String PROCESS_EVENT = "processNotification";
     private static final String SHA_256 = "SHA-256";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final int MAXIMUM_CONCURRENT_HASHES = 4;
     private static final String GROUP_ID = "groupId";
     private static final String ARTIFACT_ID = "artifactId";
     private static final String VERSION_ID = "versionId";
@@ -85,6 +100,7 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
     private final Queue workQueue;
     private final DependencyManager dependencyManager;
     private final int maximumSnapshotsAllowed;
+    private final ThreadPoolExecutor hashers;
 
 
     @Inject
@@ -98,6 +114,13 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
         this.manifestPropertiesInScope = includePropertyConfig != null ? includePropertyConfig.getManifestProperties() : Collections.EMPTY_LIST;
         this.dependencyManager = dependencyManager;
         this.maximumSnapshotsAllowed = maximumSnapshotsAllowed;
+        this.hashers = new ThreadPoolExecutor(MAXIMUM_CONCURRENT_HASHES, MAXIMUM_CONCURRENT_HASHES, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "artifact-file-hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hashers.allowCoreThreadTimeOut(true);
 
         try
         {
@@ -223,6 +246,10 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
                     event.getVersionId(), event.getEventId(), event.getParentEventId(), event.isFullUpdate(), event.isTransitive(), event.getAttempt());
             response.addMessage(message);
             LOGGER.info(message);
+            if (EventPriority.HIGH.equals(event.getEventPriority()))
+            {
+                this.repositoryServices.refreshVersions(event.getGroupId(), event.getArtifactId());
+            }
             if (response.combine(validateGAV(event.getGroupId(), event.getArtifactId(), event.getVersionId())).hasErrors())
             {
                 return response;
@@ -261,6 +288,7 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
                             response.combine(handleDependencies(project, event.getVersionId(), newDependencies, event.isFullUpdate(), event.isTransitive(), event.getParentEventId()));
                             LOGGER.info("Finished updating {} dependencies for [{}{}{}]", newDependencies.size(), event.getGroupId(), event.getArtifactId(), event.getVersionId());
                         }
+                        runIngestionStages(event, response);
                     }
                 }
             }
@@ -276,6 +304,24 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
             return response;
     }
 
+    private void runIngestionStages(MetadataNotification event, MetadataEventResponse response)
+    {
+        ProjectVersionIngestionStages.getStages().forEach(stage ->
+        {
+            try
+            {
+                response.addMessages(stage.process(event.getGroupId(), event.getArtifactId(), event.getVersionId()).getMessages());
+            }
+            catch (Exception e)
+            {
+                //optional stages should not fail the refresh of the version
+                String stageError = String.format("Ingestion stage failed for [%s-%s-%s]: %s", event.getGroupId(), event.getArtifactId(), event.getVersionId(), e.getMessage());
+                response.addMessage(stageError);
+                LOGGER.error(stageError, e);
+            }
+        });
+    }
+
     private void updateProjectVersionData(StoreProjectData project, String versionId, List<ProjectVersion> newDependencies)
     {
         Optional<StoreProjectVersionData> projectVersionData = projects.find(project.getGroupId(), project.getArtifactId(), versionId);
@@ -411,29 +457,113 @@ public final class ProjectVersionRefreshHandler implements NotificationEventHand
     private List<File> findArtifactFiles(ArtifactType type, StoreProjectData projectData, String versionId, boolean includeUnchangedFiles)
     {
         List<File> filesFromRepo = this.repositoryServices.findFiles(type, projectData.getGroupId(), projectData.getArtifactId(), versionId);
-        return filesFromRepo.stream().filter(file -> includeUnchangedFiles || artifactFileChangedOrNotProcessed(file)).collect(Collectors.toList());
+        if (includeUnchangedFiles || filesFromRepo.isEmpty())
+        {
+            return filesFromRepo;
+        }
+        return findChangedOrNotProcessedFiles(filesFromRepo);
+    }
+
+    List<File> findChangedOrNotProcessedFiles(List<File> files)
+    {
+        Map<String, ArtifactFile> processedFiles = this.artifacts.find(files.stream().map(File::getPath).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(ArtifactFile::getPath, Function.identity(), (a, b) -> a));
+        List<ArtifactFile> candidates = hashInParallel(files.stream()
+                .map(file -> new ArtifactFile(file.getPath(), null, file.length(), file.lastModified()))
+                .filter(candidate -> !isUnchanged(processedFiles.get(candidate.getPath()), candidate))
+                .collect(Collectors.toList()));
+
+        List<ArtifactFile> updates = new ArrayList<>();
+        Set<String> changedPaths = new HashSet<>();
+        candidates.forEach(candidate ->
+        {
+            ArtifactFile processed = processedFiles.get(candidate.getPath());
+            if (candidate.getCheckSum() == null)
+            {
+                changedPaths.add(candidate.getPath());
+            }
+            else if (processed == null || processed.getCheckSum() == null || !MessageDigest.isEqual(candidate.getCheckSum().getBytes(), processed.getCheckSum().getBytes()))
+            {
+                LOGGER.info("loading artifacts from updated file: {}", candidate.getPath());
+                LOGGER.info("file check sum: {}", candidate.getCheckSum());
+                changedPaths.add(candidate.getPath());
+                updates.add(candidate);
+            }
+            else
+            {
+                updates.add(candidate);
+            }
+        });
+        this.artifacts.createOrUpdate(updates);
+        return files.stream().filter(file -> changedPaths.contains(file.getPath())).collect(Collectors.toList());
     }
 
-    private boolean artifactFileChangedOrNotProcessed(File file)
+    private boolean isUnchanged(ArtifactFile processed, ArtifactFile candidate)
     {
-        String filePath = file.getPath();
-        Optional<ArtifactFile> artifactDetails = this.artifacts.find(filePath);
+        return processed != null && processed.getCheckSum() != null
+                && candidate.getSize().equals(processed.getSize())
+                && candidate.getLastModified().equals(processed.getLastModified());
+    }
+
+    private List<ArtifactFile> hashInParallel(List<ArtifactFile> candidates)
+    {
+        List<Future<ArtifactFile>> hashed = new ArrayList<>();
         try
         {
-            String fileCheckSum = DigestUtils.sha256Hex(new FileInputStream(filePath));
-            if (!artifactDetails.isPresent() || !MessageDigest.isEqual(fileCheckSum.getBytes(), artifactDetails.get().getCheckSum().getBytes()))
+            candidates.forEach(candidate -> hashed.add(hashers.submit(() -> withCheckSum(candidate))));
+            List<ArtifactFile> result = new ArrayList<>();
+            for (Future<ArtifactFile> future : hashed)
             {
-                LOGGER.info("loading artifacts from updated file: {}", filePath);
-                LOGGER.info("file check sum: {}", fileCheckSum);
-                this.artifacts.createOrUpdate(new ArtifactFile(filePath, fileCheckSum));
-                return true;
+                result.add(future.get());
             }
+            return result;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while hashing artifact files", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+        finally
+        {
+            hashed.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private ArtifactFile withCheckSum(ArtifactFile candidate)
+    {
+        try
+        {
+            return candidate.setCheckSum(sha256Hex(Paths.get(candidate.getPath())));
         }
         catch (IOException e)
         {
             LOGGER.error(e.getMessage());
-            return true;
+            return candidate;
+        }
+    }
+
+    static String sha256Hex(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            MessageDigest digest = MessageDigest.getInstance(SHA_256);
+            ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return Hex.encodeHexString(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 }
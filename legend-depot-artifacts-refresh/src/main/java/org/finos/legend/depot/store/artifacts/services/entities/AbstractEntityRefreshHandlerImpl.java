@@ -21,25 +21,43 @@ import org.finos.legend.depot.domain.project.StoreProjectData;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.store.artifacts.api.entities.EntityArtifactsProvider;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 
 public abstract class AbstractEntityRefreshHandlerImpl
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(AbstractEntityRefreshHandlerImpl.class);
+    public static final String ENTITIES_EXTRACT_THROUGHPUT = "entities_extract_throughput";
+    private static final int WRITE_BATCH_SIZE = 1000;
+    private static final int MAXIMUM_QUEUED_BATCHES = 2;
+    private static final int MAXIMUM_CONCURRENT_WRITERS = 4;
 
     private final EntityArtifactsProvider entitiesProvider;
     private final ManageEntitiesService entitiesApi;
+    private final ThreadPoolExecutor writers;
 
 
     protected AbstractEntityRefreshHandlerImpl(ManageEntitiesService entitiesService, EntityArtifactsProvider artifactProvider)
     {
         this.entitiesApi = entitiesService;
         this.entitiesProvider = artifactProvider;
+        this.writers = new ThreadPoolExecutor(MAXIMUM_CONCURRENT_WRITERS, MAXIMUM_CONCURRENT_WRITERS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "entities-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writers.allowCoreThreadTimeOut(true);
     }
 
     protected Logger getLOGGER()
@@ -54,7 +72,7 @@ public abstract class AbstractEntityRefreshHandlerImpl
     }
 
 
-    abstract List<StoredEntity> transformVersionedEntities(StoreProjectData projectData, String versionId, List<Entity> entityList);
+    abstract StoredEntity transformVersionedEntity(StoreProjectData projectData, String versionId, Entity entity);
 
 
     protected long deleteByVersion(String groupId, String artifactId, String versionId)
@@ -69,48 +87,52 @@ public abstract class AbstractEntityRefreshHandlerImpl
     }
 
 
+    /**
+     * Streams the entities of the files into the store in bulk batches, upserting them by path.
+     * Prior snapshot entities that are no longer present are removed only once every batch has been written.
+     * Batches written before a failure are not rolled back: the version then holds those new entities alongside the prior ones
+     * until it is refreshed again.
+     */
     public MetadataEventResponse refreshVersionArtifacts(StoreProjectData projectData, String versionId, List<File> files)
     {
 
         MetadataEventResponse response = new MetadataEventResponse();
+        EntitiesBatchWriter writer = new EntitiesBatchWriter(writers, getEntitiesApi(), WRITE_BATCH_SIZE, MAXIMUM_QUEUED_BATCHES);
         try
         {
             String gavCoordinates = getGAVCoordinates(projectData, versionId);
-            List<Entity> entityList = getEntities(files);
-            if (entityList != null && !entityList.isEmpty())
+            Set<String> entityPaths = new HashSet<>();
+            long start = System.currentTimeMillis();
+            this.entitiesProvider.forEachArtifact(files, entity ->
+            {
+                entityPaths.add(entity.getPath());
+                writer.accept(transformVersionedEntity(projectData, versionId, entity));
+            });
+            long extractMillis = System.currentTimeMillis() - start - writer.getWaitingMillis();
+            long written = writer.finish();
+            PrometheusMetricsFactory.getInstance().setGauge(ENTITIES_EXTRACT_THROUGHPUT, written * 1000.0 / Math.max(1, extractMillis));
+            if (written > 0 && VersionValidator.isSnapshotVersion(versionId))
             {
-                String message = String.format("found [%s] %s for [%s] ", entityList.size(), this.entitiesProvider.getType(), gavCoordinates);
-                getLOGGER().info(message);
+                String message = String.format("removing prior %s artifacts for [%s-%s]",this.entitiesProvider.getType(),gavCoordinates,versionId);
                 response.addMessage(message);
-                List<StoredEntity> storedEntities = transformVersionedEntities(projectData, versionId, entityList);
-                if (VersionValidator.isSnapshotVersion(versionId))
-                {
-                    message = String.format("removing prior %s artifacts for [%s-%s]",this.entitiesProvider.getType(),gavCoordinates,versionId);
-                    response.addMessage(message);
-                    response.addMessage("deleted " + getEntitiesApi().delete(projectData.getGroupId(), projectData.getArtifactId(),versionId));
-                    LOGGER.info(message);
-                }
-                getEntitiesApi().createOrUpdate(storedEntities);
+                response.addMessage("deleted " + getEntitiesApi().deleteStale(projectData.getGroupId(), projectData.getArtifactId(), versionId, entityPaths));
+                LOGGER.info(message);
             }
-            else
+            String message = String.format("found [%s] %s for [%s] ", written, this.entitiesProvider.getType(), gavCoordinates);
+            getLOGGER().info(message);
+            response.addMessage(message);
+            if (written > 0)
             {
-                String message = String.format("found 0 %s for [%s] ",this.entitiesProvider.getType(), gavCoordinates);
-                getLOGGER().info(message);
-                response.addMessage(message);
+                getLOGGER().info("wrote [{}] {} for [{}] in [{}] ms", written, this.entitiesProvider.getType(), gavCoordinates, System.currentTimeMillis() - start);
             }
-
         }
         catch (Exception e)
         {
+            writer.abort();
             String errorMessage = String.format("Unexpected exception refreshing %s %s-%s-%s , %s",entitiesProvider.getType(),projectData.getGroupId(),projectData.getArtifactId(),versionId,e.getMessage());
             response.addError(errorMessage);
             LOGGER.error(errorMessage);
         }
         return response;
     }
-
-    private List<Entity> getEntities(List<File> files)
-    {
-        return entitiesProvider.extractArtifacts(files);
-    }
 }
@@ -0,0 +1,173 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.artifacts.services.entities;
+
+import org.finos.legend.depot.domain.entity.StoredEntity;
+import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes stored entities in fixed size bulk batches on a thread of the given executor.
+ * Batches are handed over through a bounded queue, so a producer faster than the store blocks instead of buffering the whole version.
+ */
+class EntitiesBatchWriter implements Consumer<StoredEntity>
+{
+    public static final String ENTITIES_WRITE_BATCH = "entities_write_batch";
+    public static final String ENTITIES_WRITE_THROUGHPUT = "entities_write_throughput";
+    private static final List<StoredEntity> END_OF_BATCHES = new ArrayList<>();
+
+    private final ManageEntitiesService entitiesService;
+    private final int batchSize;
+    private final BlockingQueue<List<StoredEntity>> batches;
+    private final Future<Long> written;
+    private List<StoredEntity> batch;
+    private long waitingMillis = 0;
+
+    EntitiesBatchWriter(ExecutorService writers, ManageEntitiesService entitiesService, int batchSize, int maximumQueuedBatches)
+    {
+        if (batchSize < 1 || maximumQueuedBatches < 1)
+        {
+            throw new IllegalArgumentException("batch size and maximum queued batches must be positive");
+        }
+        this.entitiesService = entitiesService;
+        this.batchSize = batchSize;
+        this.batches = new ArrayBlockingQueue<>(maximumQueuedBatches);
+        this.batch = new ArrayList<>(batchSize);
+        this.written = writers.submit(this::writeBatches);
+    }
+
+    @Override
+    public void accept(StoredEntity storedEntity)
+    {
+        batch.add(storedEntity);
+        if (batch.size() >= batchSize)
+        {
+            enqueue(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Flushes the pending batch and waits until every batch has been written.
+     *
+     * @return number of entities written
+     */
+    long finish()
+    {
+        if (!batch.isEmpty())
+        {
+            enqueue(batch);
+            batch = new ArrayList<>();
+        }
+        enqueue(END_OF_BATCHES);
+        return awaitWritten();
+    }
+
+    /**
+     * Drops the pending batch and waits for the batches already queued to be written, so no write outlives the refresh.
+     * Failures of the writer itself are not rethrown, the caller reports its own.
+     */
+    void abort()
+    {
+        batch = new ArrayList<>();
+        try
+        {
+            enqueue(END_OF_BATCHES);
+            awaitWritten();
+        }
+        catch (RuntimeException e)
+        {
+            written.cancel(true);
+        }
+    }
+
+    long getWaitingMillis()
+    {
+        return waitingMillis;
+    }
+
+    private void enqueue(List<StoredEntity> entities)
+    {
+        long start = System.currentTimeMillis();
+        try
+        {
+            while (!batches.offer(entities, 1, TimeUnit.SECONDS))
+            {
+                if (written.isDone())
+                {
+                    awaitWritten();
+                    throw new IllegalStateException("entities writer stopped before all batches were written");
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while queueing entities to write", e);
+        }
+        finally
+        {
+            waitingMillis += System.currentTimeMillis() - start;
+        }
+    }
+
+    private long awaitWritten()
+    {
+        try
+        {
+            return written.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while writing entities", e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    private long writeBatches() throws InterruptedException
+    {
+        long count = 0;
+        long writingMillis = 0;
+        List<StoredEntity> next = batches.take();
+        while (next != END_OF_BATCHES)
+        {
+            long start = System.currentTimeMillis();
+            entitiesService.createOrUpdate(next);
+            long end = System.currentTimeMillis();
+            PrometheusMetricsFactory.getInstance().observe(ENTITIES_WRITE_BATCH, start, end);
+            writingMillis += end - start;
+            count += next.size();
+            next = batches.take();
+        }
+        PrometheusMetricsFactory.getInstance().setGauge(ENTITIES_WRITE_THROUGHPUT, count * 1000.0 / Math.max(1, writingMillis));
+        return count;
+    }
+}
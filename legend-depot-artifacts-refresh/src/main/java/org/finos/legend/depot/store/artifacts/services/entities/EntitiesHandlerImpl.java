@@ -26,7 +26,6 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
 public class EntitiesHandlerImpl extends AbstractEntityRefreshHandlerImpl implements EntitiesArtifactsHandler
@@ -50,15 +49,9 @@ public class EntitiesHandlerImpl extends AbstractEntityRefreshHandlerImpl implem
     }
 
     @Override
-    List<StoredEntity> transformVersionedEntities(StoreProjectData projectData, String versionId, List<Entity> entityList)
+    StoredEntity transformVersionedEntity(StoreProjectData projectData, String versionId, Entity entity)
     {
-        List<StoredEntity> versionedEntities = new ArrayList<>();
-        for (Entity entity : entityList)
-        {
-            EntityDefinition entityDefinition = new EntityDefinition(entity.getPath(), entity.getClassifierPath(), entity.getContent());
-            StoredEntity storedEntity = new StoredEntity(projectData.getGroupId(), projectData.getArtifactId(), versionId, entityDefinition);
-            versionedEntities.add(storedEntity);
-        }
-        return versionedEntities;
+        EntityDefinition entityDefinition = new EntityDefinition(entity.getPath(), entity.getClassifierPath(), entity.getContent());
+        return new StoredEntity(projectData.getGroupId(), projectData.getArtifactId(), versionId, entityDefinition);
     }
 }
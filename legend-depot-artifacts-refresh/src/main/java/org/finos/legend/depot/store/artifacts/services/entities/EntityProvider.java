@@ -26,7 +26,7 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 
@@ -49,19 +49,29 @@ public class EntityProvider implements EntityArtifactsProvider
     public List<Entity> extractArtifactsForType(Stream<File> files)
     {
         List<Entity> entities = new ArrayList<>();
+        forEachArtifactOfType(files, entities::add);
+        return entities;
+    }
+
+    @Override
+    public void forEachArtifact(List<File> files, Consumer<Entity> consumer)
+    {
+        forEachArtifactOfType(files.stream().filter(this::matchesArtifactType), consumer);
+    }
+
+    private void forEachArtifactOfType(Stream<File> files, Consumer<Entity> consumer)
+    {
         files.forEach(f ->
         {
             try (EntityLoader loader = EntityLoader.newEntityLoader(f))
             {
-                List<Entity> loadedEntities = loader.getAllEntities().collect(Collectors.toList());
-                entities.addAll(loadedEntities);
+                loader.getAllEntities().forEach(consumer);
             }
             catch (Exception e)
             {
                 throw new ArtifactLoadingException(e.getMessage());
             }
         });
-        return entities;
     }
 
     @Override
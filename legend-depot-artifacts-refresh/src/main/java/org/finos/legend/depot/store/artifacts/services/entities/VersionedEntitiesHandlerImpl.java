@@ -26,8 +26,6 @@ import org.finos.legend.depot.store.artifacts.api.entities.VersionedEntityArtifa
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.List;
 
 public class VersionedEntitiesHandlerImpl extends EntitiesHandlerImpl implements VersionedEntitiesArtifactsHandler
 {
@@ -45,15 +43,9 @@ public class VersionedEntitiesHandlerImpl extends EntitiesHandlerImpl implements
 
 
     @Override
-    List<StoredEntity> transformVersionedEntities(StoreProjectData projectData, String versionId, List<Entity> entityList)
+    StoredEntity transformVersionedEntity(StoreProjectData projectData, String versionId, Entity entity)
     {
-        List<StoredEntity> versionedEntities = new ArrayList<>();
-        for (Entity entity : entityList)
-        {
-            EntityDefinition entityDefinition = new EntityDefinition(entity.getPath(), entity.getClassifierPath(), entity.getContent());
-            StoredEntity storedEntity = new StoredVersionedEntity(projectData.getGroupId(), projectData.getArtifactId(), versionId, entityDefinition);
-            versionedEntities.add(storedEntity);
-        }
-        return versionedEntities;
+        EntityDefinition entityDefinition = new EntityDefinition(entity.getPath(), entity.getClassifierPath(), entity.getContent());
+        return new StoredVersionedEntity(projectData.getGroupId(), projectData.getArtifactId(), versionId, entityDefinition);
     }
 }
@@ -0,0 +1,43 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.artifacts.services.pmcd;
+
+import org.finos.legend.depot.domain.api.MetadataEventResponse;
+import org.finos.legend.depot.pure.model.context.PureModelContextPrecomputer;
+import org.finos.legend.depot.store.artifacts.api.ProjectVersionIngestionStage;
+import org.finos.legend.depot.store.artifacts.configuration.PureModelContextPrecomputeConfiguration;
+import org.finos.legend.depot.tracing.services.TracerFactory;
+
+public class PureModelContextIngestionStage implements ProjectVersionIngestionStage
+{
+    private static final String PRECOMPUTE_PMCD = "precomputePureModelContextData";
+
+    private final PureModelContextPrecomputer precomputer;
+    private final PureModelContextPrecomputeConfiguration configuration;
+
+    public PureModelContextIngestionStage(PureModelContextPrecomputer precomputer, PureModelContextPrecomputeConfiguration configuration)
+    {
+        this.precomputer = precomputer;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public MetadataEventResponse process(String groupId, String artifactId, String versionId)
+    {
+        return TracerFactory.get().executeWithTrace(PRECOMPUTE_PMCD, () -> precomputer.precompute(groupId, artifactId, versionId, configuration.getClientVersions(), configuration.isIncludeTransitive()));
+    }
+}
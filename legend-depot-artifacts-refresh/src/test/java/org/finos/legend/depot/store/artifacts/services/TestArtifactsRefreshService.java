@@ -21,6 +21,8 @@ import org.finos.legend.depot.artifacts.repository.maven.impl.TestMavenArtifacts
 import org.finos.legend.depot.artifacts.repository.services.RepositoryServices;
 import org.finos.legend.depot.domain.api.MetadataEventResponse;
 import org.finos.legend.depot.domain.api.status.MetadataEventStatus;
+import org.finos.legend.depot.domain.entity.EntityDefinition;
+import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.store.artifacts.configuration.IncludeProjectPropertiesConfiguration;
 import org.finos.legend.depot.domain.project.ProjectVersion;
@@ -63,10 +65,16 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -504,6 +512,101 @@ public class TestArtifactsRefreshService extends TestStoreMongo
         Assert.assertEquals(0,notificationsQueueManager.getAllInQueue().size());
     }
 
+    @Test
+    public void canKeepPriorSnapshotEntitiesWhenRefreshFails()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        entitiesStore.createOrUpdate(Arrays.asList(storedEntity(versionId, "examples::metadata::Old", 1), storedEntity(versionId, "examples::metadata::Kept", 1)));
+
+        EntitiesHandlerImpl handler = new EntitiesHandlerImpl(entitiesService, providing(Arrays.asList(entity("examples::metadata::Kept", 2), entity("examples::metadata::New", 2)), true));
+        MetadataEventResponse response = handler.refreshProjectVersionArtifacts(projectsStore.find(TEST_GROUP_ID, TEST_ARTIFACT_ID).get(), versionId, Collections.emptyList());
+
+        Assert.assertTrue(response.hasErrors());
+        Set<String> paths = entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId).stream().map(Entity::getPath).collect(Collectors.toSet());
+        Assert.assertTrue(paths.contains("examples::metadata::Old"));
+        Assert.assertTrue(paths.contains("examples::metadata::Kept"));
+    }
+
+    @Test
+    public void canKeepWrittenBatchesWhenSnapshotRefreshFailsPartWay()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        entitiesStore.createOrUpdate(Arrays.asList(storedEntity(versionId, "examples::metadata::Old", 1), storedEntity(versionId, "examples::metadata::Kept", 1)));
+        List<Entity> refreshed = new ArrayList<>();
+        refreshed.add(entity("examples::metadata::Kept", 2));
+        for (int i = 0; i < 2499; i++)
+        {
+            refreshed.add(entity("examples::metadata::New" + i, 2));
+        }
+
+        EntitiesHandlerImpl handler = new EntitiesHandlerImpl(entitiesService, providing(refreshed, true));
+        MetadataEventResponse response = handler.refreshProjectVersionArtifacts(projectsStore.find(TEST_GROUP_ID, TEST_ARTIFACT_ID).get(), versionId, Collections.emptyList());
+
+        Assert.assertTrue(response.hasErrors());
+        Map<String, Entity> entities = entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId).stream().collect(Collectors.toMap(Entity::getPath, entity -> entity));
+        Assert.assertEquals(2001, entities.size());
+        Assert.assertEquals(1, entities.get("examples::metadata::Old").getContent().get("revision"));
+        Assert.assertEquals(2, entities.get("examples::metadata::Kept").getContent().get("revision"));
+        Assert.assertTrue(entities.containsKey("examples::metadata::New1998"));
+        Assert.assertFalse(entities.containsKey("examples::metadata::New1999"));
+    }
+
+    @Test
+    public void canRemoveStaleSnapshotEntitiesOnceRefreshed()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        entitiesStore.createOrUpdate(Arrays.asList(storedEntity(versionId, "examples::metadata::Old", 1), storedEntity(versionId, "examples::metadata::Kept", 1)));
+
+        EntitiesHandlerImpl handler = new EntitiesHandlerImpl(entitiesService, providing(Arrays.asList(entity("examples::metadata::Kept", 2), entity("examples::metadata::New", 2)), false));
+        MetadataEventResponse response = handler.refreshProjectVersionArtifacts(projectsStore.find(TEST_GROUP_ID, TEST_ARTIFACT_ID).get(), versionId, Collections.emptyList());
+
+        Assert.assertFalse(response.hasErrors());
+        Assert.assertTrue(response.getMessages().contains("deleted 1"));
+        List<Entity> entities = entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("examples::metadata::Kept", "examples::metadata::New")), entities.stream().map(Entity::getPath).collect(Collectors.toSet()));
+        Assert.assertTrue(entities.stream().allMatch(entity -> Integer.valueOf(2).equals(entity.getContent().get("revision"))));
+    }
+
+    @Test
+    public void canKeepLastOfDuplicateEntityPaths()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        EntitiesHandlerImpl handler = new EntitiesHandlerImpl(entitiesService, providing(Arrays.asList(entity("examples::metadata::Twice", 1), entity("examples::metadata::Twice", 2)), false));
+        MetadataEventResponse response = handler.refreshProjectVersionArtifacts(projectsStore.find(TEST_GROUP_ID, TEST_ARTIFACT_ID).get(), versionId, Collections.emptyList());
+
+        Assert.assertFalse(response.hasErrors());
+        List<Entity> entities = entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId);
+        Assert.assertEquals(1, entities.size());
+        Assert.assertEquals(2, entities.get(0).getContent().get("revision"));
+    }
+
+    private static EntityDefinition entity(String path, int revision)
+    {
+        Map<String, Object> content = new HashMap<>();
+        content.put("revision", revision);
+        return new EntityDefinition(path, "meta::pure::metamodel::type::Class", content);
+    }
+
+    private static StoredEntity storedEntity(String versionId, String path, int revision)
+    {
+        return new StoredEntity(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, entity(path, revision));
+    }
+
+    private static EntityArtifactsProvider providing(List<Entity> entities, boolean failAfterwards)
+    {
+        return new EntityProvider()
+        {
+            @Override
+            public void forEachArtifact(List<File> files, Consumer<Entity> consumer)
+            {
+                entities.forEach(consumer);
+                if (failAfterwards)
+                {
+                    throw new IllegalStateException("unreadable entities jar");
+                }
+            }
+        };
+    }
 
 
 
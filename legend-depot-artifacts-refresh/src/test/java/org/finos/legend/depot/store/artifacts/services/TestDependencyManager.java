@@ -36,10 +36,14 @@ import org.finos.legend.depot.store.notifications.queue.store.mongo.Notification
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.mock;
 
@@ -119,4 +123,51 @@ public class TestDependencyManager extends TestStoreMongo
         Assert.assertEquals(Arrays.asList(dependency1, dependency3, dependency2), project3.getTransitiveDependenciesReport().getTransitiveDependencies());
     }
 
+    @Test
+    public void canUpdateDiamondOfSnapshotDependantsOnce()
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData(GROUPID, "art104", "1.0.0"));
+        ProjectVersion base = new ProjectVersion(GROUPID, "base", "branch1-SNAPSHOT");
+        ProjectVersion left = new ProjectVersion(GROUPID, "left", "branch1-SNAPSHOT");
+        ProjectVersion right = new ProjectVersion(GROUPID, "right", "branch1-SNAPSHOT");
+        ProjectVersion top = new ProjectVersion(GROUPID, "top", "branch1-SNAPSHOT");
+        ProjectVersion art104 = new ProjectVersion(GROUPID, "art104", "1.0.0");
+
+        StoreProjectVersionData baseData = new StoreProjectVersionData(GROUPID, "base", "branch1-SNAPSHOT");
+        projectsVersionsStore.createOrUpdate(baseData);
+        StoreProjectVersionData leftData = new StoreProjectVersionData(GROUPID, "left", "branch1-SNAPSHOT");
+        leftData.getVersionData().setDependencies(Collections.singletonList(base));
+        projectsVersionsStore.createOrUpdate(leftData);
+        StoreProjectVersionData rightData = new StoreProjectVersionData(GROUPID, "right", "branch1-SNAPSHOT");
+        rightData.getVersionData().setDependencies(Collections.singletonList(base));
+        projectsVersionsStore.createOrUpdate(rightData);
+        StoreProjectVersionData topData = new StoreProjectVersionData(GROUPID, "top", "branch1-SNAPSHOT");
+        topData.getVersionData().setDependencies(Arrays.asList(left, right));
+        projectsVersionsStore.createOrUpdate(topData);
+
+        //base snapshot now depends on art104
+        baseData.getVersionData().setDependencies(Collections.singletonList(art104));
+        projectsVersionsStore.createOrUpdate(baseData);
+        ManageProjectsService projects = Mockito.spy(projectsService);
+        new DependencyManager(projects, repositoryServices).updateTransitiveDependencies(GROUPID, "base", "branch1-SNAPSHOT");
+
+        //each dependant is computed and written exactly once, after the dependants it depends on
+        ArgumentCaptor<List<StoreProjectVersionData>> written = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(projects, Mockito.times(1)).updateTransitiveDependencies(written.capture());
+        Mockito.verify(projects, Mockito.times(1)).createOrUpdate(Mockito.any(StoreProjectVersionData.class));
+        List<ProjectVersion> writtenVersions = written.getValue().stream().map(v -> new ProjectVersion(v.getGroupId(), v.getArtifactId(), v.getVersionId())).collect(Collectors.toList());
+        Assert.assertEquals(3, writtenVersions.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(left, right, top)), new HashSet<>(writtenVersions));
+        Assert.assertEquals(top, writtenVersions.get(2));
+
+        StoreProjectVersionData updatedLeft = projectsService.find(GROUPID, "left", "branch1-SNAPSHOT").get();
+        Assert.assertTrue(updatedLeft.getTransitiveDependenciesReport().isValid());
+        Assert.assertEquals(2, updatedLeft.getTransitiveDependenciesReport().getTransitiveDependencies().size());
+        Assert.assertTrue(updatedLeft.getTransitiveDependenciesReport().getTransitiveDependencies().containsAll(Arrays.asList(base, art104)));
+
+        StoreProjectVersionData updatedTop = projectsService.find(GROUPID, "top", "branch1-SNAPSHOT").get();
+        Assert.assertTrue(updatedTop.getTransitiveDependenciesReport().isValid());
+        Assert.assertEquals(4, updatedTop.getTransitiveDependenciesReport().getTransitiveDependencies().size());
+        Assert.assertTrue(updatedTop.getTransitiveDependenciesReport().getTransitiveDependencies().containsAll(Arrays.asList(left, right, base, art104)));
+    }
 }
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.artifacts.services;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryException;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactDependency;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
@@ -31,6 +32,7 @@ import org.finos.legend.depot.services.entities.ManageEntitiesServiceImpl;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
 import org.finos.legend.depot.services.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.store.admin.api.artifacts.ArtifactsFilesStore;
+import org.finos.legend.depot.store.admin.domain.artifacts.ArtifactFile;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
@@ -49,6 +51,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -244,4 +251,88 @@ public class TestProjectVersionRefreshHandler extends TestStoreMongo
 
         Assert.assertEquals(0, errors.size());
     }
+
+    @Test
+    public void canHashArtifactFiles() throws IOException
+    {
+        byte[] content = String.join("", Collections.nCopies(20000, "legend-depot")).getBytes(StandardCharsets.UTF_8);
+        Path file = Files.createTempFile("artifact", ".jar");
+        try
+        {
+            Files.write(file, content);
+            Assert.assertEquals(DigestUtils.sha256Hex(content), ProjectVersionRefreshHandler.sha256Hex(file));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void canSkipHashingFilesWithSameSizeAndModificationTime() throws IOException
+    {
+        File file = artifactFile("unchanged");
+        try
+        {
+            artifactsStore.createOrUpdate(new ArtifactFile(file.getPath(), "previous-checksum", file.length(), file.lastModified()));
+            Assert.assertTrue(versionHandler.findChangedOrNotProcessedFiles(Collections.singletonList(file)).isEmpty());
+            Assert.assertEquals("previous-checksum", artifactsStore.find(file.getPath()).get().getCheckSum());
+        }
+        finally
+        {
+            Files.delete(file.toPath());
+        }
+    }
+
+    @Test
+    public void canHashFilesWithDifferentSizeOrModificationTime() throws IOException
+    {
+        File resized = artifactFile("resized");
+        File touched = artifactFile("touched");
+        try
+        {
+            artifactsStore.createOrUpdate(new ArtifactFile(resized.getPath(), "previous-checksum", resized.length() + 1, resized.lastModified()));
+            artifactsStore.createOrUpdate(new ArtifactFile(touched.getPath(), "previous-checksum", touched.length(), touched.lastModified() - 1000));
+
+            Assert.assertEquals(Arrays.asList(resized, touched), versionHandler.findChangedOrNotProcessedFiles(Arrays.asList(resized, touched)));
+            Assert.assertEquals(DigestUtils.sha256Hex("resized"), artifactsStore.find(resized.getPath()).get().getCheckSum());
+            Assert.assertEquals(DigestUtils.sha256Hex("touched"), artifactsStore.find(touched.getPath()).get().getCheckSum());
+            Assert.assertEquals(Long.valueOf(resized.length()), artifactsStore.find(resized.getPath()).get().getSize());
+            Assert.assertEquals(Long.valueOf(touched.lastModified()), artifactsStore.find(touched.getPath()).get().getLastModified());
+        }
+        finally
+        {
+            Files.delete(resized.toPath());
+            Files.delete(touched.toPath());
+        }
+    }
+
+    @Test
+    public void canHashFilesRecordedWithoutSizeAndModificationTime() throws IOException
+    {
+        File file = artifactFile("legacy");
+        try
+        {
+            artifactsStore.createOrUpdate(new ArtifactFile(file.getPath(), DigestUtils.sha256Hex("legacy")));
+            Assert.assertTrue(versionHandler.findChangedOrNotProcessedFiles(Collections.singletonList(file)).isEmpty());
+            ArtifactFile recorded = artifactsStore.find(file.getPath()).get();
+            Assert.assertEquals(Long.valueOf(file.length()), recorded.getSize());
+            Assert.assertEquals(Long.valueOf(file.lastModified()), recorded.getLastModified());
+
+            artifactsStore.createOrUpdate(new ArtifactFile(file.getPath(), "previous-checksum"));
+            Assert.assertEquals(Collections.singletonList(file), versionHandler.findChangedOrNotProcessedFiles(Collections.singletonList(file)));
+            Assert.assertEquals(DigestUtils.sha256Hex("legacy"), artifactsStore.find(file.getPath()).get().getCheckSum());
+        }
+        finally
+        {
+            Files.delete(file.toPath());
+        }
+    }
+
+    private static File artifactFile(String content) throws IOException
+    {
+        Path file = Files.createTempFile("artifact", ".jar");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
 }
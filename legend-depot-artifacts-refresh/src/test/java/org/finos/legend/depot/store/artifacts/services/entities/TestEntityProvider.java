@@ -20,14 +20,25 @@ import org.finos.legend.depot.artifacts.repository.api.ArtifactRepository;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactDependency;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
 import org.finos.legend.depot.artifacts.repository.maven.impl.TestMavenArtifactsRepository;
+import org.finos.legend.depot.domain.entity.EntityDefinition;
+import org.finos.legend.depot.domain.entity.StoredEntity;
+import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.store.artifacts.api.entities.EntityArtifactsProvider;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class TestEntityProvider
 {
@@ -93,4 +104,31 @@ public class TestEntityProvider
         File jarFile = repository.getJarFile(TEST_GROUP_ID, "test-non-existing-entities", "1.0.0");
         Assert.assertNull(jarFile);
     }
+
+    @Test
+    public void canStreamEntitiesInJar()
+    {
+        List<Entity> entities = new ArrayList<>();
+        artifactProvider.forEachArtifact(getFiles(TEST_GROUP_ID, "test", "2.0.0"), entities::add);
+        Assert.assertEquals(9, entities.size());
+    }
+
+    @Test
+    public void canWriteEntitiesInBatches()
+    {
+        ManageEntitiesService entitiesService = mock(ManageEntitiesService.class);
+        ExecutorService writers = Executors.newSingleThreadExecutor();
+        try
+        {
+            EntitiesBatchWriter writer = new EntitiesBatchWriter(writers, entitiesService, 4, 1);
+            artifactProvider.forEachArtifact(getFiles(TEST_GROUP_ID, "test", "2.0.0"), entity ->
+                    writer.accept(new StoredEntity(TEST_GROUP_ID, "test", "2.0.0", new EntityDefinition(entity.getPath(), entity.getClassifierPath(), entity.getContent()))));
+            Assert.assertEquals(9, writer.finish());
+            verify(entitiesService, times(3)).createOrUpdate(anyList());
+        }
+        finally
+        {
+            writers.shutdownNow();
+        }
+    }
 }
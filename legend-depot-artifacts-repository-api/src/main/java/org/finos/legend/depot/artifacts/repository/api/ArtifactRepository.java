@@ -40,6 +40,8 @@ public interface ArtifactRepository
 
     Optional<String> findVersion(String group, String artifact,String versionId) throws ArtifactRepositoryException;
 
+    void refreshVersions(String group, String artifact);
+
     List<File> findFiles(ArtifactType type, String group, String artifact, String version);
 
     List<File> findDependenciesFiles(ArtifactType type, String group, String artifact, String version);
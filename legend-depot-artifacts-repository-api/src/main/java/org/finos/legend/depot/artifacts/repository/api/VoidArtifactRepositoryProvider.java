@@ -69,6 +69,11 @@ public class VoidArtifactRepositoryProvider implements ArtifactRepository
         return Optional.empty();
     }
 
+    @Override
+    public void refreshVersions(String group, String artifact)
+    {
+    }
+
     @Override
     public List<File> findFiles(ArtifactType type, String group, String artifact, String version)
     {
@@ -144,6 +144,11 @@ public class RepositoryServices
         return this.repository.findVersion(groupId,artifactId,versionId);
     }
 
+    public void refreshVersions(String groupId, String artifactId)
+    {
+        this.repository.refreshVersions(groupId, artifactId);
+    }
+
     public Set<ArtifactDependency> findDependencies(String groupId, String artifactId, String versionId)
     {
         return this.repository.findDependencies(groupId, artifactId, versionId);
@@ -15,10 +15,11 @@
 
 package org.finos.legend.depot.artifacts.repository.maven.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.Parent;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.settings.io.DefaultSettingsReader;
@@ -30,6 +31,7 @@ import org.finos.legend.depot.artifacts.repository.domain.ArtifactDependency;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.tracing.services.TracerFactory;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.jboss.shrinkwrap.resolver.api.NoResolvedResultException;
 import org.jboss.shrinkwrap.resolver.api.ResolutionException;
@@ -46,17 +48,26 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
-public class MavenArtifactRepository implements ArtifactRepository
+public class MavenArtifactRepository implements ArtifactRepository, AutoCloseable
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(MavenArtifactRepository.class);
     private static final String EMPTY_STRING = "";
@@ -66,32 +77,67 @@ public class MavenArtifactRepository implements ArtifactRepository
     public static final String VERSION_ID = "versionId";
     private static final String ALL_VERSIONS_SCOPE = ":[0.0,)";
     public static final String SEPARATOR = "-";
+    public static final String MAVEN_POM_CACHE_HIT = "maven_pom_cache_hit";
+    public static final String MAVEN_POM_CACHE_MISS = "maven_pom_cache_miss";
+    public static final String MAVEN_VERSIONS_CACHE_HIT = "maven_versions_cache_hit";
+    public static final String MAVEN_VERSIONS_CACHE_MISS = "maven_versions_cache_miss";
+    public static final String MAVEN_VERSIONS_CACHE_NEGATIVE_HIT = "maven_versions_cache_negative_hit";
+    public static final String MAVEN_VERSIONS_CACHE_STALENESS = "maven_versions_cache_staleness";
+    public static final String MAVEN_FIND_FILES = "maven_find_files";
+    public static final String MAVEN_FIND_DEPENDENCIES_FILES = "maven_find_dependencies_files";
+    public static final String MAVEN_FIND_DEPENDENCIES = "maven_find_dependencies";
 
     private final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
     private final String settingsLocation;
+    private final Queue<MavenResolverSystem> idleResolvers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleResolversCount = new AtomicInteger();
+    private final int maximumIdleResolvers;
+    private final long snapshotPomExpiryMillis;
+    private final Cache<String, CachedModel> pomCache;
+    private final long missingVersionExpiryMillis;
+    private final Cache<String, CachedVersions> versionsCache;
+    private final ExecutorService resolutionPool;
     private String localRepository;
 
 
     public MavenArtifactRepository(ArtifactRepositoryProviderConfiguration configuration)
     {
-        if (configuration == null)
+        if (configuration != null && !(configuration instanceof MavenArtifactRepositoryConfiguration))
         {
-            this.settingsLocation = null;
-            return;
+            throw new IllegalArgumentException("cannot initialise repository, please provide a settings file");
         }
-        if (configuration instanceof MavenArtifactRepositoryConfiguration)
+        MavenArtifactRepositoryConfiguration mavenConfiguration = (MavenArtifactRepositoryConfiguration) configuration;
+        this.settingsLocation = mavenConfiguration == null ? null : mavenConfiguration.getSettingsLocation();
+        this.maximumIdleResolvers = mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_MAXIMUM_IDLE_RESOLVERS : mavenConfiguration.getMaximumIdleResolvers();
+        this.snapshotPomExpiryMillis = TimeUnit.SECONDS.toMillis(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_SNAPSHOT_POM_CACHE_EXPIRY_SECONDS : mavenConfiguration.getSnapshotPomCacheExpirySeconds());
+        this.pomCache = CacheBuilder.newBuilder()
+                .maximumSize(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_POM_CACHE_MAXIMUM_SIZE : mavenConfiguration.getPomCacheMaximumSize())
+                .build();
+        this.missingVersionExpiryMillis = TimeUnit.SECONDS.toMillis(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_MISSING_VERSION_CACHE_EXPIRY_SECONDS : mavenConfiguration.getMissingVersionCacheExpirySeconds());
+        this.versionsCache = CacheBuilder.newBuilder()
+                .maximumSize(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_VERSIONS_CACHE_MAXIMUM_SIZE : mavenConfiguration.getVersionsCacheMaximumSize())
+                .expireAfterWrite(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_VERSIONS_CACHE_EXPIRY_SECONDS : mavenConfiguration.getVersionsCacheExpirySeconds(), TimeUnit.SECONDS)
+                .build();
+        this.resolutionPool = Executors.newFixedThreadPool(mavenConfiguration == null ? MavenArtifactRepositoryConfiguration.DEFAULT_RESOLUTION_PARALLELISM : mavenConfiguration.getResolutionParallelism(), runnable ->
         {
-            this.settingsLocation = ((MavenArtifactRepositoryConfiguration)configuration).getSettingsLocation();
-            loadSettings(this.settingsLocation);
-        }
-        else
+            Thread thread = new Thread(runnable, "maven-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (mavenConfiguration != null)
         {
-            throw new IllegalArgumentException("cannot initialise repository, please provide a settings file");
+            loadSettings(this.settingsLocation);
         }
     }
 
 
-    private MavenResolverSystem getResolver()
+    @Override
+    public void close()
+    {
+        resolutionPool.shutdownNow();
+    }
+
+    private MavenResolverSystem createResolver()
     {
         return Maven.configureResolver()
                 .withMavenCentralRepo(false)
@@ -99,6 +145,29 @@ public class MavenArtifactRepository implements ArtifactRepository
                 .fromFile(settingsLocation);
     }
 
+    private <T> T withResolver(Function<MavenResolverSystem, T> resolution)
+    {
+        MavenResolverSystem resolver = idleResolvers.poll();
+        if (resolver == null)
+        {
+            resolver = createResolver();
+        }
+        else
+        {
+            idleResolversCount.decrementAndGet();
+        }
+        T result = resolution.apply(resolver);
+        if (idleResolversCount.incrementAndGet() <= maximumIdleResolvers)
+        {
+            idleResolvers.offer(resolver);
+        }
+        else
+        {
+            idleResolversCount.decrementAndGet();
+        }
+        return result;
+    }
+
     private void loadSettings(String settingsFile)
     {
         SettingsReader reader = new DefaultSettingsReader();
@@ -138,24 +207,29 @@ public class MavenArtifactRepository implements ArtifactRepository
                 && !artifact.contains(GAV_SEP);
     }
 
+    /**
+     * Resolves the files of every module of the given type.
+     * A module whose files cannot be resolved (NoResolvedResultException) is logged and skipped, the files of the other modules are still returned
+     */
     @Override
     public List<File> findFiles(ArtifactType type, String group, String artifactId, String version)
     {
         LOGGER.info("resolving files for [{}] artifacts [{}-{}-{}]", type, group, artifactId, version);
+        long start = System.currentTimeMillis();
         List<String> modulesWithArtifacts = getModulesFromPOM(type, group, artifactId, version);
-        List<File> foundFiles = new ArrayList<>();
-        try
+        List<File> foundFiles = resolveInParallel(modulesWithArtifacts, artifactModule ->
         {
-            modulesWithArtifacts.forEach(artifactModule ->
+            try
             {
-                File[] artifactFiles = resolveArtifactFilesFromRepository(group, artifactModule, version);
-                foundFiles.addAll(Arrays.asList(artifactFiles));
-            });
-        }
-        catch (NoResolvedResultException ex)
-        {
-            LOGGER.error("could not resolve file for [{}] artifacts [{}-{}-{}] : [{}]", type, group, artifactId, version, ex.getMessage());
-        }
+                return Arrays.asList(resolveArtifactFilesFromRepository(group, artifactModule, version));
+            }
+            catch (NoResolvedResultException ex)
+            {
+                LOGGER.error("could not resolve file for [{}] artifacts [{}-{}-{}] : [{}]", type, group, artifactModule, version, ex.getMessage());
+                return Collections.<File>emptyList();
+            }
+        }).stream().flatMap(List::stream).collect(Collectors.toList());
+        PrometheusMetricsFactory.getInstance().observe(MAVEN_FIND_FILES, start, System.currentTimeMillis());
         LOGGER.info("found [{}] files for [{}] artifacts [{}-{}-{}]",foundFiles.size(), type, group, artifactId, version);
         return foundFiles;
     }
@@ -164,9 +238,11 @@ public class MavenArtifactRepository implements ArtifactRepository
     @Override
     public List<File> findDependenciesFiles(ArtifactType type, String group, String artifact, String version)
     {
-        List<File> files = new ArrayList<>();
-        findDependenciesByArtifactType(type, group, artifact, version).forEach(dep ->
-                files.addAll(Arrays.asList(resolveArtifactFilesFromRepository(group, dep.getArtifactId(), dep.getVersion()))));
+        long start = System.currentTimeMillis();
+        List<File> files = resolveInParallel(new ArrayList<>(findDependenciesByArtifactType(type, group, artifact, version)),
+                dep -> Arrays.asList(resolveArtifactFilesFromRepository(group, dep.getArtifactId(), dep.getVersion())))
+                .stream().flatMap(List::stream).collect(Collectors.toList());
+        PrometheusMetricsFactory.getInstance().observe(MAVEN_FIND_DEPENDENCIES_FILES, start, System.currentTimeMillis());
         return files;
     }
 
@@ -185,41 +261,69 @@ public class MavenArtifactRepository implements ArtifactRepository
     @Override
     public Set<ArtifactDependency> findDependencies(String groupId, String artifactId, String versionId)
     {
-        Set<ArtifactDependency> dependencies = new HashSet<>();
+        long start = System.currentTimeMillis();
         List<String> modulesWithEntities = getModulesFromPOM(ArtifactType.ENTITIES, groupId, artifactId, versionId);
-        if (!modulesWithEntities.isEmpty())
+        List<Dependency> entitiesDependencies = resolveInParallel(modulesWithEntities, module ->
         {
-            modulesWithEntities.forEach(module ->
+            Model modulePom = getPOM(groupId, module, versionId);
+            List<Dependency> moduleDependencies = modulePom.getDependencies().stream().filter(dep -> dep.getVersion() != null).collect(Collectors.toList());
+            if (moduleDependencies.isEmpty())
             {
-                Model modulePom = getPOM(groupId, module, versionId);
-                List<Dependency> moduleDependencies = modulePom.getDependencies().stream().filter(dep -> dep.getVersion() != null).collect(Collectors.toList());
-                if (moduleDependencies.isEmpty())
+                List<Dependency> pluginsDependencies = new ArrayList<>();
+                Build build = modulePom.getBuild();
+                if (build != null && build.getPlugins() != null && !build.getPlugins().isEmpty())
                 {
-                    List<Dependency> pluginsDependencies = new ArrayList<>();
-                    Build build = modulePom.getBuild();
-                    if (build != null && build.getPlugins() != null && !build.getPlugins().isEmpty())
-                    {
-                        build.getPlugins().forEach(plugin -> pluginsDependencies.addAll(plugin.getDependencies()));
-                        moduleDependencies = pluginsDependencies;
-                    }
+                    build.getPlugins().forEach(plugin -> pluginsDependencies.addAll(plugin.getDependencies()));
+                    moduleDependencies = pluginsDependencies;
                 }
-                moduleDependencies.stream().filter(dep -> dep.getArtifactId().endsWith(ArtifactType.ENTITIES.getModuleName()))
-                        .forEach(dependency ->
-                                {
-                                    Parent parent = getPOM(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()).getParent();
-                                    if (parent != null)
-                                    {
-                                        dependencies.add(new ArtifactDependency(parent.getGroupId(), parent.getArtifactId(), parent.getVersion()));
-                                    }
-                                }
-                        );
-
-            });
-        }
+            }
+            return moduleDependencies.stream().filter(dep -> dep.getArtifactId().endsWith(ArtifactType.ENTITIES.getModuleName())).collect(Collectors.toList());
+        }).stream().flatMap(List::stream).collect(Collectors.toList());
 
+        Set<ArtifactDependency> dependencies = resolveInParallel(entitiesDependencies, dependency -> Optional.ofNullable(getPOM(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()).getParent()))
+                .stream()
+                .filter(Optional::isPresent)
+                .map(parent -> new ArtifactDependency(parent.get().getGroupId(), parent.get().getArtifactId(), parent.get().getVersion()))
+                .collect(Collectors.toSet());
+        PrometheusMetricsFactory.getInstance().observe(MAVEN_FIND_DEPENDENCIES, start, System.currentTimeMillis());
         return dependencies;
     }
 
+    private <T, R> List<R> resolveInParallel(List<T> items, Function<T, R> resolution)
+    {
+        if (items.size() <= 1)
+        {
+            return items.stream().map(resolution).collect(Collectors.toList());
+        }
+        List<Future<R>> resolutions = items.stream().map(item -> resolutionPool.submit(() -> resolution.apply(item))).collect(Collectors.toList());
+        List<R> results = new ArrayList<>(items.size());
+        try
+        {
+            for (Future<R> result : resolutions)
+            {
+                results.add(result.get());
+            }
+            return results;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted resolving artifacts", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            resolutions.forEach(result -> result.cancel(true));
+        }
+    }
+
     @Override
     public List<String> getModulesFromPOM(ArtifactType type, String groupId, String artifactId, String versionId)
     {
@@ -240,6 +344,30 @@ public class MavenArtifactRepository implements ArtifactRepository
 
 
     public Model getPOM(String group, String artifact, String version)
+    {
+        String gav = gavCoordinates(group, artifact, version);
+        CachedModel cached = pomCache.getIfPresent(gav);
+        if (cached != null)
+        {
+            if (cached.expiresAt > System.currentTimeMillis())
+            {
+                PrometheusMetricsFactory.getInstance().incrementCount(MAVEN_POM_CACHE_HIT);
+                return cached.model.clone();
+            }
+            pomCache.invalidate(gav);
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(MAVEN_POM_CACHE_MISS);
+        Model model = readPOM(group, artifact, version);
+        if (model != null)
+        {
+            long expiresAt = VersionValidator.isSnapshotVersion(version) ? System.currentTimeMillis() + snapshotPomExpiryMillis : Long.MAX_VALUE;
+            pomCache.put(gav, new CachedModel(model, expiresAt));
+            return model.clone();
+        }
+        return new Model();
+    }
+
+    private Model readPOM(String group, String artifact, String version)
     {
         URL[] pom = null;
         try
@@ -269,7 +397,7 @@ public class MavenArtifactRepository implements ArtifactRepository
         {
             LOGGER.error("could not read {}", pomFileLocation);
             LOGGER.error(e.getMessage());
-            return new Model();
+            return null;
         }
     }
 
@@ -299,17 +427,17 @@ public class MavenArtifactRepository implements ArtifactRepository
 
     protected File[] resolveArtifactFilesFromRepository(String group, String artifact, String version)
     {
-        return (File[]) executeWithTrace("resolveArtifactFilesFromRepository",group,artifact,version,() -> getResolver().resolve(gavCoordinates(group, artifact, version)).withoutTransitivity().asFile());
+        return (File[]) executeWithTrace("resolveArtifactFilesFromRepository",group,artifact,version,() -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, version)).withoutTransitivity().asFile()));
     }
 
     protected URL[] resolvePOMFromRepository(String group, String artifact, String version)
     {
-        return (URL[]) executeWithTrace("resolvePOMFromRepository",group,artifact,version, () -> getResolver().resolve(gavCoordinates(group, artifact, PackagingType.POM, version)).withoutTransitivity().as(URL.class));
+        return (URL[]) executeWithTrace("resolvePOMFromRepository",group,artifact,version, () -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, PackagingType.POM, version)).withoutTransitivity().as(URL.class)));
     }
 
     protected URL[] resolveJarFromRepository(String group, String artifact, String version)
     {
-        return (URL[]) executeWithTrace("resolveJarFromRepository",group,artifact,version, () -> getResolver().resolve(gavCoordinates(group, artifact, PackagingType.JAR, version)).withoutTransitivity().as(URL.class));
+        return (URL[]) executeWithTrace("resolveJarFromRepository",group,artifact,version, () -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, PackagingType.JAR, version)).withoutTransitivity().as(URL.class)));
     }
 
     @Override
@@ -321,13 +449,44 @@ public class MavenArtifactRepository implements ArtifactRepository
 
 
     private List<String> findAllVersions(String group, String artifact) throws ArtifactRepositoryException
+    {
+        return getVersionsMetadata(group, artifact).versions;
+    }
+
+    private CachedVersions getVersionsMetadata(String group, String artifact) throws ArtifactRepositoryException
+    {
+        CachedVersions cached = versionsCache.getIfPresent(group + GAV_SEP + artifact);
+        if (cached != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(MAVEN_VERSIONS_CACHE_HIT);
+            PrometheusMetricsFactory.getInstance().observe(MAVEN_VERSIONS_CACHE_STALENESS, cached.loadedAt, System.currentTimeMillis());
+            return cached;
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(MAVEN_VERSIONS_CACHE_MISS);
+        return loadVersionsMetadata(group, artifact);
+    }
+
+    private CachedVersions loadVersionsMetadata(String group, String artifact) throws ArtifactRepositoryException
+    {
+        CachedVersions loaded = new CachedVersions(Collections.unmodifiableList(resolveVersionsFromRepository(group, artifact)), System.currentTimeMillis());
+        versionsCache.put(group + GAV_SEP + artifact, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void refreshVersions(String group, String artifact)
+    {
+        versionsCache.invalidate(group + GAV_SEP + artifact);
+    }
+
+    protected List<String> resolveVersionsFromRepository(String group, String artifact) throws ArtifactRepositoryException
     {
         List<String> result = new ArrayList<>();
         long start = System.currentTimeMillis();
         try
         {
             String groupArtifactVersionRange = gavCoordinates(group, artifact, ALL_VERSIONS_SCOPE);
-            final MavenVersionRangeResult versionRangeResult = (MavenVersionRangeResult) executeWithTrace("resolveVersionsFromRepository",group,artifact,"ALL",() -> getResolver().resolveVersionRange(groupArtifactVersionRange));
+            final MavenVersionRangeResult versionRangeResult = (MavenVersionRangeResult) executeWithTrace("resolveVersionsFromRepository",group,artifact,"ALL",() -> withResolver(resolver -> resolver.resolveVersionRange(groupArtifactVersionRange)));
             LOGGER.debug("resolveVersionsFromRepository {}{}{} , Version data: [{}]", group, artifact, ALL_VERSIONS_SCOPE, versionRangeResult);
             result.addAll(versionRangeResult.getVersions().stream().map(c -> c.getVersion()).collect(Collectors.toList()));
         }
@@ -351,7 +510,17 @@ public class MavenArtifactRepository implements ArtifactRepository
     @Override
     public Optional<String> findVersion(String group, String artifact, String versionId) throws ArtifactRepositoryException
     {
-        return this.findAllVersions(group,artifact).stream().filter(v -> v.equals(versionId)).findFirst();
+        CachedVersions cached = getVersionsMetadata(group, artifact);
+        if (!cached.versions.contains(versionId))
+        {
+            if (System.currentTimeMillis() - cached.loadedAt < missingVersionExpiryMillis)
+            {
+                PrometheusMetricsFactory.getInstance().incrementCount(MAVEN_VERSIONS_CACHE_NEGATIVE_HIT);
+                return Optional.empty();
+            }
+            cached = loadVersionsMetadata(group, artifact);
+        }
+        return cached.versions.stream().filter(v -> v.equals(versionId)).findFirst();
     }
 
     private Object executeWithTrace(String label, String groupId, String artifactId, String version, Supplier<Object> functionToExecute)
@@ -362,4 +531,28 @@ public class MavenArtifactRepository implements ArtifactRepository
         tags.put(VERSION_ID, version);
         return TracerFactory.get().executeWithTrace(label, () -> functionToExecute.get(),tags);
     }
+
+    private static class CachedVersions
+    {
+        private final List<String> versions;
+        private final long loadedAt;
+
+        private CachedVersions(List<String> versions, long loadedAt)
+        {
+            this.versions = versions;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class CachedModel
+    {
+        private final Model model;
+        private final long expiresAt;
+
+        private CachedModel(Model model, long expiresAt)
+        {
+            this.model = model;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
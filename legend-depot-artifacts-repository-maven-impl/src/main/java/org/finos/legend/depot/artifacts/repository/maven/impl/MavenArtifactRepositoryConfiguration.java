@@ -24,11 +24,39 @@ import javax.validation.constraints.NotNull;
 
 public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProviderConfiguration
 {
+    static final long DEFAULT_POM_CACHE_MAXIMUM_SIZE = 10000;
+    static final long DEFAULT_SNAPSHOT_POM_CACHE_EXPIRY_SECONDS = 60;
+    static final int DEFAULT_MAXIMUM_IDLE_RESOLVERS = 8;
+    static final long DEFAULT_VERSIONS_CACHE_MAXIMUM_SIZE = 10000;
+    static final long DEFAULT_VERSIONS_CACHE_EXPIRY_SECONDS = 600;
+    static final long DEFAULT_MISSING_VERSION_CACHE_EXPIRY_SECONDS = 30;
+    static final int DEFAULT_RESOLUTION_PARALLELISM = 4;
 
     @NotNull
     @JsonProperty
     private String settingsLocation;
 
+    @JsonProperty
+    private long pomCacheMaximumSize = DEFAULT_POM_CACHE_MAXIMUM_SIZE;
+
+    @JsonProperty
+    private long snapshotPomCacheExpirySeconds = DEFAULT_SNAPSHOT_POM_CACHE_EXPIRY_SECONDS;
+
+    @JsonProperty
+    private int maximumIdleResolvers = DEFAULT_MAXIMUM_IDLE_RESOLVERS;
+
+    @JsonProperty
+    private long versionsCacheMaximumSize = DEFAULT_VERSIONS_CACHE_MAXIMUM_SIZE;
+
+    @JsonProperty
+    private long versionsCacheExpirySeconds = DEFAULT_VERSIONS_CACHE_EXPIRY_SECONDS;
+
+    @JsonProperty
+    private long missingVersionCacheExpirySeconds = DEFAULT_MISSING_VERSION_CACHE_EXPIRY_SECONDS;
+
+    @JsonProperty
+    private int resolutionParallelism = DEFAULT_RESOLUTION_PARALLELISM;
+
     @JsonCreator
     public MavenArtifactRepositoryConfiguration(@JsonProperty("settingsLocation") String settingsLocation)
     {
@@ -41,6 +69,41 @@ public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProv
         return settingsLocation;
     }
 
+    public long getPomCacheMaximumSize()
+    {
+        return pomCacheMaximumSize;
+    }
+
+    public long getSnapshotPomCacheExpirySeconds()
+    {
+        return snapshotPomCacheExpirySeconds;
+    }
+
+    public int getMaximumIdleResolvers()
+    {
+        return maximumIdleResolvers;
+    }
+
+    public long getVersionsCacheMaximumSize()
+    {
+        return versionsCacheMaximumSize;
+    }
+
+    public long getVersionsCacheExpirySeconds()
+    {
+        return versionsCacheExpirySeconds;
+    }
+
+    public long getMissingVersionCacheExpirySeconds()
+    {
+        return missingVersionCacheExpirySeconds;
+    }
+
+    public int getResolutionParallelism()
+    {
+        return resolutionParallelism;
+    }
+
     @Override
     public ArtifactRepository initialiseArtifactRepositoryProvider()
     {
@@ -53,6 +116,12 @@ public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProv
         return "MavenArtifactRepositoryConfiguration{" +
                 "name='" + super.getName() + '\'' +
                 "settings='" + this.settingsLocation + '\'' +
+                "pomCacheMaximumSize=" + this.pomCacheMaximumSize +
+                "snapshotPomCacheExpirySeconds=" + this.snapshotPomCacheExpirySeconds +
+                "maximumIdleResolvers=" + this.maximumIdleResolvers +
+                "versionsCacheExpirySeconds=" + this.versionsCacheExpirySeconds +
+                "missingVersionCacheExpirySeconds=" + this.missingVersionCacheExpirySeconds +
+                "resolutionParallelism=" + this.resolutionParallelism +
                 '}';
     }
 }
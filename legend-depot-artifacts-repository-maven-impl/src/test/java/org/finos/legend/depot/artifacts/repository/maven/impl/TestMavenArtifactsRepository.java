@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -38,6 +39,7 @@ public class TestMavenArtifactsRepository extends MavenArtifactRepository implem
     public static final String DOT = ".";
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(TestMavenArtifactsRepository.class);
     private static Map<String, List<String>> TESTING_VERSIONS = new HashMap<>();
+    private final AtomicInteger pomResolutions = new AtomicInteger();
 
     static
     {
@@ -51,6 +53,11 @@ public class TestMavenArtifactsRepository extends MavenArtifactRepository implem
         super(null);
     }
 
+    public int getPomResolutions()
+    {
+        return pomResolutions.get();
+    }
+
     @Override
     public List<VersionId> findVersions(String group, String artifact)
     {
@@ -66,6 +73,7 @@ public class TestMavenArtifactsRepository extends MavenArtifactRepository implem
     @Override
     protected URL[] resolvePOMFromRepository(String group, String artifact, String version)
     {
+        pomResolutions.incrementAndGet();
         String pomFile = getFilePath(group, artifact, version, "pom");
         LOGGER.info("test pom file {}", pomFile);
 
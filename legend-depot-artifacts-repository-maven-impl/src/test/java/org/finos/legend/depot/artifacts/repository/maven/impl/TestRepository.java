@@ -17,16 +17,26 @@ package org.finos.legend.depot.artifacts.repository.maven.impl;
 
 import org.finos.legend.depot.artifacts.repository.api.ArtifactNotFoundException;
 import org.finos.legend.depot.artifacts.repository.api.ArtifactRepository;
+import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryException;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactDependency;
 import org.finos.legend.depot.artifacts.repository.domain.ArtifactType;
+import org.apache.maven.model.Model;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.jboss.shrinkwrap.resolver.api.NoResolvedResultException;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class TestRepository extends TestStoreMongo
 {
@@ -120,4 +130,114 @@ public class TestRepository extends TestStoreMongo
         Assert.assertEquals(1,filesForVersionedEntities.size());
         Assert.assertEquals("test-versioned-entities-1.0.0.jar",filesForVersionedEntities.get(0).getName());
     }
+
+    @Test
+    public void canReusePOMModelsForReleases()
+    {
+        TestMavenArtifactsRepository mavenRepository = new TestMavenArtifactsRepository();
+        Model pom = mavenRepository.getPOM(GROUP_ID, "test", "1.0.0");
+        Model cachedPom = mavenRepository.getPOM(GROUP_ID, "test", "1.0.0");
+        Assert.assertEquals(1, mavenRepository.getPomResolutions());
+        Assert.assertNotSame(pom, cachedPom);
+        Assert.assertEquals(pom.getModules(), cachedPom.getModules());
+
+        pom.getModules().clear();
+        Assert.assertFalse(mavenRepository.getPOM(GROUP_ID, "test", "1.0.0").getModules().isEmpty());
+    }
+
+    @Test
+    public void canReuseVersionsMetadataUntilRefreshed() throws ArtifactRepositoryException
+    {
+        AtomicInteger resolutions = new AtomicInteger();
+        MavenArtifactRepository mavenRepository = new MavenArtifactRepository(null)
+        {
+            @Override
+            protected List<String> resolveVersionsFromRepository(String group, String artifact)
+            {
+                resolutions.incrementAndGet();
+                return Arrays.asList("1.0.0", "2.0.0");
+            }
+        };
+
+        Assert.assertEquals(Optional.of("1.0.0"), mavenRepository.findVersion(GROUP_ID, "test", "1.0.0"));
+        Assert.assertEquals(2, mavenRepository.findVersions(GROUP_ID, "test").size());
+        Assert.assertFalse(mavenRepository.findVersion(GROUP_ID, "test", "3.0.0").isPresent());
+        Assert.assertEquals(1, resolutions.get());
+
+        mavenRepository.refreshVersions(GROUP_ID, "test");
+        Assert.assertEquals(Optional.of("2.0.0"), mavenRepository.findVersion(GROUP_ID, "test", "2.0.0"));
+        Assert.assertEquals(2, resolutions.get());
+    }
+
+    private static MavenArtifactRepository multiModuleRepository(List<String> modules, Set<ArtifactDependency> dependencies, String failingModule, Set<String> resolvingThreads)
+    {
+        return new MavenArtifactRepository(null)
+        {
+            @Override
+            public List<String> getModulesFromPOM(ArtifactType type, String group, String artifact, String version)
+            {
+                return modules;
+            }
+
+            @Override
+            public Set<ArtifactDependency> findDependenciesByArtifactType(ArtifactType type, String groupId, String artifactId, String versionId)
+            {
+                return dependencies;
+            }
+
+            @Override
+            protected File[] resolveArtifactFilesFromRepository(String group, String artifact, String version)
+            {
+                resolvingThreads.add(Thread.currentThread().getName());
+                if (artifact.equals(failingModule))
+                {
+                    throw new NoResolvedResultException("no files for " + artifact);
+                }
+                return new File[]{new File(artifact + "-" + version + ".jar"), new File(artifact + "-" + version + "-sources.jar")};
+            }
+        };
+    }
+
+    private static List<File> sequentialFiles(List<String> artifacts, String version)
+    {
+        return artifacts.stream().flatMap(artifact -> Arrays.stream(new File[]{new File(artifact + "-" + version + ".jar"), new File(artifact + "-" + version + "-sources.jar")})).collect(Collectors.toList());
+    }
+
+    @Test
+    public void canFindFilesOfMultipleModulesAsSequentially()
+    {
+        List<String> modules = Arrays.asList("test-entities", "test-entities-a", "test-entities-b", "test-entities-c", "test-entities-d", "test-entities-e");
+        Set<String> resolvingThreads = ConcurrentHashMap.newKeySet();
+        MavenArtifactRepository mavenRepository = multiModuleRepository(modules, new LinkedHashSet<>(), null, resolvingThreads);
+
+        Assert.assertEquals(sequentialFiles(modules, "1.0.0"), mavenRepository.findFiles(ArtifactType.ENTITIES, GROUP_ID, "test", "1.0.0"));
+        Assert.assertTrue(resolvingThreads.stream().allMatch(thread -> thread.equals("maven-resolver")));
+
+        mavenRepository.close();
+        Assert.assertThrows(RejectedExecutionException.class, () -> mavenRepository.findFiles(ArtifactType.ENTITIES, GROUP_ID, "test", "1.0.0"));
+    }
+
+    @Test
+    public void canSkipModulesWithoutFilesWhenFindingFiles()
+    {
+        List<String> modules = Arrays.asList("test-entities-a", "test-entities-b", "test-entities-c", "test-entities-d");
+        MavenArtifactRepository mavenRepository = multiModuleRepository(modules, new LinkedHashSet<>(), "test-entities-b", ConcurrentHashMap.newKeySet());
+
+        Assert.assertEquals(sequentialFiles(Arrays.asList("test-entities-a", "test-entities-c", "test-entities-d"), "1.0.0"), mavenRepository.findFiles(ArtifactType.ENTITIES, GROUP_ID, "test", "1.0.0"));
+        mavenRepository.close();
+    }
+
+    @Test
+    public void canFindDependenciesFilesAsSequentially()
+    {
+        Set<ArtifactDependency> dependencies = new LinkedHashSet<>(Arrays.asList(new ArtifactDependency(GROUP_ID, "dep-a-entities", "1.0.0"), new ArtifactDependency(GROUP_ID, "dep-b-entities", "1.0.0"),
+                new ArtifactDependency(GROUP_ID, "dep-c-entities", "1.0.0"), new ArtifactDependency(GROUP_ID, "dep-d-entities", "1.0.0"), new ArtifactDependency(GROUP_ID, "dep-e-entities", "1.0.0")));
+        MavenArtifactRepository mavenRepository = multiModuleRepository(Arrays.asList("test-entities"), dependencies, null, ConcurrentHashMap.newKeySet());
+        Assert.assertEquals(sequentialFiles(dependencies.stream().map(ArtifactDependency::getArtifactId).collect(Collectors.toList()), "1.0.0"), mavenRepository.findDependenciesFiles(ArtifactType.ENTITIES, GROUP_ID, "test", "1.0.0"));
+
+        MavenArtifactRepository failingRepository = multiModuleRepository(Arrays.asList("test-entities"), dependencies, "dep-c-entities", ConcurrentHashMap.newKeySet());
+        Assert.assertThrows(NoResolvedResultException.class, () -> failingRepository.findDependenciesFiles(ArtifactType.ENTITIES, GROUP_ID, "test", "1.0.0"));
+        mavenRepository.close();
+        failingRepository.close();
+    }
 }
@@ -17,11 +17,16 @@ package org.finos.legend.depot.tracing.resources;
 
 import io.swagger.annotations.ApiOperation;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.depot.tracing.services.ResourceBulkheads;
 import org.finos.legend.depot.tracing.services.TracerFactory;
 import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.function.Supplier;
 
@@ -91,7 +96,23 @@ public class BaseResource
 
     protected <T> T handle(String resourceAPIMetricName, String label, Supplier<T> supplier)
     {
-        return TracerFactory.get().executeWithTrace(label, () -> handleWithLogging(resourceAPIMetricName, label, supplier));
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(resourceAPIMetricName);
+        if (bulkhead == null)
+        {
+            return TracerFactory.get().executeWithTrace(label, () -> handleWithLogging(resourceAPIMetricName, label, supplier));
+        }
+        if (!bulkhead.tryAcquire())
+        {
+            throw new ServiceUnavailableException(String.format("Too many concurrent %s requests, retry later", resourceAPIMetricName), bulkhead.getRetryAfterSeconds());
+        }
+        try
+        {
+            return TracerFactory.get().executeWithTrace(label, () -> handleWithLogging(resourceAPIMetricName, label, supplier));
+        }
+        finally
+        {
+            bulkhead.release();
+        }
     }
 
     protected <T> T handle(String label, Supplier<T> supplier)
@@ -99,6 +120,41 @@ public class BaseResource
         return handle(label, label, supplier);
     }
 
+    /**
+     * Streamed responses are produced while the entity is written, so the bulkhead permit, latency metric,
+     * tracing span and error logging are taken inside the write rather than around building the StreamingOutput
+     */
+    protected StreamingOutput handleStreaming(String resourceAPIMetricName, String label, StreamingOutput streamingOutput)
+    {
+        return output ->
+        {
+            try
+            {
+                handle(resourceAPIMetricName, label, () ->
+                {
+                    try
+                    {
+                        streamingOutput.write(output);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        };
+    }
+
+    protected StreamingOutput handleStreaming(String label, StreamingOutput streamingOutput)
+    {
+        return handleStreaming(label, label, streamingOutput);
+    }
+
 
     private void registerResourceApisMetrics(BaseResource baseResource)
     {
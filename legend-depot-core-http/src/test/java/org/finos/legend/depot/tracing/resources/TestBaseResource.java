@@ -23,11 +23,14 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 @Path("")
 @Api("Test Tracing")
 class TestBaseResource extends BaseResource
 {
+    static final String STREAMING_TEST = "stream test method";
+
     @GET
     @Path("/tracing/test")
     @ApiOperation("get test method")
@@ -36,4 +39,9 @@ class TestBaseResource extends BaseResource
     {
         return Response.status(Response.Status.NO_CONTENT).build();
     }
+
+    public StreamingOutput testStreamingMethod(StreamingOutput streamingOutput)
+    {
+        return handleStreaming(STREAMING_TEST, streamingOutput);
+    }
 }
@@ -0,0 +1,97 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.tracing.resources;
+
+import org.finos.legend.depot.tracing.configuration.BulkheadConfiguration;
+import org.finos.legend.depot.tracing.services.ResourceBulkheads;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class TestStreamingResource
+{
+    private TestBaseResource resource;
+
+    @Before
+    public void setUp()
+    {
+        PrometheusMetricsFactory.configure(null);
+        ResourceBulkheads.configure(Collections.singletonMap(TestBaseResource.STREAMING_TEST, new BulkheadConfiguration(1, 0, 5)));
+        resource = new TestBaseResource();
+    }
+
+    @After
+    public void tearDown()
+    {
+        ResourceBulkheads.configure(null);
+        BaseResource.resourceMetricsRegistration.remove(TestBaseResource.class.getCanonicalName());
+    }
+
+    @Test
+    public void canHoldBulkheadPermitWhileStreaming() throws IOException
+    {
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(TestBaseResource.STREAMING_TEST);
+        StreamingOutput streamingOutput = resource.testStreamingMethod(output ->
+        {
+            Assert.assertEquals(1, bulkhead.getPermitsInUse());
+            output.write("streamed".getBytes(StandardCharsets.UTF_8));
+        });
+        Assert.assertEquals(0, bulkhead.getPermitsInUse());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingOutput.write(output);
+        Assert.assertEquals("streamed", new String(output.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(0, bulkhead.getPermitsInUse());
+    }
+
+    @Test
+    public void canRejectStreamingWhenBulkheadIsFull() throws IOException
+    {
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(TestBaseResource.STREAMING_TEST);
+        Assert.assertTrue(bulkhead.tryAcquire());
+        try
+        {
+            StreamingOutput streamingOutput = resource.testStreamingMethod(output -> Assert.fail("should not stream without a permit"));
+            Assert.assertThrows(ServiceUnavailableException.class, () -> streamingOutput.write(new ByteArrayOutputStream()));
+        }
+        finally
+        {
+            bulkhead.release();
+        }
+    }
+
+    @Test
+    public void canReleasePermitAndPropagateStreamingFailures()
+    {
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(TestBaseResource.STREAMING_TEST);
+        StreamingOutput streamingOutput = resource.testStreamingMethod(output ->
+        {
+            throw new IOException("client went away");
+        });
+        IOException exception = Assert.assertThrows(IOException.class, () -> streamingOutput.write(new ByteArrayOutputStream()));
+        Assert.assertEquals("client went away", exception.getMessage());
+        Assert.assertEquals(0, bulkhead.getPermitsInUse());
+    }
+}
@@ -16,11 +16,14 @@
 package org.finos.legend.depot.services;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Singleton;
+import org.finos.legend.depot.services.api.dependencies.DependencyGraphService;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
 import org.finos.legend.depot.services.api.generation.file.FileGenerationsService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.versionedEntities.VersionedEntitiesService;
+import org.finos.legend.depot.services.dependencies.DependencyGraphServiceImpl;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.entities.EntityClassifierServiceImpl;
 import org.finos.legend.depot.services.generation.file.FileGenerationsServiceImpl;
@@ -33,16 +36,18 @@ public class ReadDataServicesModule extends PrivateModule
     protected void configure()
     {
 
-        bind(EntitiesService.class).to(EntitiesServiceImpl.class);
+        bind(EntitiesService.class).to(EntitiesServiceImpl.class).in(Singleton.class);
         bind(VersionedEntitiesService.class).to(VersionedEntitiesServiceImpl.class);
         bind(EntityClassifierService.class).to(EntityClassifierServiceImpl.class);
         bind(ProjectsService.class).to(ProjectsServiceImpl.class);
         bind(FileGenerationsService.class).to(FileGenerationsServiceImpl.class);
+        bind(DependencyGraphService.class).to(DependencyGraphServiceImpl.class).in(Singleton.class);
 
         expose(ProjectsService.class);
         expose(EntitiesService.class);
         expose(VersionedEntitiesService.class);
         expose(EntityClassifierService.class);
         expose(FileGenerationsService.class);
+        expose(DependencyGraphService.class);
     }
 }
@@ -0,0 +1,38 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.api.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
+
+import java.util.List;
+import java.util.Set;
+
+public interface DependencyGraphService
+{
+    Set<ProjectVersion> getDependencies(List<ProjectVersion> projectVersions, boolean transitive);
+
+    Set<ProjectVersion> getDependants(ProjectVersion projectVersion, boolean transitive);
+
+    List<ProjectDependencyReport.ProjectDependencyConflict> getConflicts(List<ProjectVersion> projectVersions);
+
+    /**
+     * Picks up versions written to the store since the last refresh, or rebuilds the graph when the last rebuild is old enough
+     * for purged versions to be dropped
+     */
+    void refresh();
+}
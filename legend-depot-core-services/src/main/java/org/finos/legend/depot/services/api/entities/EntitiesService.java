@@ -15,28 +15,75 @@
 
 package org.finos.legend.depot.services.api.entities;
 
+import org.finos.legend.depot.domain.entity.EntitiesBatchResponse;
+import org.finos.legend.depot.domain.entity.EntitiesDelta;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
+import org.finos.legend.depot.domain.entity.PackageSummary;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 
 public interface EntitiesService<T extends StoredEntity>
 {
 
-    List<Entity> getEntities(String groupId, String artifactId, String versionId);
+    /**
+     * When contentFields is not empty only those keys (dot separated for nested ones) of each entity content are returned
+     */
+    List<Entity> getEntities(String groupId, String artifactId, String versionId, Set<String> contentFields);
 
-    Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath);
+    /**
+     * Entities sorted by path, starting after the given cursor (or from the first one if none given).
+     * The nextCursor in the returned page is null once the last entity has been returned.
+     * A cursor must belong to the requested version; with an alias (latest, head) later pages stay on the version the first page resolved to
+     */
+    EntitiesPage<Entity> getEntitiesPage(String groupId, String artifactId, String versionId, String cursor, int limit, Set<String> contentFields);
 
-    List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages);
+    Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath, Set<String> contentFields);
+
+    EntitiesBatchResponse getEntities(String groupId, String artifactId, String versionId, List<String> entityPaths);
+
+    List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Set<String> contentFields);
+
+    /**
+     * Entities added, changed and removed going from one version of a project to another.
+     * Entities are compared by content hash, only the added and changed ones are loaded
+     */
+    EntitiesDelta getEntitiesDelta(String groupId, String artifactId, String fromVersionId, String toVersionId);
+
+    default List<Entity> getEntities(String groupId, String artifactId, String versionId)
+    {
+        return getEntities(groupId, artifactId, versionId, Collections.emptySet());
+    }
+
+    default Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath)
+    {
+        return getEntity(groupId, artifactId, versionId, entityPath, Collections.emptySet());
+    }
+
+    default List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    {
+        return getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages, Collections.emptySet());
+    }
+
+    List<PackageSummary> getPackages(String groupId, String artifactId, String versionId, String packageName);
 
     List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin);
 
+    /**
+     * Same as getDependenciesEntities but hands each project version's entities to the consumer as soon as they are fetched.
+     * Fetches run in parallel, the consumer must be thread safe and will see project versions in completion order
+     */
+    void streamDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin, Consumer<ProjectVersionEntities> consumer);
+
     default List<ProjectVersionEntities> getDependenciesEntities(String groupId, String artifactId, String versionId, boolean transitive, boolean includeOrigin)
     {
         return getDependenciesEntities(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), transitive, includeOrigin);
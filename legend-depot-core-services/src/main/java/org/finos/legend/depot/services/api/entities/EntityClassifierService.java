@@ -15,19 +15,23 @@
 
 package org.finos.legend.depot.services.api.entities;
 
+import org.finos.legend.depot.domain.entity.EntitiesPage;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.Scope;
 
 import java.util.List;
+import java.util.Set;
 
 public interface EntityClassifierService
 {
-    List<StoredEntity> getEntitiesByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, boolean summary);
+    List<StoredEntity> getEntitiesByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, boolean summary, Set<String> contentFields);
 
-    List<StoredEntity> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary);
+    EntitiesPage<StoredEntity> getEntitiesByClassifierPathPage(String classifierPath, String search, String cursor, int limit, Scope scope, boolean summary, Set<String> contentFields);
 
-    List<StoredEntity> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary);
+    List<StoredEntity> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary, Set<String> contentFields);
+
+    List<StoredEntity> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary, Set<String> contentFields);
 
     List<StoredEntity> findReleasedEntitiesByClassifier(String classifier, boolean summary);
 
@@ -19,6 +19,7 @@ import org.eclipse.collections.api.tuple.Pair;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 
 import java.util.List;
+import java.util.Set;
 
 
 public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesService<T>
@@ -30,6 +31,8 @@ public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesS
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long deleteStale(String groupId, String artifactId, String versionId, Set<String> entityPaths);
+
     void createOrUpdate(List<T> entities);
 
     List<Pair<String, String>> getOrphanedStoredEntities();
@@ -31,6 +31,8 @@ public interface ManageProjectsService extends ProjectsService
 
     StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectData);
 
+    long updateTransitiveDependencies(List<StoreProjectVersionData> projectData);
+
     StoreProjectData createOrUpdate(StoreProjectData projectData);
 
     long delete(String groupId,String artifactId);
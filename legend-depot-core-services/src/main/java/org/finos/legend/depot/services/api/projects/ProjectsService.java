@@ -23,7 +23,10 @@ import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithP
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -56,6 +59,16 @@ public interface ProjectsService
 
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    /**
+     * All the given project versions in a single lookup, no alias resolution and unknown versions are skipped
+     */
+    List<StoreProjectVersionData> find(Collection<ProjectVersion> projectVersions);
+
+    /**
+     * Stamp of the last write of each of the given project versions, no alias resolution and unknown versions are skipped
+     */
+    Map<ProjectVersion, Date> findUpdated(Collection<ProjectVersion> projectVersions);
+
     String resolveAliasesAndCheckVersionExists(String groupId, String artifactId, String versionId);
 
     Optional<StoreProjectData> findCoordinates(String groupId, String artifactId);
@@ -69,6 +82,12 @@ public interface ProjectsService
 
     ProjectDependencyReport getProjectDependencyReport(List<ProjectVersion> projectVersions);
 
+    /**
+     * One report per root set, in the same order, all computed from a single shared walk of the dependency graph.
+     * A set reaching a version that is missing or excluded gets a report carrying only the errors; other sets are unaffected.
+     */
+    List<ProjectDependencyReport> getProjectDependencyReports(List<List<ProjectVersion>> projectVersionSets);
+
     default ProjectDependencyReport getProjectDependencyReport(String groupId, String artifactId, String versionId)
     {
         return getProjectDependencyReport(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)));
@@ -0,0 +1,90 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.coalescing;
+
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent calls with an equal key share a single execution of the supplier and all get its result (or its exception).
+ * The same result instance is handed to every caller, it must not be modified by them
+ */
+public class RequestCoalescer<K, V>
+{
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final String coalescedCounter;
+
+    public RequestCoalescer(String coalescedCounter)
+    {
+        this.coalescedCounter = coalescedCounter;
+    }
+
+    public V execute(K key, Supplier<V> supplier)
+    {
+        CompletableFuture<V> execution = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(coalescedCounter);
+            return await(existing);
+        }
+        try
+        {
+            V result = supplier.get();
+            execution.complete(result);
+            return result;
+        }
+        catch (RuntimeException | Error e)
+        {
+            execution.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    public int inFlight()
+    {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> execution)
+    {
+        try
+        {
+            return execution.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error)
+            {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable dependency graph with project versions interned to int ids and adjacency kept in compressed sparse row arrays:
+ * the dependencies of node i are forwardTargets[forwardOffsets[i] .. forwardOffsets[i + 1]), likewise for dependants.
+ */
+public final class CompactDependencyGraph
+{
+    static final CompactDependencyGraph EMPTY = new CompactDependencyGraph(new ObjectIntHashMap<>(), new ArrayList<>(), new int[]{0}, new int[0], new int[]{0}, new int[0]);
+
+    private static final int NOT_FOUND = -1;
+
+    private final MutableObjectIntMap<String> ids;
+    private final List<ProjectVersion> nodes;
+    private final int[] forwardOffsets;
+    private final int[] forwardTargets;
+    private final int[] reverseOffsets;
+    private final int[] reverseTargets;
+
+    private CompactDependencyGraph(MutableObjectIntMap<String> ids, List<ProjectVersion> nodes, int[] forwardOffsets, int[] forwardTargets, int[] reverseOffsets, int[] reverseTargets)
+    {
+        this.ids = ids;
+        this.nodes = nodes;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardTargets = forwardTargets;
+        this.reverseOffsets = reverseOffsets;
+        this.reverseTargets = reverseTargets;
+    }
+
+    /**
+     * New graph with the direct dependencies of the given versions replaced, every other node keeps its edges.
+     * Only the arrays are rebuilt, nothing is read back from the store
+     */
+    public CompactDependencyGraph withVersions(Collection<StoreProjectVersionData> versions)
+    {
+        MutableObjectIntMap<String> newIds = new ObjectIntHashMap<>(this.ids.size() + versions.size());
+        newIds.putAll(this.ids);
+        List<ProjectVersion> newNodes = new ArrayList<>(this.nodes);
+        Map<Integer, int[]> changed = new HashMap<>();
+        versions.forEach(versionData ->
+        {
+            int id = intern(newIds, newNodes, new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()));
+            List<ProjectVersion> dependencies = versionData.getVersionData().getDependencies();
+            int[] targets = new int[dependencies.size()];
+            for (int i = 0; i < targets.length; i++)
+            {
+                targets[i] = intern(newIds, newNodes, dependencies.get(i));
+            }
+            changed.put(id, targets);
+        });
+
+        int size = newNodes.size();
+        int[] newForwardOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++)
+        {
+            int[] targets = changed.get(node);
+            newForwardOffsets[node + 1] = newForwardOffsets[node] + (targets != null ? targets.length : this.dependencyCount(node));
+        }
+        int[] newForwardTargets = new int[newForwardOffsets[size]];
+        for (int node = 0; node < size; node++)
+        {
+            int[] targets = changed.get(node);
+            if (targets != null)
+            {
+                System.arraycopy(targets, 0, newForwardTargets, newForwardOffsets[node], targets.length);
+            }
+            else if (node < this.nodes.size())
+            {
+                System.arraycopy(this.forwardTargets, this.forwardOffsets[node], newForwardTargets, newForwardOffsets[node], this.dependencyCount(node));
+            }
+        }
+
+        int[] newReverseOffsets = new int[size + 1];
+        for (int target : newForwardTargets)
+        {
+            newReverseOffsets[target + 1]++;
+        }
+        for (int node = 0; node < size; node++)
+        {
+            newReverseOffsets[node + 1] += newReverseOffsets[node];
+        }
+        int[] newReverseTargets = new int[newForwardTargets.length];
+        int[] fill = new int[size];
+        for (int node = 0; node < size; node++)
+        {
+            for (int edge = newForwardOffsets[node]; edge < newForwardOffsets[node + 1]; edge++)
+            {
+                int target = newForwardTargets[edge];
+                newReverseTargets[newReverseOffsets[target] + fill[target]++] = node;
+            }
+        }
+        return new CompactDependencyGraph(newIds, newNodes, newForwardOffsets, newForwardTargets, newReverseOffsets, newReverseTargets);
+    }
+
+    private static int intern(MutableObjectIntMap<String> ids, List<ProjectVersion> nodes, ProjectVersion projectVersion)
+    {
+        return ids.getIfAbsentPut(projectVersion.getGav(), () ->
+        {
+            nodes.add(projectVersion);
+            return nodes.size() - 1;
+        });
+    }
+
+    private int dependencyCount(int node)
+    {
+        return node < this.nodes.size() ? this.forwardOffsets[node + 1] - this.forwardOffsets[node] : 0;
+    }
+
+    public boolean contains(ProjectVersion projectVersion)
+    {
+        return this.ids.containsKey(projectVersion.getGav());
+    }
+
+    /**
+     * Direct or transitive dependencies of the given versions, versions unknown to the graph have none
+     */
+    public List<ProjectVersion> getDependencies(Collection<ProjectVersion> projectVersions, boolean transitive)
+    {
+        return traverse(projectVersions, transitive, this.forwardOffsets, this.forwardTargets);
+    }
+
+    /**
+     * Versions depending directly or transitively on the given versions
+     */
+    public List<ProjectVersion> getDependants(Collection<ProjectVersion> projectVersions, boolean transitive)
+    {
+        return traverse(projectVersions, transitive, this.reverseOffsets, this.reverseTargets);
+    }
+
+    /**
+     * Projects reached with more than one version from the given versions, keyed by groupId:artifactId
+     */
+    public Map<String, List<ProjectVersion>> getConflicts(Collection<ProjectVersion> projectVersions)
+    {
+        Set<ProjectVersion> reachable = new LinkedHashSet<>(getDependencies(projectVersions, true));
+        reachable.addAll(projectVersions);
+        Map<String, List<ProjectVersion>> byProject = new HashMap<>();
+        reachable.forEach(pv -> byProject.computeIfAbsent(pv.getGroupId() + ":" + pv.getArtifactId(), key -> new ArrayList<>()).add(pv));
+        byProject.values().removeIf(versions -> versions.size() < 2);
+        return byProject;
+    }
+
+    private List<ProjectVersion> traverse(Collection<ProjectVersion> start, boolean transitive, int[] offsets, int[] targets)
+    {
+        BitSet visited = new BitSet(this.nodes.size());
+        int[] queue = new int[this.nodes.size()];
+        int head = 0;
+        int tail = 0;
+        for (ProjectVersion projectVersion : start)
+        {
+            int id = this.ids.getIfAbsent(projectVersion.getGav(), NOT_FOUND);
+            if (id == NOT_FOUND)
+            {
+                continue;
+            }
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++)
+            {
+                int target = targets[edge];
+                if (!visited.get(target))
+                {
+                    visited.set(target);
+                    queue[tail++] = target;
+                }
+            }
+        }
+        while (transitive && head < tail)
+        {
+            int node = queue[head++];
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++)
+            {
+                int target = targets[edge];
+                if (!visited.get(target))
+                {
+                    visited.set(target);
+                    queue[tail++] = target;
+                }
+            }
+        }
+        List<ProjectVersion> result = new ArrayList<>(tail);
+        for (int i = 0; i < tail; i++)
+        {
+            result.add(this.nodes.get(queue[i]));
+        }
+        return result;
+    }
+
+    public int getNodeCount()
+    {
+        return this.nodes.size();
+    }
+
+    public int getEdgeCount()
+    {
+        return this.forwardTargets.length;
+    }
+
+    /**
+     * Approximate footprint of the adjacency arrays and the id table, excluding the interned project versions themselves
+     */
+    public long getEstimatedSizeInBytes()
+    {
+        long arrays = 4L * (this.forwardOffsets.length + this.forwardTargets.length + this.reverseOffsets.length + this.reverseTargets.length);
+        long idTable = 16L * this.ids.size() + 8L * this.nodes.size();
+        return arrays + idTable;
+    }
+}
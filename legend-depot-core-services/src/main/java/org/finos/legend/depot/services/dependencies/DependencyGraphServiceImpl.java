@@ -0,0 +1,177 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.dependencies.DependencyGraphService;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Answers dependency queries from a compact in memory graph. The first query builds the graph; a query arriving once it is
+ * older than the refresh interval applies the versions updated since, while concurrent queries answer from the current graph.
+ * Nothing runs while the service is idle.
+ */
+public class DependencyGraphServiceImpl implements DependencyGraphService
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(DependencyGraphServiceImpl.class);
+    public static final String DEPENDENCY_GRAPH_NODES = "dependency_graph_nodes";
+    public static final String DEPENDENCY_GRAPH_EDGES = "dependency_graph_edges";
+    public static final String DEPENDENCY_GRAPH_BYTES = "dependency_graph_bytes";
+    private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final long FULL_REBUILD_INTERVAL = TimeUnit.MINUTES.toMillis(30);
+    private static final long CLOCK_SKEW = TimeUnit.SECONDS.toMillis(30);
+
+    private final ProjectsVersions projectsVersions;
+    private final ProjectsService projects;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CompactDependencyGraph graph = CompactDependencyGraph.EMPTY;
+    private volatile long lastRefresh = 0;
+    private volatile long lastFullRebuild = 0;
+
+    @Inject
+    public DependencyGraphServiceImpl(ProjectsVersions projectsVersions, ProjectsService projects)
+    {
+        this.projectsVersions = projectsVersions;
+        this.projects = projects;
+    }
+
+    @Override
+    public Set<ProjectVersion> getDependencies(List<ProjectVersion> projectVersions, boolean transitive)
+    {
+        CompactDependencyGraph current = currentGraph();
+        return new LinkedHashSet<>(current.getDependencies(resolve(current, projectVersions), transitive));
+    }
+
+    @Override
+    public Set<ProjectVersion> getDependants(ProjectVersion projectVersion, boolean transitive)
+    {
+        CompactDependencyGraph current = currentGraph();
+        return new LinkedHashSet<>(current.getDependants(resolve(current, Collections.singletonList(projectVersion)), transitive));
+    }
+
+    @Override
+    public List<ProjectDependencyReport.ProjectDependencyConflict> getConflicts(List<ProjectVersion> projectVersions)
+    {
+        ProjectDependencyReport report = new ProjectDependencyReport();
+        CompactDependencyGraph current = currentGraph();
+        current.getConflicts(resolve(current, projectVersions)).forEach((project, versions) ->
+                report.addConflict(versions.get(0).getGroupId(), versions.get(0).getArtifactId(), versions.stream().map(ProjectVersion::getGav).collect(Collectors.toSet())));
+        return report.getConflicts();
+    }
+
+    private List<ProjectVersion> resolve(CompactDependencyGraph current, List<ProjectVersion> projectVersions)
+    {
+        return projectVersions.stream().map(pv ->
+        {
+            if (current.contains(pv) && VersionValidator.isValid(pv.getVersionId()))
+            {
+                return pv;
+            }
+            return new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), this.projects.resolveAliasesAndCheckVersionExists(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
+        }).collect(Collectors.toList());
+    }
+
+    private CompactDependencyGraph currentGraph()
+    {
+        if (this.lastRefresh == 0)
+        {
+            this.refreshLock.lock();
+            try
+            {
+                if (this.lastRefresh == 0)
+                {
+                    doRefresh();
+                }
+            }
+            finally
+            {
+                this.refreshLock.unlock();
+            }
+        }
+        else if (isStale() && this.refreshLock.tryLock())
+        {
+            try
+            {
+                if (isStale())
+                {
+                    doRefresh();
+                }
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("dependency graph refresh failed, answering from the previous graph: {}", e.getMessage(), e);
+            }
+            finally
+            {
+                this.refreshLock.unlock();
+            }
+        }
+        return this.graph;
+    }
+
+    private boolean isStale()
+    {
+        return System.currentTimeMillis() - this.lastRefresh > REFRESH_INTERVAL;
+    }
+
+    @Override
+    public void refresh()
+    {
+        this.refreshLock.lock();
+        try
+        {
+            doRefresh();
+        }
+        finally
+        {
+            this.refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh()
+    {
+        long now = System.currentTimeMillis();
+        boolean fullRebuild = now - this.lastFullRebuild > FULL_REBUILD_INTERVAL;
+        List<StoreProjectVersionData> versions = this.projectsVersions.findVersionDependencies(fullRebuild ? 0 : this.lastRefresh - CLOCK_SKEW);
+        CompactDependencyGraph updated = (fullRebuild ? CompactDependencyGraph.EMPTY : this.graph).withVersions(versions);
+        this.graph = updated;
+        this.lastRefresh = now;
+        if (fullRebuild)
+        {
+            this.lastFullRebuild = now;
+        }
+        LOGGER.info("dependency graph {}: [{}] versions applied, [{}] nodes, [{}] edges", fullRebuild ? "rebuilt" : "refreshed", versions.size(), updated.getNodeCount(), updated.getEdgeCount());
+        PrometheusMetricsFactory.getInstance().setGauge(DEPENDENCY_GRAPH_NODES, updated.getNodeCount());
+        PrometheusMetricsFactory.getInstance().setGauge(DEPENDENCY_GRAPH_EDGES, updated.getEdgeCount());
+        PrometheusMetricsFactory.getInstance().setGauge(DEPENDENCY_GRAPH_BYTES, updated.getEstimatedSizeInBytes());
+    }
+}
@@ -15,25 +15,45 @@
 
 package org.finos.legend.depot.services.entities;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.finos.legend.depot.domain.entity.EntitiesBatchResponse;
+import org.finos.legend.depot.domain.entity.EntitiesDelta;
+import org.finos.legend.depot.domain.entity.EntityContentHash;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
 import org.finos.legend.depot.domain.entity.EntityDefinition;
+import org.finos.legend.depot.domain.entity.PackageSummary;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionAlias;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.coalescing.RequestCoalescer;
 import org.finos.legend.depot.store.api.entities.Entities;
 import org.finos.legend.depot.tracing.services.TracerFactory;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -42,9 +62,17 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntitiesServiceImpl.class);
     public static final String CALCULATE_PROJECT_DEPENDENCIES = "calculateProjectDependencies";
     public static final String RETRIEVE_DEPENDENCY_ENTITIES = "retrieveDependencyEntities";
+    public static final int MAX_BATCH_ENTITY_PATHS = 1000;
+    private static final int PACKAGE_INDEX_CACHE_SIZE = 500;
+    private static final int PACKAGE_INDEX_CACHE_EXPIRY_MINUTES = 60;
+    public static final String DEPENDENCIES_ENTITIES_COALESCED = "dependencies_entities_coalesced";
     private final Entities entities;
     protected final ProjectsService projects;
-
+    private final Cache<ProjectVersion, CachedPackageIndex> packageIndexes = CacheBuilder.newBuilder()
+            .maximumSize(PACKAGE_INDEX_CACHE_SIZE)
+            .expireAfterWrite(PACKAGE_INDEX_CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+            .build();
+    private final RequestCoalescer<List<Object>, List<ProjectVersionEntities>> dependenciesEntitiesRequests = new RequestCoalescer<>(DEPENDENCIES_ENTITIES_COALESCED);
 
     @Inject
     public EntitiesServiceImpl(Entities entities, ProjectsService projects)
@@ -54,28 +82,152 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     }
 
     @Override
-    public List<Entity> getEntities(String groupId, String artifactId, String versionId)
+    public List<Entity> getEntities(String groupId, String artifactId, String versionId, Set<String> contentFields)
     {
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        return entities.getAllEntities(groupId, artifactId, version);
+        return entities.getAllEntities(groupId, artifactId, version, contentFields);
+    }
+
+    @Override
+    public EntitiesPage<Entity> getEntitiesPage(String groupId, String artifactId, String versionId, String cursor, int limit, Set<String> contentFields)
+    {
+        EntityCursor.validateLimit(limit);
+        EntityCursor after = EntityCursor.decode(cursor);
+        String version;
+        if (after == null)
+        {
+            version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        }
+        else
+        {
+            ProjectVersion cursorVersion = after.getProjectVersion();
+            if (!groupId.equals(cursorVersion.getGroupId()) || !artifactId.equals(cursorVersion.getArtifactId())
+                    || (!isVersionAlias(versionId) && !versionId.equals(cursorVersion.getVersionId())))
+            {
+                throw new IllegalArgumentException(String.format("cursor [%s] does not belong to %s-%s-%s", cursor, groupId, artifactId, versionId));
+            }
+            version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, cursorVersion.getVersionId());
+        }
+        List<Entity> page = entities.getEntitiesPage(groupId, artifactId, version, after == null ? null : after.getEntityPath(), limit, contentFields);
+        if (page.size() < limit)
+        {
+            return new EntitiesPage<>(page, null);
+        }
+        return new EntitiesPage<>(page, new EntityCursor(0, new ProjectVersion(groupId, artifactId, version), page.get(page.size() - 1).getPath()).encode());
     }
 
     @Override
-    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath)
+    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath, Set<String> contentFields)
     {
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        return entities.getEntity(groupId, artifactId, version, entityPath);
+        return entities.getEntity(groupId, artifactId, version, entityPath, contentFields);
     }
 
     @Override
-    public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    public EntitiesBatchResponse getEntities(String groupId, String artifactId, String versionId, List<String> entityPaths)
     {
+        if (entityPaths == null || entityPaths.isEmpty())
+        {
+            throw new IllegalArgumentException("at least one entity path must be provided");
+        }
+        List<String> paths = entityPaths.stream().distinct().collect(Collectors.toList());
+        if (paths.size() > MAX_BATCH_ENTITY_PATHS)
+        {
+            throw new IllegalArgumentException(String.format("too many entity paths requested [%s], maximum is [%s]", paths.size(), MAX_BATCH_ENTITY_PATHS));
+        }
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        return entities.getEntitiesByPackage(groupId, artifactId, version, packageName, classifierPaths, includeSubPackages);
+        List<Entity> found = entities.getEntities(groupId, artifactId, version, paths);
+        Set<String> foundPaths = found.stream().map(Entity::getPath).collect(Collectors.toSet());
+        List<String> missingPaths = paths.stream().filter(path -> !foundPaths.contains(path)).collect(Collectors.toList());
+        return new EntitiesBatchResponse(found.stream().map(entity -> (EntityDefinition) entity).collect(Collectors.toList()), missingPaths);
+    }
+
+    @Override
+    public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Set<String> contentFields)
+    {
+        String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        if (VersionValidator.isSnapshotVersion(version))
+        {
+            return entities.getEntitiesByPackage(groupId, artifactId, version, packageName, classifierPaths, includeSubPackages, contentFields);
+        }
+        EntityPackageIndex packageIndex = getPackageIndex(groupId, artifactId, version);
+        List<String> paths = packageIndex.getEntityPaths(packageName, classifierPaths, includeSubPackages);
+        if (paths.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return paths.size() == packageIndex.size() ? entities.getAllEntities(groupId, artifactId, version, contentFields) : entities.getEntities(groupId, artifactId, version, paths, contentFields);
+    }
+
+    @Override
+    public EntitiesDelta getEntitiesDelta(String groupId, String artifactId, String fromVersionId, String toVersionId)
+    {
+        if (fromVersionId == null)
+        {
+            throw new IllegalArgumentException("version to compute the delta from must be provided");
+        }
+        String fromVersion = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, fromVersionId);
+        String toVersion = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, toVersionId);
+        Map<String, String> fromHashes = entities.getEntityContentHashes(groupId, artifactId, fromVersion);
+        Map<String, String> toHashes = entities.getEntityContentHashes(groupId, artifactId, toVersion);
+
+        List<String> removed = fromHashes.keySet().stream().filter(path -> !toHashes.containsKey(path)).sorted().collect(Collectors.toList());
+        Set<String> added = toHashes.keySet().stream().filter(path -> !fromHashes.containsKey(path)).collect(Collectors.toSet());
+        Set<String> changed = toHashes.keySet().stream().filter(path -> fromHashes.containsKey(path) && fromHashes.get(path) != null && toHashes.get(path) != null && !fromHashes.get(path).equals(toHashes.get(path))).collect(Collectors.toCollection(HashSet::new));
+        Set<String> unhashed = toHashes.keySet().stream().filter(path -> fromHashes.containsKey(path) && (fromHashes.get(path) == null || toHashes.get(path) == null)).collect(Collectors.toSet());
+
+        List<String> toLoad = new ArrayList<>(added);
+        toLoad.addAll(changed);
+        toLoad.addAll(unhashed);
+        List<Entity> loaded = toLoad.isEmpty() ? Collections.emptyList() : entities.getEntities(groupId, artifactId, toVersion, toLoad);
+        if (!unhashed.isEmpty())
+        {
+            Map<String, String> previousHashes = ((List<Entity>) entities.getEntities(groupId, artifactId, fromVersion, new ArrayList<>(unhashed))).stream().collect(Collectors.toMap(Entity::getPath, EntityContentHash::hash));
+            loaded.stream().filter(entity -> unhashed.contains(entity.getPath()) && !Objects.equals(previousHashes.get(entity.getPath()), EntityContentHash.hash(entity))).forEach(entity -> changed.add(entity.getPath()));
+        }
+        List<EntityDefinition> addedEntities = loaded.stream().filter(entity -> added.contains(entity.getPath())).sorted(Comparator.comparing(Entity::getPath)).map(entity -> (EntityDefinition) entity).collect(Collectors.toList());
+        List<EntityDefinition> changedEntities = loaded.stream().filter(entity -> changed.contains(entity.getPath())).sorted(Comparator.comparing(Entity::getPath)).map(entity -> (EntityDefinition) entity).collect(Collectors.toList());
+        return new EntitiesDelta(fromVersion, toVersion, addedEntities, changedEntities, removed);
+    }
+
+    @Override
+    public List<PackageSummary> getPackages(String groupId, String artifactId, String versionId, String packageName)
+    {
+        String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        return getPackageIndex(groupId, artifactId, version).getChildPackages(packageName);
+    }
+
+    private EntityPackageIndex getPackageIndex(String groupId, String artifactId, String version)
+    {
+        if (VersionValidator.isSnapshotVersion(version))
+        {
+            return EntityPackageIndex.build(entities.getStoredEntitiesSummary(groupId, artifactId, version));
+        }
+        ProjectVersion key = new ProjectVersion(groupId, artifactId, version);
+        Date lastUpdated = this.projects.findUpdated(Collections.singletonList(key)).get(key);
+        CachedPackageIndex cached = packageIndexes.getIfPresent(key);
+        if (cached != null && Objects.equals(cached.lastUpdated, lastUpdated))
+        {
+            return cached.index;
+        }
+        EntityPackageIndex index = EntityPackageIndex.build(entities.getStoredEntitiesSummary(groupId, artifactId, version));
+        packageIndexes.put(key, new CachedPackageIndex(index, lastUpdated));
+        return index;
     }
 
     @Override
     public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin)
+    {
+        return dependenciesEntitiesRequests.execute(Arrays.asList(new ArrayList<>(projectDependencies), transitive, includeOrigin), () ->
+        {
+            MutableList<ProjectVersionEntities> depEntities = FastList.<ProjectVersionEntities>newList().asSynchronized();
+            streamDependenciesEntities(projectDependencies, transitive, includeOrigin, depEntities::add);
+            return depEntities;
+        });
+    }
+
+    @Override
+    public void streamDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin, Consumer<ProjectVersionEntities> consumer)
     {
         Set<ProjectVersion> dependencies = (Set<ProjectVersion>) executeWithTrace(CALCULATE_PROJECT_DEPENDENCIES, () ->
         {
@@ -88,25 +240,41 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         });
         TracerFactory.get().log(String.format("dependencies: [%s] ",dependencies.size()));
         LOGGER.info("finished calculating [{}] dependencies",dependencies.size());
-        return  (List<ProjectVersionEntities>) executeWithTrace(RETRIEVE_DEPENDENCY_ENTITIES, () ->
+        executeWithTrace(RETRIEVE_DEPENDENCY_ENTITIES, () ->
         {
-            MutableList<ProjectVersionEntities> depEntities = FastList.newList();
             final AtomicInteger totalEntities = new AtomicInteger();
             ParallelIterate.forEach(dependencies, dep ->
             {
                 String version = this.projects.resolveAliasesAndCheckVersionExists(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
                 List<EntityDefinition> deps = (List<EntityDefinition>) entities.getStoredEntities(dep.getGroupId(), dep.getArtifactId(), version).stream().map(entity -> ((StoredEntity) entity).getEntity()).collect(Collectors.toList());
-                depEntities.add(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), version, deps));
+                consumer.accept(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), version, deps));
                 totalEntities.addAndGet(deps.size());
                 TracerFactory.get().log(String.format("Total [%s-%s-%s]: [%s] entities",dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(),deps.size()));
             });
-            TracerFactory.get().log(String.format("Total [%s]: [%s] entities",depEntities.size(),totalEntities));
-            return depEntities;
+            TracerFactory.get().log(String.format("Total [%s]: [%s] entities",dependencies.size(),totalEntities));
+            return dependencies.size();
         });
     }
 
+    private static boolean isVersionAlias(String versionId)
+    {
+        return VersionAlias.LATEST.getName().equals(versionId) || VersionAlias.HEAD.getName().equals(versionId);
+    }
+
     private Object executeWithTrace(String label, Supplier<Object> functionToExecute)
     {
         return TracerFactory.get().executeWithTrace(label, () -> functionToExecute.get());
     }
+
+    private static class CachedPackageIndex
+    {
+        private final EntityPackageIndex index;
+        private final Date lastUpdated;
+
+        private CachedPackageIndex(EntityPackageIndex index, Date lastUpdated)
+        {
+            this.index = index;
+            this.lastUpdated = lastUpdated;
+        }
+    }
 }
@@ -16,7 +16,9 @@
 package org.finos.legend.depot.services.entities;
 
 import org.eclipse.collections.impl.utility.ListIterate;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
 import org.finos.legend.depot.domain.entity.StoredEntity;
+import org.finos.legend.depot.domain.entity.StoredEntityOverview;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
@@ -29,11 +31,13 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class EntityClassifierServiceImpl implements EntityClassifierService
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntityClassifierServiceImpl.class);
+    private static final int PROJECTS_PAGE_SIZE = 100;
     private final Entities entities;
     private final ProjectsService projects;
 
@@ -54,26 +58,25 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
     }
 
     @Override
-    public List<StoredEntity> getEntitiesByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, boolean summary)
+    public List<StoredEntity> getEntitiesByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, boolean summary, Set<String> contentFields)
     {
         if (Scope.SNAPSHOT.equals(scope))
         {
-            return this.findLatestEntitiesByClassifier(classifierPath, search, limit, summary);
+            return this.findLatestEntitiesByClassifier(classifierPath, search, limit, summary, contentFields);
         }
         List<StoredEntity> result = new ArrayList<>();
-        int PAGE_SIZE = 100;
         int currentPage = 1;
-        List<ProjectVersion> projectVersions = this.getProjectsInfo(currentPage, PAGE_SIZE);
+        List<ProjectVersion> projectVersions = this.getProjectsInfo(currentPage, PROJECTS_PAGE_SIZE);
         while (!projectVersions.isEmpty())
         {
-            List<StoredEntity> entities = this.findReleasedEntitiesByClassifier(classifierPath, search, projectVersions, limit, summary);
+            List<StoredEntity> entities = this.findReleasedEntitiesByClassifier(classifierPath, search, projectVersions, limit, summary, contentFields);
             result.addAll(entities);
             if (limit != null && result.size() >= limit)
             {
                 break;
             }
             currentPage++;
-            projectVersions = this.getProjectsInfo(currentPage, PAGE_SIZE);
+            projectVersions = this.getProjectsInfo(currentPage, PROJECTS_PAGE_SIZE);
         }
         if (limit != null)
         {
@@ -83,15 +86,55 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
     }
 
     @Override
-    public List<StoredEntity> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary)
+    public EntitiesPage<StoredEntity> getEntitiesByClassifierPathPage(String classifierPath, String search, String cursor, int limit, Scope scope, boolean summary, Set<String> contentFields)
     {
-        return entities.findReleasedEntitiesByClassifier(classifier, search, projectVersions, limit, summary);
+        EntityCursor.validateLimit(limit);
+        EntityCursor after = EntityCursor.decode(cursor);
+        ProjectVersion afterVersion = after == null ? null : after.getProjectVersion();
+        String afterPath = after == null ? null : after.getEntityPath();
+        if (Scope.SNAPSHOT.equals(scope))
+        {
+            return toPage(entities.findLatestEntitiesByClassifier(classifierPath, search, afterVersion, afterPath, limit, summary, contentFields), 0, limit);
+        }
+        List<StoredEntity> result = new ArrayList<>();
+        int currentPage = after == null ? 1 : after.getPage();
+        List<ProjectVersion> projectVersions = this.getProjectsInfo(currentPage, PROJECTS_PAGE_SIZE);
+        while (!projectVersions.isEmpty())
+        {
+            result.addAll(entities.findReleasedEntitiesByClassifier(classifierPath, search, projectVersions, afterVersion, afterPath, limit - result.size(), summary, contentFields));
+            if (result.size() >= limit)
+            {
+                return toPage(result, currentPage, limit);
+            }
+            afterVersion = null;
+            afterPath = null;
+            currentPage++;
+            projectVersions = this.getProjectsInfo(currentPage, PROJECTS_PAGE_SIZE);
+        }
+        return new EntitiesPage<>(result, null);
+    }
+
+    private EntitiesPage<StoredEntity> toPage(List<StoredEntity> result, int page, int limit)
+    {
+        if (result.size() < limit)
+        {
+            return new EntitiesPage<>(result, null);
+        }
+        StoredEntity last = result.get(result.size() - 1);
+        String lastPath = last instanceof StoredEntityOverview ? ((StoredEntityOverview) last).getPath() : last.getEntity().getPath();
+        return new EntitiesPage<>(result, new EntityCursor(page, new ProjectVersion(last.getGroupId(), last.getArtifactId(), last.getVersionId()), lastPath).encode());
+    }
+
+    @Override
+    public List<StoredEntity> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary, Set<String> contentFields)
+    {
+        return entities.findReleasedEntitiesByClassifier(classifier, search, projectVersions, limit, summary, contentFields);
     }
 
     @Override
-    public List<StoredEntity> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary)
+    public List<StoredEntity> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary, Set<String> contentFields)
     {
-        return entities.findLatestEntitiesByClassifier(classifier, search, limit, summary);
+        return entities.findLatestEntitiesByClassifier(classifier, search, limit, summary, contentFields);
     }
 
     @Override
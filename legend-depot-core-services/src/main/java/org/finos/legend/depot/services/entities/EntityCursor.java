@@ -0,0 +1,89 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.entities;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class EntityCursor
+{
+    public static final int MAX_LIMIT = 1000;
+    private static final String SEPARATOR = "\n";
+    private static final int FIELDS = 5;
+
+    private final int page;
+    private final ProjectVersion projectVersion;
+    private final String entityPath;
+
+    public EntityCursor(int page, ProjectVersion projectVersion, String entityPath)
+    {
+        this.page = page;
+        this.projectVersion = projectVersion;
+        this.entityPath = entityPath;
+    }
+
+    public static void validateLimit(int limit)
+    {
+        if (limit <= 0 || limit > MAX_LIMIT)
+        {
+            throw new IllegalArgumentException(String.format("invalid limit [%s], must be between 1 and %s", limit, MAX_LIMIT));
+        }
+    }
+
+    public static EntityCursor decode(String cursor)
+    {
+        if (cursor == null || cursor.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            String[] fields = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (fields.length != FIELDS)
+            {
+                throw new IllegalArgumentException(String.format("invalid cursor [%s]", cursor));
+            }
+            return new EntityCursor(Integer.parseInt(fields[0]), new ProjectVersion(fields[1], fields[2], fields[3]), fields[4]);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException(String.format("invalid cursor [%s]", cursor), e);
+        }
+    }
+
+    public String encode()
+    {
+        String value = String.join(SEPARATOR, String.valueOf(page), projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), entityPath);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getPage()
+    {
+        return page;
+    }
+
+    public ProjectVersion getProjectVersion()
+    {
+        return projectVersion;
+    }
+
+    public String getEntityPath()
+    {
+        return entityPath;
+    }
+}
@@ -0,0 +1,141 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.entities;
+
+import org.finos.legend.depot.domain.entity.PackageSummary;
+import org.finos.legend.depot.domain.entity.StoredEntityOverview;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public final class EntityPackageIndex
+{
+    public static final String PACKAGE_SEPARATOR = "::";
+    private final PackageNode root = new PackageNode("");
+
+    private EntityPackageIndex()
+    {
+    }
+
+    public static EntityPackageIndex build(List<StoredEntityOverview> entities)
+    {
+        EntityPackageIndex index = new EntityPackageIndex();
+        entities.forEach(entity -> index.add(entity.getPath(), entity.getClassifierPath()));
+        return index;
+    }
+
+    private void add(String path, String classifierPath)
+    {
+        int nameStart = path.lastIndexOf(PACKAGE_SEPARATOR);
+        PackageNode node = root;
+        node.totalEntities++;
+        if (nameStart > 0)
+        {
+            for (String name : path.substring(0, nameStart).split(PACKAGE_SEPARATOR))
+            {
+                String packageName = node == root ? name : node.packageName + PACKAGE_SEPARATOR + name;
+                node = node.children.computeIfAbsent(name, k -> new PackageNode(packageName));
+                node.totalEntities++;
+            }
+        }
+        node.entitiesByClassifier.computeIfAbsent(classifierPath, k -> new ArrayList<>()).add(path);
+    }
+
+    private PackageNode findPackage(String packageName)
+    {
+        if (packageName == null || packageName.isEmpty())
+        {
+            return root;
+        }
+        PackageNode node = root;
+        for (String name : packageName.split(PACKAGE_SEPARATOR))
+        {
+            node = node.children.get(name);
+            if (node == null)
+            {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    public int size()
+    {
+        return root.totalEntities;
+    }
+
+    public List<String> getEntityPaths(String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    {
+        PackageNode node = findPackage(packageName);
+        if (node == null)
+        {
+            return Collections.emptyList();
+        }
+        List<String> paths = new ArrayList<>();
+        collectEntityPaths(node, classifierPaths, includeSubPackages, paths);
+        return paths;
+    }
+
+    private void collectEntityPaths(PackageNode node, Set<String> classifierPaths, boolean includeSubPackages, List<String> paths)
+    {
+        if (classifierPaths == null || classifierPaths.isEmpty())
+        {
+            node.entitiesByClassifier.values().forEach(paths::addAll);
+        }
+        else
+        {
+            classifierPaths.forEach(classifier -> paths.addAll(node.entitiesByClassifier.getOrDefault(classifier, Collections.emptyList())));
+        }
+        if (includeSubPackages)
+        {
+            node.children.values().forEach(child -> collectEntityPaths(child, classifierPaths, true, paths));
+        }
+    }
+
+    public List<PackageSummary> getChildPackages(String packageName)
+    {
+        PackageNode node = findPackage(packageName);
+        if (node == null)
+        {
+            return Collections.emptyList();
+        }
+        return node.children.values().stream().map(child -> new PackageSummary(child.packageName, child.getEntitiesCount(), child.totalEntities)).collect(Collectors.toList());
+    }
+
+    private static final class PackageNode
+    {
+        private final String packageName;
+        private final Map<String, PackageNode> children = new TreeMap<>();
+        private final Map<String, List<String>> entitiesByClassifier = new HashMap<>();
+        private int totalEntities;
+
+        private PackageNode(String packageName)
+        {
+            this.packageName = packageName;
+        }
+
+        private int getEntitiesCount()
+        {
+            return entitiesByClassifier.values().stream().mapToInt(List::size).sum();
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.finos.legend.depot.store.api.entities.UpdateEntities;
 
 import javax.inject.Inject;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesServiceImpl<T> implements ManageEntitiesService<T>
@@ -51,6 +52,13 @@ public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesS
         return entities.delete(groupId, artifactId, versionId);
     }
 
+    @Override
+    public long deleteStale(String groupId, String artifactId, String versionId, Set<String> entityPaths)
+    {
+        this.projects.checkExists(groupId, artifactId);
+        return entities.deleteStale(groupId, artifactId, versionId, entityPaths);
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
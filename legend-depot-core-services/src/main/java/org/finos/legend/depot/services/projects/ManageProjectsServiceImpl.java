@@ -56,6 +56,12 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
         return projectsVersions.createOrUpdate(projectData);
     }
 
+    @Override
+    public long updateTransitiveDependencies(List<StoreProjectVersionData> projectData)
+    {
+        return projectsVersions.updateTransitiveDependencies(projectData);
+    }
+
     @Override
     public StoreProjectData createOrUpdate(StoreProjectData projectData)
     {
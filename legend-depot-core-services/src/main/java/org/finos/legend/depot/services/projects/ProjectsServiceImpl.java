@@ -37,19 +37,26 @@ import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.metrics.api.QueryMetricsRegistry;
 import org.finos.legend.depot.store.notifications.queue.api.Queue;
+import org.finos.legend.depot.tracing.services.TracerFactory;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Collections;
 import java.util.List;
 import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,6 +77,9 @@ public class ProjectsServiceImpl implements ProjectsService
 
     private static final String EXCLUSION_FOUND_IN_STORE = "project version not found for %s-%s-%s, exclusion reason: %s";
     private static final String NOT_FOUND_IN_STORE = "project version not found for %s-%s-%s";
+    private static final String DEPENDENCY_TREE_GRAPH = "dependency_tree_graph";
+    private static final String DEPENDENCY_TREE_REPORT = "dependency_tree_report";
+    private static final int MAX_DEPENDENCY_ROOT_SETS = 100;
 
     @Inject
     public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -166,6 +176,18 @@ public class ProjectsServiceImpl implements ProjectsService
         return projectsVersions.find(groupId, artifactId, versionId);
     }
 
+    @Override
+    public List<StoreProjectVersionData> find(Collection<ProjectVersion> projectVersions)
+    {
+        return projectsVersions.find(projectVersions);
+    }
+
+    @Override
+    public Map<ProjectVersion, Date> findUpdated(Collection<ProjectVersion> projectVersions)
+    {
+        return projectsVersions.findUpdated(projectVersions);
+    }
+
     private void restoreEvictedProjectVersion(String groupId, String artifactId, String versionId)
     {
         StoreProjectData projectData = this.findCoordinates(groupId, artifactId).get();
@@ -241,33 +263,213 @@ public class ProjectsServiceImpl implements ProjectsService
 
     public void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context)
     {
-        children.forEach(projectVersion ->
+        buildDependencyGraph(graph, parent, children, context, null);
+    }
+
+    /**
+     * Walks the graph level by level. Versions that cannot be resolved fail the walk, unless invalidVersions is given,
+     * in which case they are recorded there with the reason and kept in the graph as leaves.
+     */
+    private void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context, Map<ProjectVersion, String> invalidVersions)
+    {
+        List<ProjectVersion> level = new ArrayList<>();
+        children.forEach(projectVersion -> addNode(graph, projectVersion, parent, context, level));
+        Set<ProjectVersion> prefetch = new HashSet<>();
+        int depth = 0;
+        while (!level.isEmpty())
+        {
+            int fetched = loadProjectData(level, prefetch, context, invalidVersions);
+            TracerFactory.get().log(String.format("dependency tree level [%s]: [%s] versions, [%s] fetched", depth++, level.size(), fetched));
+            List<ProjectVersion> nextLevel = new ArrayList<>();
+            level.forEach(projectVersion -> context.getProjectVersionToDependencyMap().get(projectVersion).forEach(child ->
+            {
+                graph.setEdges(projectVersion, child);
+                addNode(graph, child, projectVersion, context, nextLevel);
+            }));
+            level.clear();
+            level.addAll(nextLevel);
+        }
+    }
+
+    private void addNode(ProjectDependencyGraph graph, ProjectVersion projectVersion, ProjectVersion parent, ProjectDependencyGraphWalkerContext context, List<ProjectVersion> level)
+    {
+        if (!graph.hasNode(projectVersion))
+        {
+            graph.addNode(projectVersion, parent);
+            context.addVersionToProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion);
+            level.add(projectVersion);
+        }
+    }
+
+    private int loadProjectData(List<ProjectVersion> level, Set<ProjectVersion> prefetch, ProjectDependencyGraphWalkerContext context, Map<ProjectVersion, String> invalidVersions)
+    {
+        List<ProjectVersion> missing = level.stream().filter(pv -> !context.getProjectVersionToDependencyMap().containsKey(pv)).collect(Collectors.toList());
+        Set<ProjectVersion> toFetch = new HashSet<>();
+        missing.forEach(projectVersion ->
         {
-            if (!graph.hasNode(projectVersion))
+            if (isVersionAlias(projectVersion.getVersionId()))
             {
-                graph.addNode(projectVersion, parent);
-                context.addVersionToProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion);
-                if (!context.getProjectVersionToDependencyMap().containsKey(projectVersion))
+                try
                 {
-                    StoreProjectVersionData projectData =  context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
+                    context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
                 }
-                List<ProjectVersion> dependencies = context.getProjectVersionToDependencyMap().get(projectVersion);
-                dependencies.forEach(child -> graph.setEdges(projectVersion, child));
-                buildDependencyGraph(graph, projectVersion, dependencies, context);
+                catch (IllegalArgumentException e)
+                {
+                    if (invalidVersions == null)
+                    {
+                        throw e;
+                    }
+                    invalidVersions.put(projectVersion, e.getMessage());
+                }
+            }
+            else if (context.getProjectData(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()) == null)
+            {
+                toFetch.add(projectVersion);
+            }
+        });
+        int fetched = 0;
+        if (!toFetch.isEmpty())
+        {
+            prefetch.stream().filter(pv -> context.getProjectData(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()) == null).forEach(toFetch::add);
+            prefetch.clear();
+            List<StoreProjectVersionData> versions = projectsVersions.find(toFetch);
+            fetched = versions.size();
+            versions.forEach(versionData ->
+            {
+                context.getProjectDataPutIfAbsent(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), () -> versionData);
+                if (versionData.getTransitiveDependenciesReport().isValid())
+                {
+                    prefetch.addAll(versionData.getTransitiveDependenciesReport().getTransitiveDependencies());
+                }
+            });
+        }
+        missing.forEach(projectVersion ->
+        {
+            StoreProjectVersionData projectData = context.getProjectData(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+            String error = null;
+            if (projectData == null)
+            {
+                error = String.format(NOT_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
             }
+            else if (projectData.getVersionData().isExcluded())
+            {
+                error = String.format(EXCLUSION_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), projectData.getVersionData().getExclusionReason());
+            }
+            if (error != null)
+            {
+                if (invalidVersions == null)
+                {
+                    throw new IllegalArgumentException(error);
+                }
+                invalidVersions.putIfAbsent(projectVersion, error);
+                context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, Collections.emptyList());
+                return;
+            }
+            context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
         });
+        return fetched;
+    }
+
+    private boolean isVersionAlias(String versionId)
+    {
+        return VersionAlias.LATEST.getName().equals(versionId) || VersionAlias.HEAD.getName().equals(versionId);
     }
 
     public ProjectDependencyReport getProjectDependencyReport(List<ProjectVersion> projectDependencyVersions)
     {
+        long start = System.currentTimeMillis();
         ProjectDependencyGraph graph = new ProjectDependencyGraph();
         ProjectDependencyGraphWalkerContext  graphWalkerContext =  new ProjectDependencyGraphWalkerContext();
         buildDependencyGraph(graph, null, projectDependencyVersions, graphWalkerContext);
-        return buildReportFromGraph(graph,graphWalkerContext);
+        long graphBuilt = System.currentTimeMillis();
+        ProjectDependencyReport report = buildReportFromGraph(graph,graphWalkerContext);
+        long end = System.currentTimeMillis();
+        PrometheusMetricsFactory.getInstance().observe(DEPENDENCY_TREE_GRAPH, start, graphBuilt);
+        PrometheusMetricsFactory.getInstance().observe(DEPENDENCY_TREE_REPORT, graphBuilt, end);
+        TracerFactory.get().log(String.format("dependency tree: [%s] versions, graph [%s] ms, report [%s] ms", graph.getNodes().size(), graphBuilt - start, end - graphBuilt));
+        return report;
+    }
+
+    @Override
+    public List<ProjectDependencyReport> getProjectDependencyReports(List<List<ProjectVersion>> projectDependencyVersionSets)
+    {
+        if (projectDependencyVersionSets == null || projectDependencyVersionSets.size() > MAX_DEPENDENCY_ROOT_SETS)
+        {
+            throw new IllegalArgumentException(String.format("between 0 and %s sets of project versions are required", MAX_DEPENDENCY_ROOT_SETS));
+        }
+        long start = System.currentTimeMillis();
+        ProjectDependencyGraph graph = new ProjectDependencyGraph();
+        ProjectDependencyGraphWalkerContext graphWalkerContext = new ProjectDependencyGraphWalkerContext();
+        Map<ProjectVersion, String> invalidVersions = new HashMap<>();
+        buildDependencyGraph(graph, null, projectDependencyVersionSets.stream().flatMap(List::stream).distinct().collect(Collectors.toList()), graphWalkerContext, invalidVersions);
+        long graphBuilt = System.currentTimeMillis();
+        Map<String, String> projectIds = getProjectIds(graph, graphWalkerContext);
+        List<ProjectDependencyReport> reports = projectDependencyVersionSets.stream().map(roots ->
+        {
+            ProjectDependencyGraphWalkerContext rootsContext = new ProjectDependencyGraphWalkerContext();
+            ProjectDependencyGraph subGraph = getSubGraph(graph, roots, graphWalkerContext, rootsContext);
+            List<String> errors = subGraph.getNodes().stream().map(invalidVersions::get).filter(Objects::nonNull).sorted().collect(Collectors.toList());
+            if (!errors.isEmpty())
+            {
+                ProjectDependencyReport report = new ProjectDependencyReport();
+                errors.forEach(report::addError);
+                return report;
+            }
+            return buildReportFromGraph(subGraph, rootsContext, projectIds);
+        }).collect(Collectors.toList());
+        long end = System.currentTimeMillis();
+        PrometheusMetricsFactory.getInstance().observe(DEPENDENCY_TREE_GRAPH, start, graphBuilt);
+        PrometheusMetricsFactory.getInstance().observe(DEPENDENCY_TREE_REPORT, graphBuilt, end);
+        TracerFactory.get().log(String.format("dependency trees: [%s] root sets, [%s] versions, graph [%s] ms, reports [%s] ms", projectDependencyVersionSets.size(), graph.getNodes().size(), graphBuilt - start, end - graphBuilt));
+        return reports;
+    }
+
+    private ProjectDependencyGraph getSubGraph(ProjectDependencyGraph graph, List<ProjectVersion> roots, ProjectDependencyGraphWalkerContext graphWalkerContext, ProjectDependencyGraphWalkerContext rootsContext)
+    {
+        ProjectDependencyGraph subGraph = new ProjectDependencyGraph();
+        Deque<ProjectVersion> toVisit = new ArrayDeque<>();
+        roots.forEach(root -> addSubGraphNode(subGraph, root, null, toVisit));
+        while (!toVisit.isEmpty())
+        {
+            ProjectVersion projectVersion = toVisit.poll();
+            rootsContext.addVersionToProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion);
+            StoreProjectVersionData projectData = graphWalkerContext.getProjectData(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+            if (projectData != null)
+            {
+                rootsContext.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> projectData);
+            }
+            graph.getForwardEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(child ->
+            {
+                subGraph.setEdges(projectVersion, child);
+                addSubGraphNode(subGraph, child, projectVersion, toVisit);
+            });
+        }
+        return subGraph;
+    }
+
+    private void addSubGraphNode(ProjectDependencyGraph subGraph, ProjectVersion projectVersion, ProjectVersion parent, Deque<ProjectVersion> toVisit)
+    {
+        if (!subGraph.hasNode(projectVersion))
+        {
+            subGraph.addNode(projectVersion, parent);
+            toVisit.add(projectVersion);
+        }
+    }
+
+    private Map<String, String> getProjectIds(ProjectDependencyGraph dependencyGraph, ProjectDependencyGraphWalkerContext graphWalkerContext)
+    {
+        List<StoreProjectVersionData> nodesData = dependencyGraph.getNodes().stream().map(pv -> graphWalkerContext.getProjectData(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).filter(Objects::nonNull).collect(Collectors.toList());
+        Map<String, String> projectIds = new HashMap<>();
+        this.projects.find(nodesData).forEach(project -> projectIds.put(project.getGroupId() + ":" + project.getArtifactId(), project.getProjectId()));
+        return projectIds;
     }
 
     public ProjectDependencyReport buildReportFromGraph(ProjectDependencyGraph dependencyGraph, ProjectDependencyGraphWalkerContext graphWalkerContext)
+    {
+        return buildReportFromGraph(dependencyGraph, graphWalkerContext, getProjectIds(dependencyGraph, graphWalkerContext));
+    }
+
+    private ProjectDependencyReport buildReportFromGraph(ProjectDependencyGraph dependencyGraph, ProjectDependencyGraphWalkerContext graphWalkerContext, Map<String, String> projectIds)
     {
         ProjectDependencyReport report = new ProjectDependencyReport();
         ProjectDependencyReport.SerializedGraph graph = report.getGraph();
@@ -280,8 +482,7 @@ public class ProjectsServiceImpl implements ProjectsService
             StoreProjectVersionData projectData = graphWalkerContext.getProjectData(versionNode.getGroupId(), versionNode.getArtifactId(), versionNode.getVersionId());
             if (projectData != null)
             {
-                StoreProjectData projectCoordinates = this.projects.find(projectData.getGroupId(), projectData.getArtifactId()).get();
-                versionNode.setProjectId(projectCoordinates.getProjectId());
+                versionNode.setProjectId(projectIds.get(projectData.getGroupId() + ":" + projectData.getArtifactId()));
             }
             // forward edges
             dependencyGraph.getForwardEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
@@ -307,31 +508,14 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public List<ProjectDependencyWithPlatformVersions> getDependantProjects(String groupId, String artifactId, String versionId, boolean latestOnly)
     {
-        ConcurrentLinkedQueue<ProjectDependencyWithPlatformVersions> result = new ConcurrentLinkedQueue<>();
-        if (versionId.equalsIgnoreCase("ALL"))
+        String version = versionId.equalsIgnoreCase("ALL") ? null : this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        List<ProjectDependencyWithPlatformVersions> result = new ArrayList<>();
+        projectsVersions.findDependants(groupId, artifactId, version).forEach(projectData ->
         {
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
-            {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
-                   dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
-            });
-        }
-        else
-        {
-            String version =  this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
-            {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
-            });
-        }
-        return latestOnly ? filterProjectByLatest(result.stream().collect(Collectors.toList())) : result.stream().collect(Collectors.toList());
+            Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && (version == null || dep.getVersionId().equals(version)));
+            dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
+        });
+        return latestOnly ? filterProjectByLatest(result) : result;
     }
 
     private List<ProjectDependencyWithPlatformVersions> filterProjectByLatest(List<ProjectDependencyWithPlatformVersions> projects)
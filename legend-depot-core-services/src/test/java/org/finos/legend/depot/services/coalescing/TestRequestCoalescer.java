@@ -0,0 +1,83 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.coalescing;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRequestCoalescer
+{
+    private final RequestCoalescer<String, Object> coalescer = new RequestCoalescer<>("test_coalesced");
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception
+    {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Future<Object> first = executor.submit(() -> coalescer.execute("key", () ->
+            {
+                executions.incrementAndGet();
+                started.countDown();
+                try
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return new Object();
+            }));
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<Object> second = executor.submit(() -> coalescer.execute("key", () ->
+            {
+                executions.incrementAndGet();
+                return new Object();
+            }));
+            TimeUnit.MILLISECONDS.sleep(200);
+            release.countDown();
+            Assert.assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, executions.get());
+            Assert.assertEquals(0, coalescer.inFlight());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failuresAreNotKept()
+    {
+        Assert.assertThrows(IllegalArgumentException.class, () -> coalescer.execute("key", () ->
+        {
+            throw new IllegalArgumentException("boom");
+        }));
+        Assert.assertEquals(0, coalescer.inFlight());
+        Assert.assertEquals("ok", coalescer.execute("key", () -> "ok"));
+    }
+}
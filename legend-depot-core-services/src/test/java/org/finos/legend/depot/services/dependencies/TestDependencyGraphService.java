@@ -0,0 +1,101 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
+import org.finos.legend.depot.services.TestBaseServices;
+import org.finos.legend.depot.services.api.dependencies.DependencyGraphService;
+import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.store.metrics.api.QueryMetricsRegistry;
+import org.finos.legend.depot.store.notifications.queue.api.Queue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+public class TestDependencyGraphService extends TestBaseServices
+{
+    private final ProjectsServiceImpl projectsService = new ProjectsServiceImpl(projectsVersionsStore, projectsStore, mock(QueryMetricsRegistry.class), mock(Queue.class), new ProjectsConfiguration("master"));
+    private final DependencyGraphService dependencyGraph = new DependencyGraphServiceImpl(projectsVersionsStore, projectsService);
+
+    private static StoreProjectVersionData version(String artifactId, String versionId, ProjectVersion... dependencies)
+    {
+        StoreProjectVersionData versionData = new StoreProjectVersionData("examples.graph", artifactId, versionId);
+        Arrays.stream(dependencies).forEach(dependency -> versionData.getVersionData().addDependency(dependency));
+        return versionData;
+    }
+
+    @Test
+    public void canTraverseCompactGraph()
+    {
+        ProjectVersion a = new ProjectVersion("examples.graph", "a", "1.0.0");
+        ProjectVersion b = new ProjectVersion("examples.graph", "b", "1.0.0");
+        ProjectVersion c1 = new ProjectVersion("examples.graph", "c", "1.0.0");
+        ProjectVersion c2 = new ProjectVersion("examples.graph", "c", "2.0.0");
+        ProjectVersion d = new ProjectVersion("examples.graph", "d", "1.0.0");
+        CompactDependencyGraph graph = CompactDependencyGraph.EMPTY.withVersions(Arrays.asList(version("a", "1.0.0", b, d), version("b", "1.0.0", c1), version("d", "1.0.0", c2)));
+
+        Assert.assertEquals(5, graph.getNodeCount());
+        Assert.assertEquals(4, graph.getEdgeCount());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(b, d)), new HashSet<>(graph.getDependencies(Collections.singletonList(a), false)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(b, d, c1, c2)), new HashSet<>(graph.getDependencies(Collections.singletonList(a), true)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(b, a)), new HashSet<>(graph.getDependants(Collections.singletonList(c1), true)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(c1, c2)), new HashSet<>(graph.getConflicts(Collections.singletonList(a)).get("examples.graph:c")));
+
+        CompactDependencyGraph updated = graph.withVersions(Collections.singletonList(version("b", "1.0.0", c2)));
+        Assert.assertEquals(4, updated.getEdgeCount());
+        Assert.assertTrue(updated.getConflicts(Collections.singletonList(a)).isEmpty());
+        Assert.assertTrue(updated.getDependants(Collections.singletonList(c1), true).isEmpty());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(b, d, a)), new HashSet<>(updated.getDependants(Collections.singletonList(c2), true)));
+        Assert.assertEquals(2, graph.getDependants(Collections.singletonList(c1), true).size());
+    }
+
+    @Test
+    public void canAnswerDependencyQueriesFromStoredVersions()
+    {
+        dependencyGraph.refresh();
+        ProjectVersion dependency = new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0");
+        Assert.assertEquals(Collections.singleton(dependency), dependencyGraph.getDependencies(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "2.3.1")), true));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"), new ProjectVersion("examples.metadata", "test", "master-SNAPSHOT"))), dependencyGraph.getDependants(dependency, false));
+
+        StoreProjectVersionData updated = projectsVersionsStore.find("examples.metadata", "test-dependencies", "1.0.0").get();
+        updated.getVersionData().addDependency(new ProjectVersion("example.services.test", "test", "2.0.1"));
+        projectsVersionsStore.createOrUpdate(updated);
+        dependencyGraph.refresh();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList(dependency, new ProjectVersion("example.services.test", "test", "2.0.1"))), dependencyGraph.getDependencies(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "latest")), true));
+        List<ProjectDependencyReport.ProjectDependencyConflict> conflicts = dependencyGraph.getConflicts(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"), new ProjectVersion("examples.metadata", "test", "2.2.0")));
+        Assert.assertEquals(1, conflicts.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("examples.metadata:test:2.3.1", "examples.metadata:test:2.2.0")), conflicts.get(0).getVersions());
+    }
+
+    @Test
+    public void canBuildGraphOnFirstQuery()
+    {
+        DependencyGraphService lazyGraph = new DependencyGraphServiceImpl(projectsVersionsStore, projectsService);
+        ProjectVersion dependency = new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0");
+        Assert.assertEquals(Collections.singleton(dependency), lazyGraph.getDependencies(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "2.3.1")), true));
+    }
+}
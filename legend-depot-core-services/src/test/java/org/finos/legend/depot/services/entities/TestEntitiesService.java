@@ -17,7 +17,9 @@ package org.finos.legend.depot.services.entities;
 
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.depot.domain.entity.EntitiesDelta;
 import org.finos.legend.depot.domain.entity.EntityDefinition;
+import org.finos.legend.depot.domain.entity.PackageSummary;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
@@ -34,10 +36,15 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.mock;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -125,6 +132,17 @@ public class TestEntitiesService extends TestBaseServices
 
     }
 
+    @Test
+    public void canStreamDependencies()
+    {
+        List<ProjectVersionEntities> streamed = Collections.synchronizedList(new ArrayList<>());
+        entitiesService.streamDependenciesEntities(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1")), true, true, (Consumer<ProjectVersionEntities>) streamed::add);
+        Assert.assertEquals(3, streamed.size());
+        Assert.assertEquals(7, streamed.stream().filter(projectToArtifactFilter("examples.metadata", "test")).findFirst().get().getEntities().size());
+        Assert.assertEquals(1, streamed.stream().filter(projectToArtifactFilter("examples.metadata", "test-dependencies")).findFirst().get().getEntities().size());
+        Assert.assertEquals(18, streamed.stream().filter(projectToArtifactFilter("example.services.test", "test")).findFirst().get().getEntities().size());
+    }
+
     @Test
     public void canGetOrphanedEntities()
     {
@@ -203,4 +221,53 @@ public class TestEntitiesService extends TestBaseServices
         Assert.assertEquals(0, entitiesService.getEntitiesByPackage("examples.metadata","test","head",pkgName, Collections.EMPTY_SET,true).size());
 
     }
+
+    @Test
+    public void canGetEntitiesDeltaBetweenVersions()
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test1", "1.0.0"));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test1", "2.0.0"));
+        Map<String, Object> unchanged = new LinkedHashMap<>();
+        unchanged.put("package", "examples::delta");
+        unchanged.put("name", "Unchanged");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("name", "Unchanged");
+        reordered.put("package", "examples::delta");
+        entitiesService.createOrUpdate(Arrays.asList(
+                new StoredEntity("examples.metadata", "test1", "1.0.0", new EntityDefinition("examples::delta::Unchanged", "meta::pure::metamodel::type::Class", unchanged)),
+                new StoredEntity("examples.metadata", "test1", "1.0.0", new EntityDefinition("examples::delta::Changed", "meta::pure::metamodel::type::Class", Collections.singletonMap("name", "Changed"))),
+                new StoredEntity("examples.metadata", "test1", "1.0.0", new EntityDefinition("examples::delta::Removed", "meta::pure::metamodel::type::Class", Collections.singletonMap("name", "Removed")))
+        ));
+        entitiesService.createOrUpdate(Arrays.asList(
+                new StoredEntity("examples.metadata", "test1", "2.0.0", new EntityDefinition("examples::delta::Unchanged", "meta::pure::metamodel::type::Class", reordered)),
+                new StoredEntity("examples.metadata", "test1", "2.0.0", new EntityDefinition("examples::delta::Changed", "meta::pure::metamodel::type::Enumeration", Collections.singletonMap("name", "Changed"))),
+                new StoredEntity("examples.metadata", "test1", "2.0.0", new EntityDefinition("examples::delta::Added", "meta::pure::metamodel::type::Class", Collections.singletonMap("name", "Added")))
+        ));
+
+        EntitiesDelta delta = entitiesService.getEntitiesDelta("examples.metadata", "test1", "1.0.0", "latest");
+        Assert.assertEquals("1.0.0", delta.getFromVersionId());
+        Assert.assertEquals("2.0.0", delta.getToVersionId());
+        Assert.assertEquals(Collections.singletonList("examples::delta::Added"), delta.getAdded().stream().map(EntityDefinition::getPath).collect(Collectors.toList()));
+        Assert.assertEquals(Collections.singletonList("examples::delta::Changed"), delta.getChanged().stream().map(EntityDefinition::getPath).collect(Collectors.toList()));
+        Assert.assertEquals("meta::pure::metamodel::type::Enumeration", delta.getChanged().get(0).getClassifierPath());
+        Assert.assertEquals(Collections.singletonList("examples::delta::Removed"), delta.getRemoved());
+
+        EntitiesDelta none = entitiesService.getEntitiesDelta("examples.metadata", "test1", "2.0.0", "2.0.0");
+        Assert.assertTrue(none.getAdded().isEmpty() && none.getChanged().isEmpty() && none.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void canRebuildPackageIndexWhenVersionIsRefreshed() throws InterruptedException
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test1", "1.0.0"));
+        entitiesService.createOrUpdate(Arrays.asList(new StoredEntity("examples.metadata", "test1", "1.0.0", new EntityDefinition("examples::index::A", "meta::pure::metamodel::type::Class", Collections.singletonMap("name", "A")))));
+        Assert.assertEquals(Arrays.asList("examples"), entitiesService.getPackages("examples.metadata", "test1", "1.0.0", null).stream().map(PackageSummary::getPackageName).collect(Collectors.toList()));
+
+        entitiesService.createOrUpdate(Arrays.asList(new StoredEntity("examples.metadata", "test1", "1.0.0", new EntityDefinition("other::index::B", "meta::pure::metamodel::type::Class", Collections.singletonMap("name", "B")))));
+        Assert.assertEquals(1, entitiesService.getPackages("examples.metadata", "test1", "1.0.0", null).size());
+
+        Thread.sleep(10);
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find("examples.metadata", "test1", "1.0.0").get());
+        Assert.assertEquals(2, entitiesService.getPackages("examples.metadata", "test1", "1.0.0", null).size());
+    }
 }
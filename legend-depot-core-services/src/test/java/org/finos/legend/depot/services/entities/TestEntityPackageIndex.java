@@ -0,0 +1,67 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.entities;
+
+import org.finos.legend.depot.domain.entity.PackageSummary;
+import org.finos.legend.depot.domain.entity.StoredEntityOverview;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class TestEntityPackageIndex
+{
+    private static final String CLASS = "meta::pure::metamodel::type::Class";
+    private static final String PROFILE = "meta::pure::metamodel::extension::Profile";
+
+    private final EntityPackageIndex index = EntityPackageIndex.build(Arrays.asList(
+            new StoredEntityOverview("examples.metadata", "test", "1.0.0", "examples::metadata::test::ClientBasic", CLASS),
+            new StoredEntityOverview("examples.metadata", "test", "1.0.0", "examples::metadata::test::TestProfile", PROFILE),
+            new StoredEntityOverview("examples.metadata", "test", "1.0.0", "examples::metadata::test::subpackage::TestProfileTwo", PROFILE),
+            new StoredEntityOverview("examples.metadata", "test", "1.0.0", "examples::metadata::tests::Other", CLASS),
+            new StoredEntityOverview("examples.metadata", "test", "1.0.0", "com::jsons", CLASS)));
+
+    @Test
+    public void canFindEntitiesInPackage()
+    {
+        Assert.assertEquals(5, index.size());
+        Assert.assertEquals(2, index.getEntityPaths("examples::metadata::test", null, false).size());
+        Assert.assertEquals(3, index.getEntityPaths("examples::metadata::test", null, true).size());
+        Assert.assertEquals(4, index.getEntityPaths("examples::metadata", null, true).size());
+        Assert.assertEquals(5, index.getEntityPaths(null, null, true).size());
+        Assert.assertTrue(index.getEntityPaths("examples::metadata::tes", null, true).isEmpty());
+        Assert.assertTrue(index.getEntityPaths("unknown::package", null, true).isEmpty());
+    }
+
+    @Test
+    public void canFilterByClassifier()
+    {
+        List<String> profiles = index.getEntityPaths("examples::metadata::test", Collections.singleton(PROFILE), true);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("examples::metadata::test::TestProfile", "examples::metadata::test::subpackage::TestProfileTwo")), new HashSet<>(profiles));
+        Assert.assertEquals(1, index.getEntityPaths("examples::metadata::test", Collections.singleton(CLASS), true).size());
+    }
+
+    @Test
+    public void canBrowseChildPackages()
+    {
+        Assert.assertEquals(Arrays.asList(new PackageSummary("com", 1, 1), new PackageSummary("examples", 0, 4)), index.getChildPackages(null));
+        Assert.assertEquals(Arrays.asList(new PackageSummary("examples::metadata::test", 2, 3), new PackageSummary("examples::metadata::tests", 1, 1)), index.getChildPackages("examples::metadata"));
+        Assert.assertEquals(Collections.singletonList(new PackageSummary("examples::metadata::test::subpackage", 1, 1)), index.getChildPackages("examples::metadata::test"));
+    }
+}
@@ -200,6 +200,51 @@ public class TestProjectsService extends TestBaseServices
     }
 
 
+    @Test
+    public void canGetProjectDependencyReportsForManyRootSets()
+    {
+        ProjectVersion test = new ProjectVersion("examples.metadata", "test", "2.3.1");
+        ProjectVersion testDependencies = new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0");
+        List<ProjectDependencyReport> reports = projectsService.getProjectDependencyReports(Arrays.asList(Collections.singletonList(test), Collections.singletonList(testDependencies), Arrays.asList(test, testDependencies)));
+        Assert.assertEquals(3, reports.size());
+
+        ProjectDependencyReport single = projectsService.getProjectDependencyReport("examples.metadata", "test", "2.3.1");
+        Assert.assertEquals(single.getGraph().getNodes().keySet(), reports.get(0).getGraph().getNodes().keySet());
+        Assert.assertEquals(single.getGraph().getRootNodes(), reports.get(0).getGraph().getRootNodes());
+
+        ProjectDependencyReport.SerializedGraph graph = reports.get(1).getGraph();
+        Assert.assertEquals(Sets.mutable.of("examples.metadata:test-dependencies:1.0.0", "example.services.test:test:1.0.0"), graph.getNodes().keySet());
+        Assert.assertEquals(Sets.mutable.of("examples.metadata:test-dependencies:1.0.0"), graph.getRootNodes());
+        Assert.assertTrue(graph.getNodes().get("examples.metadata:test-dependencies:1.0.0").getBackEdges().isEmpty());
+        Assert.assertEquals("PROD-B", graph.getNodes().get("examples.metadata:test-dependencies:1.0.0").getProjectId());
+
+        Assert.assertEquals(3, reports.get(2).getGraph().getNodes().size());
+        Assert.assertEquals(2, reports.get(2).getGraph().getRootNodes().size());
+        reports.forEach(report -> Assert.assertEquals(0, report.getConflicts().size()));
+    }
+
+    @Test
+    public void canGetProjectDependencyReportsWithErrorsPerRootSet()
+    {
+        ProjectVersion test = new ProjectVersion("examples.metadata", "test", "2.3.1");
+        ProjectVersion unknown = new ProjectVersion("examples.metadata", "unknown", "1.0.0");
+        List<ProjectDependencyReport> reports = projectsService.getProjectDependencyReports(Arrays.asList(Collections.singletonList(test), Arrays.asList(test, unknown)));
+        Assert.assertEquals(2, reports.size());
+
+        Assert.assertTrue(reports.get(0).getErrors().isEmpty());
+        Assert.assertEquals(projectsService.getProjectDependencyReport("examples.metadata", "test", "2.3.1").getGraph().getNodes().keySet(), reports.get(0).getGraph().getNodes().keySet());
+
+        Assert.assertEquals(Collections.singletonList("project version not found for examples.metadata-unknown-1.0.0"), reports.get(1).getErrors());
+        Assert.assertTrue(reports.get(1).getGraph().getNodes().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotGetProjectDependencyReportsForTooManyRootSets()
+    {
+        ProjectVersion test = new ProjectVersion("examples.metadata", "test", "2.3.1");
+        projectsService.getProjectDependencyReports(Collections.nCopies(101, Collections.singletonList(test)));
+    }
+
     @Test
     public void canGetDependantProjects()
     {
@@ -0,0 +1,56 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.tracing.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class BulkheadConfiguration
+{
+    @JsonProperty
+    private int maxConcurrentRequests;
+
+    @JsonProperty
+    private long maxQueueTimeMillis = 0;
+
+    @JsonProperty
+    private long retryAfterSeconds = 1;
+
+    public BulkheadConfiguration()
+    {
+    }
+
+    public BulkheadConfiguration(int maxConcurrentRequests, long maxQueueTimeMillis, long retryAfterSeconds)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueueTimeMillis = maxQueueTimeMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+    public long getMaxQueueTimeMillis()
+    {
+        return maxQueueTimeMillis;
+    }
+
+    public long getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+}
@@ -26,16 +26,25 @@ public class ResourceLoggingAndTracing
     public static final String CREATE_UPDATE_PROJECT = "create update project";
     public static final String GET_PROJECT_DEPENDENCIES = "get upstream project dependencies";
     public static final String GET_PROJECT_DEPENDENCY_TREE = "get project dependency tree";
+    public static final String GET_PROJECT_DEPENDENCY_TREES = "get project dependency trees";
     public static final String GET_DEPENDANT_PROJECTS = "get downstream projects";
+    public static final String GET_GRAPH_DEPENDENCIES = "get dependency graph dependencies";
+    public static final String GET_GRAPH_DEPENDANTS = "get dependency graph dependants";
+    public static final String GET_GRAPH_CONFLICTS = "get dependency graph conflicts";
     public static final String UPDATE_ALL_SNAPSHOTS = "refresh all snapshots";
     public static final String UPDATE_PROJECT_TRANSITIVE_DEPENDENCIES = "update project transitive dependencies";
     public static final String GET_VERSION_ENTITIES = "get version entities";
+    public static final String GET_VERSION_ENTITIES_PAGE = "get version entities page";
     public static final String GET_VERSION_DEPENDENCY_ENTITIES = "get version dependencies entities";
     public static final String GET_VERSIONS_DEPENDENCY_ENTITIES = "get versions dependencies entities";
+    public static final String STREAM_VERSIONS_DEPENDENCY_ENTITIES = "stream versions dependencies entities";
     public static final String GET_VERSION_STORE_ENTITIES = "get stored version entities";
     public static final String GET_VERSION_ENTITIES_AS_PMCD = "get version entities as PMCD";
     public static final String GET_VERSION_ENTITY = "get version entity";
+    public static final String GET_VERSION_ENTITIES_BY_PATHS = "get version entities by paths";
     public static final String GET_VERSION_ENTITIES_BY_PACKAGE = "get version entities by package";
+    public static final String GET_VERSION_ENTITIES_DELTA = "get version entities delta";
+    public static final String GET_VERSION_PACKAGES = "get version packages";
     public static final String GET_VERSIONS = "get versions";
     public static final String UPDATE_ALL_VERSIONS = "refresh all versions";
     public static final String UPDATE_VERSION = "refresh version";
@@ -67,6 +76,7 @@ public class ResourceLoggingAndTracing
     public static final String TOGGLE_SCHEDULES = "toggle schedules";
     public static final String ORPHAN_STORE_ENTITIES = "get orphaned entities";
     public static final String GET_ENTITIES_BY_CLASSIFIER_PATH = "get entities by classifier path";
+    public static final String GET_ENTITIES_BY_CLASSIFIER_PATH_PAGE = "get entities by classifier path page";
     public static final String REPOSITORY_PROJECT_VERSIONS = "repo project versions";
     public static final String GET_PROJECT_CACHE_MISMATCHES = "version mismatch";
     public static final String FIND_EVENT_BY_ID = "find event";
@@ -0,0 +1,123 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.tracing.services;
+
+import org.finos.legend.depot.tracing.configuration.BulkheadConfiguration;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limits per resource operation, keyed by the ApiOperation nickname (or value when it has no nickname)
+ */
+public final class ResourceBulkheads
+{
+    private static final String PERMITS_IN_USE = " bulkhead permits in use";
+    private static final String QUEUED = " bulkhead queued";
+    private static final String REJECTED = " bulkhead rejected";
+    static final long MAX_QUEUE_TIME_MILLIS = 250;
+
+    private static volatile Map<String, Bulkhead> bulkheads = Collections.emptyMap();
+
+    private ResourceBulkheads()
+    {
+    }
+
+    public static void configure(Map<String, BulkheadConfiguration> configuration)
+    {
+        Map<String, Bulkhead> result = new HashMap<>();
+        if (configuration != null)
+        {
+            configuration.forEach((operation, config) ->
+            {
+                if (config.getMaxConcurrentRequests() <= 0)
+                {
+                    throw new IllegalArgumentException(String.format("bulkhead for %s must allow at least one concurrent request", operation));
+                }
+                if (config.getMaxQueueTimeMillis() < 0 || config.getMaxQueueTimeMillis() > MAX_QUEUE_TIME_MILLIS)
+                {
+                    throw new IllegalArgumentException(String.format("bulkhead for %s must queue between 0 and %s millis", operation, MAX_QUEUE_TIME_MILLIS));
+                }
+                result.put(operation, new Bulkhead(operation, config));
+            });
+        }
+        bulkheads = Collections.unmodifiableMap(result);
+    }
+
+    public static Bulkhead get(String operation)
+    {
+        return bulkheads.get(operation);
+    }
+
+    public static final class Bulkhead
+    {
+        private final String operation;
+        private final BulkheadConfiguration configuration;
+        private final Semaphore permits;
+
+        private Bulkhead(String operation, BulkheadConfiguration configuration)
+        {
+            this.operation = operation;
+            this.configuration = configuration;
+            this.permits = new Semaphore(configuration.getMaxConcurrentRequests());
+        }
+
+        public boolean tryAcquire()
+        {
+            boolean acquired = permits.tryAcquire();
+            if (!acquired && configuration.getMaxQueueTimeMillis() > 0)
+            {
+                long start = System.currentTimeMillis();
+                try
+                {
+                    acquired = permits.tryAcquire(configuration.getMaxQueueTimeMillis(), TimeUnit.MILLISECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                PrometheusMetricsFactory.getInstance().observe(operation + QUEUED, start, System.currentTimeMillis());
+            }
+            if (!acquired)
+            {
+                PrometheusMetricsFactory.getInstance().incrementCount(operation + REJECTED);
+                return false;
+            }
+            PrometheusMetricsFactory.getInstance().setGauge(operation + PERMITS_IN_USE, getPermitsInUse());
+            return true;
+        }
+
+        public void release()
+        {
+            permits.release();
+            PrometheusMetricsFactory.getInstance().setGauge(operation + PERMITS_IN_USE, getPermitsInUse());
+        }
+
+        public int getPermitsInUse()
+        {
+            return configuration.getMaxConcurrentRequests() - permits.availablePermits();
+        }
+
+        public long getRetryAfterSeconds()
+        {
+            return configuration.getRetryAfterSeconds();
+        }
+    }
+}
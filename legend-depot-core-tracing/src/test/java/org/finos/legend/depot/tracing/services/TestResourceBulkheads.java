@@ -0,0 +1,78 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.tracing.services;
+
+import org.finos.legend.depot.tracing.configuration.BulkheadConfiguration;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class TestResourceBulkheads
+{
+    private static final String OPERATION = "get test method";
+
+    @Before
+    public void setUp()
+    {
+        PrometheusMetricsFactory.configure(null);
+        ResourceBulkheads.configure(Collections.singletonMap(OPERATION, new BulkheadConfiguration(1, 0, 5)));
+    }
+
+    @After
+    public void tearDown()
+    {
+        ResourceBulkheads.configure(null);
+    }
+
+    @Test
+    public void rejectsRequestsOverTheLimit()
+    {
+        Assert.assertNull(ResourceBulkheads.get("not limited"));
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(OPERATION);
+        Assert.assertTrue(bulkhead.tryAcquire());
+        Assert.assertEquals(1, bulkhead.getPermitsInUse());
+        Assert.assertFalse(bulkhead.tryAcquire());
+        Assert.assertEquals(5, bulkhead.getRetryAfterSeconds());
+        bulkhead.release();
+        Assert.assertEquals(0, bulkhead.getPermitsInUse());
+        Assert.assertTrue(bulkhead.tryAcquire());
+        bulkhead.release();
+    }
+
+    @Test
+    public void bulkheadMustAllowSomeRequests()
+    {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ResourceBulkheads.configure(Collections.singletonMap(OPERATION, new BulkheadConfiguration(0, 0, 1))));
+    }
+
+    @Test
+    public void bulkheadQueueingIsShortLived()
+    {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ResourceBulkheads.configure(Collections.singletonMap(OPERATION, new BulkheadConfiguration(1, ResourceBulkheads.MAX_QUEUE_TIME_MILLIS + 1, 1))));
+
+        ResourceBulkheads.configure(Collections.singletonMap(OPERATION, new BulkheadConfiguration(1, 20, 1)));
+        ResourceBulkheads.Bulkhead bulkhead = ResourceBulkheads.get(OPERATION);
+        Assert.assertTrue(bulkhead.tryAcquire());
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(bulkhead.tryAcquire());
+        Assert.assertTrue(System.currentTimeMillis() - start < ResourceBulkheads.MAX_QUEUE_TIME_MILLIS);
+        bulkhead.release();
+    }
+}
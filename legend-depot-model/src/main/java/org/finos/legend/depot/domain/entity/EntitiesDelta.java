@@ -0,0 +1,95 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EntitiesDelta
+{
+    @JsonProperty
+    private final String fromVersionId;
+
+    @JsonProperty
+    private final String toVersionId;
+
+    @JsonProperty
+    private final List<EntityDefinition> added;
+
+    @JsonProperty
+    private final List<EntityDefinition> changed;
+
+    @JsonProperty
+    private final List<String> removed;
+
+    @JsonCreator
+    public EntitiesDelta(@JsonProperty("fromVersionId") String fromVersionId,
+                         @JsonProperty("toVersionId") String toVersionId,
+                         @JsonProperty("added") List<EntityDefinition> added,
+                         @JsonProperty("changed") List<EntityDefinition> changed,
+                         @JsonProperty("removed") List<String> removed)
+    {
+        this.fromVersionId = fromVersionId;
+        this.toVersionId = toVersionId;
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    public String getFromVersionId()
+    {
+        return fromVersionId;
+    }
+
+    public String getToVersionId()
+    {
+        return toVersionId;
+    }
+
+    public List<EntityDefinition> getAdded()
+    {
+        return added;
+    }
+
+    public List<EntityDefinition> getChanged()
+    {
+        return changed;
+    }
+
+    public List<String> getRemoved()
+    {
+        return removed;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+}
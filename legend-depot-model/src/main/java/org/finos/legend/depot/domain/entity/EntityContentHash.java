@@ -0,0 +1,60 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.domain.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+public final class EntityContentHash
+{
+    private static final String SHA_256 = "SHA-256";
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private EntityContentHash()
+    {
+    }
+
+    /**
+     * SHA-256 of the classifier path and content of the entity.
+     * Content map keys are sorted before hashing so equal content hashes the same whatever the key order
+     */
+    public static String hash(Entity entity)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(CANONICAL_MAPPER.writeValueAsBytes(Arrays.asList(entity.getClassifierPath(), entity.getContent())));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++)
+            {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        }
+        catch (NoSuchAlgorithmException | JsonProcessingException e)
+        {
+            throw new IllegalStateException(String.format("could not hash content of entity %s", entity.getPath()), e);
+        }
+    }
+}
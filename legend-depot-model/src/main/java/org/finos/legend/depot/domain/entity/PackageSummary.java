@@ -0,0 +1,72 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PackageSummary
+{
+    @JsonProperty
+    private final String packageName;
+
+    @JsonProperty
+    private final int entities;
+
+    @JsonProperty
+    private final int totalEntities;
+
+    @JsonCreator
+    public PackageSummary(@JsonProperty("packageName") String packageName,
+                          @JsonProperty("entities") int entities,
+                          @JsonProperty("totalEntities") int totalEntities)
+    {
+        this.packageName = packageName;
+        this.entities = entities;
+        this.totalEntities = totalEntities;
+    }
+
+    public String getPackageName()
+    {
+        return packageName;
+    }
+
+    public int getEntities()
+    {
+        return entities;
+    }
+
+    public int getTotalEntities()
+    {
+        return totalEntities;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+}
@@ -0,0 +1,96 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.domain.pmcd;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.finos.legend.depot.domain.HasIdentifier;
+import org.finos.legend.depot.domain.VersionedData;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PrecomputedPureModelContext extends VersionedData implements HasIdentifier
+{
+    @JsonProperty
+    private String clientVersion;
+    @JsonProperty
+    private boolean transitive;
+    @JsonProperty
+    private List<String> dependencies;
+    @JsonProperty
+    private byte[] data;
+
+    @JsonCreator
+    public PrecomputedPureModelContext(@JsonProperty(value = "groupId") String groupId,
+                                       @JsonProperty(value = "artifactId") String artifactId,
+                                       @JsonProperty(value = "versionId") String versionId,
+                                       @JsonProperty(value = "clientVersion") String clientVersion,
+                                       @JsonProperty(value = "transitive") boolean transitive,
+                                       @JsonProperty(value = "dependencies") List<String> dependencies,
+                                       @JsonProperty(value = "data") byte[] data)
+    {
+        super(groupId, artifactId, versionId);
+        this.clientVersion = clientVersion;
+        this.transitive = transitive;
+        this.dependencies = dependencies;
+        this.data = data;
+    }
+
+    @Override
+    @JsonIgnore
+    public String getId()
+    {
+        return "";
+    }
+
+    public String getClientVersion()
+    {
+        return clientVersion;
+    }
+
+    public boolean isTransitive()
+    {
+        return transitive;
+    }
+
+    public List<String> getDependencies()
+    {
+        return dependencies;
+    }
+
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+}
@@ -31,6 +31,7 @@ public class ProjectDependencyReport
 
     private final List<ProjectDependencyConflict> conflicts = Lists.mutable.empty();
     private final SerializedGraph graph;
+    private final List<String> errors = Lists.mutable.empty();
 
     public static class SerializedGraph
     {
@@ -87,4 +88,14 @@ public class ProjectDependencyReport
     {
         return graph;
     }
+
+    public void addError(String error)
+    {
+        this.errors.add(error);
+    }
+
+    public List<String> getErrors()
+    {
+        return errors;
+    }
 }
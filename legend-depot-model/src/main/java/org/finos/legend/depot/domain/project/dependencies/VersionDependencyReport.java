@@ -17,12 +17,13 @@ package org.finos.legend.depot.domain.project.dependencies;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class VersionDependencyReport
@@ -63,15 +64,32 @@ public class VersionDependencyReport
         this.valid = valid;
     }
 
+    /**
+     * reports are equal when they have the same validity and the same transitive dependencies, in any order
+     */
     @Override
     public boolean equals(Object obj)
     {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj)
+        {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+        VersionDependencyReport that = (VersionDependencyReport) obj;
+        return valid == that.valid && Objects.equals(asSet(transitiveDependencies), asSet(that.transitiveDependencies));
     }
 
     @Override
     public int hashCode()
     {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return Objects.hash(valid, asSet(transitiveDependencies));
+    }
+
+    private static Set<ProjectVersion> asSet(List<ProjectVersion> dependencies)
+    {
+        return dependencies == null ? null : new HashSet<>(dependencies);
     }
 }
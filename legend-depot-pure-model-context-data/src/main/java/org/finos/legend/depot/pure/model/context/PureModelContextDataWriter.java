@@ -0,0 +1,206 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.pure.model.context;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public final class PureModelContextDataWriter
+{
+    private static final String ELEMENTS = "elements";
+    private static final int BUFFER_SIZE = 8192;
+    private static final ObjectMapper PMCD_MAPPER = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private static final ObjectWriter ELEMENT_WRITER = PMCD_MAPPER.writerFor(PackageableElement.class);
+
+    private PureModelContextDataWriter()
+    {
+    }
+
+    /**
+     * Writes the fragments merged by element path, ties keeping fragment order, so the output matches the serialised combined PMCD
+     */
+    public static void write(List<PureModelContextData> fragments, OutputStream output) throws IOException
+    {
+        PureModelContextData origin = fragments.get(0);
+        if (fragments.size() == 1)
+        {
+            PMCD_MAPPER.writeValue(output, origin);
+            return;
+        }
+        ObjectNode header = PMCD_MAPPER.valueToTree(PureModelContextData.newBuilder().withSerializer(origin.serializer).withOrigin(origin.origin).build());
+        try (JsonGenerator generator = PMCD_MAPPER.getFactory().createGenerator(output))
+        {
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = header.fields();
+            while (fields.hasNext())
+            {
+                Map.Entry<String, JsonNode> field = fields.next();
+                generator.writeFieldName(field.getKey());
+                if (ELEMENTS.equals(field.getKey()))
+                {
+                    writeMergedElements(fragments, generator);
+                }
+                else
+                {
+                    PMCD_MAPPER.writeTree(generator, field.getValue());
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    public static void writeCompressed(byte[] compressed, OutputStream output) throws IOException
+    {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed)))
+        {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1)
+            {
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
+    public static byte[] compress(PureModelContextData pureModelContextData)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(bytes))
+        {
+            PMCD_MAPPER.writeValue(output, pureModelContextData);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Merges the fragments straight into a gzip stream, without building the combined PMCD
+     */
+    public static byte[] compress(List<PureModelContextData> fragments)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(bytes))
+        {
+            write(fragments, output);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static PureModelContextData decompress(byte[] compressed)
+    {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed)))
+        {
+            return PMCD_MAPPER.readValue(input, PureModelContextData.class);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeMergedElements(List<PureModelContextData> fragments, JsonGenerator generator) throws IOException
+    {
+        PriorityQueue<FragmentCursor> cursors = new PriorityQueue<>(Comparator.comparing(FragmentCursor::currentPath).thenComparingInt(cursor -> cursor.fragment));
+        for (int i = 0; i < fragments.size(); i++)
+        {
+            List<PackageableElement> elements = fragments.get(i).getElements();
+            if (!elements.isEmpty())
+            {
+                cursors.add(new FragmentCursor(i, elements));
+            }
+        }
+        generator.writeStartArray();
+        String currentPath = null;
+        List<PackageableElement> writtenForPath = new ArrayList<>();
+        while (!cursors.isEmpty())
+        {
+            FragmentCursor cursor = cursors.poll();
+            PackageableElement element = cursor.current();
+            if (!element.getPath().equals(currentPath))
+            {
+                currentPath = element.getPath();
+                writtenForPath.clear();
+            }
+            if (!writtenForPath.contains(element))
+            {
+                writtenForPath.add(element);
+                ELEMENT_WRITER.writeValue(generator, element);
+            }
+            if (cursor.advance())
+            {
+                cursors.add(cursor);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static final class FragmentCursor
+    {
+        private final int fragment;
+        private final List<PackageableElement> elements;
+        private int position;
+
+        private FragmentCursor(int fragment, List<PackageableElement> elements)
+        {
+            this.fragment = fragment;
+            this.elements = elements;
+        }
+
+        private PackageableElement current()
+        {
+            return elements.get(position);
+        }
+
+        private String currentPath()
+        {
+            return current().getPath();
+        }
+
+        private boolean advance()
+        {
+            return ++position < elements.size();
+        }
+    }
+}
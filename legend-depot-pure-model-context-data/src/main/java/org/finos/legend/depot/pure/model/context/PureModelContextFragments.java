@@ -0,0 +1,155 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.pure.model.context;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.tracing.services.TracerFactory;
+import org.finos.legend.engine.protocol.pure.PureClientVersions;
+import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData.newBuilder;
+
+/**
+ * Builds PMCD per project version (fragments) and combines them, shared by the PMCD service and the precompute stage
+ */
+public final class PureModelContextFragments
+{
+    public static final String PURE = "pure";
+    public static final String MERGE_PMCD_FRAGMENTS = "mergePureModelContextFragments";
+    public static final Comparator<ProjectVersion> PROJECT_VERSION_ORDER = Comparator.comparing(ProjectVersion::getGroupId).thenComparing(ProjectVersion::getArtifactId).thenComparing(ProjectVersion::getVersionId);
+
+    private PureModelContextFragments()
+    {
+    }
+
+    /**
+     * Sorted and distinct, so combining fragments only merges already ordered runs
+     */
+    public static PureModelContextData toFragment(PureModelContextData pureModelContextData)
+    {
+        return newBuilder().withPureModelContextData(pureModelContextData).distinct().sorted().build();
+    }
+
+    public static PureModelContextData toPureModelContextData(List<Entity> entities, String groupId, String artifactId, String versionId, String clientVersion)
+    {
+        return PureModelContextDataBuilder
+                .newBuilder()
+                .withProtocol(PURE, resolveClientVersion(clientVersion))
+                .withSDLC(getAlloySDLC(groupId, artifactId, versionId))
+                .withEntities(entities)
+                .build();
+    }
+
+    public static String resolveClientVersion(String clientVersion)
+    {
+        return clientVersion == null ? PureClientVersions.production : clientVersion;
+    }
+
+    private static AlloySDLC getAlloySDLC(String groupId, String artifactId, String versionId)
+    {
+        AlloySDLC sdlc = new AlloySDLC();
+        sdlc.project = groupId + ":" + artifactId;
+        sdlc.baseVersion = versionId;
+        return sdlc;
+    }
+
+    /**
+     * Merges sorted fragments into one PMCD, the first fragment providing the serializer and origin.
+     * Merging is CPU bound only, the pool should not be shared with blocking work
+     */
+    public static PureModelContextData combine(List<PureModelContextData> fragments, ForkJoinPool pool)
+    {
+        return TracerFactory.get().executeWithTrace(MERGE_PMCD_FRAGMENTS, () ->
+        {
+            PureModelContextData origin = fragments.get(0);
+            List<PackageableElement> merged = pool.invoke(new MergeFragmentsTask(fragments, 0, fragments.size()));
+            return newBuilder().withSerializer(origin.serializer).withOrigin(origin.origin).withElements(distinct(merged)).build();
+        });
+    }
+
+    private static List<PackageableElement> distinct(List<PackageableElement> sortedElements)
+    {
+        List<PackageableElement> distinctElements = new ArrayList<>(sortedElements.size());
+        List<PackageableElement> samePath = new ArrayList<>();
+        String currentPath = null;
+        for (PackageableElement element : sortedElements)
+        {
+            if (!element.getPath().equals(currentPath))
+            {
+                currentPath = element.getPath();
+                samePath.clear();
+            }
+            if (!samePath.contains(element))
+            {
+                samePath.add(element);
+                distinctElements.add(element);
+            }
+        }
+        return distinctElements;
+    }
+
+    private static final class MergeFragmentsTask extends RecursiveTask<List<PackageableElement>>
+    {
+        private final List<PureModelContextData> fragments;
+        private final int from;
+        private final int to;
+
+        private MergeFragmentsTask(List<PureModelContextData> fragments, int from, int to)
+        {
+            this.fragments = fragments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<PackageableElement> compute()
+        {
+            if (to - from == 1)
+            {
+                return fragments.get(from).getElements();
+            }
+            int middle = (from + to) >>> 1;
+            MergeFragmentsTask left = new MergeFragmentsTask(fragments, from, middle);
+            left.fork();
+            List<PackageableElement> right = new MergeFragmentsTask(fragments, middle, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private static List<PackageableElement> merge(List<PackageableElement> left, List<PackageableElement> right)
+        {
+            List<PackageableElement> merged = new ArrayList<>(left.size() + right.size());
+            int i = 0;
+            int j = 0;
+            while (i < left.size() && j < right.size())
+            {
+                merged.add(right.get(j).getPath().compareTo(left.get(i).getPath()) < 0 ? right.get(j++) : left.get(i++));
+            }
+            merged.addAll(left.subList(i, left.size()));
+            merged.addAll(right.subList(j, right.size()));
+            return merged;
+        }
+    }
+}
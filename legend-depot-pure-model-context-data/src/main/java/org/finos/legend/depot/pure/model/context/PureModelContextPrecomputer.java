@@ -0,0 +1,189 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.pure.model.context;
+
+import org.finos.legend.depot.domain.api.MetadataEventResponse;
+import org.finos.legend.depot.domain.pmcd.PrecomputedPureModelContext;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.store.api.entities.Entities;
+import org.finos.legend.depot.store.api.pmcd.UpdatePrecomputedPureModelContexts;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores compressed PMCD per release version and client version, alone and with its transitive dependencies.
+ * A transitive artifact records the dependencies it was built from, so it stays valid until one of them is refreshed;
+ * refreshing a version regenerates the transitive artifacts of up to the configured number of its dependants and
+ * drops the rest, which are then built on demand.
+ */
+public class PureModelContextPrecomputer
+{
+    public static final int MAXIMUM_DATA_SIZE = 15 * 1024 * 1024;
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureModelContextPrecomputer.class);
+
+    private final Entities entities;
+    private final ProjectsVersions projectsVersions;
+    private final UpdatePrecomputedPureModelContexts precomputedPureModelContexts;
+    private final int maximumDependantsRegenerated;
+    private final int maximumDataSize;
+
+    public PureModelContextPrecomputer(Entities entities, ProjectsVersions projectsVersions, UpdatePrecomputedPureModelContexts precomputedPureModelContexts, int maximumDependantsRegenerated)
+    {
+        this(entities, projectsVersions, precomputedPureModelContexts, maximumDependantsRegenerated, MAXIMUM_DATA_SIZE);
+    }
+
+    public PureModelContextPrecomputer(Entities entities, ProjectsVersions projectsVersions, UpdatePrecomputedPureModelContexts precomputedPureModelContexts, int maximumDependantsRegenerated, int maximumDataSize)
+    {
+        if (maximumDependantsRegenerated < 0)
+        {
+            throw new IllegalArgumentException("maximum dependants regenerated cannot be negative");
+        }
+        if (maximumDataSize <= 0 || maximumDataSize > MAXIMUM_DATA_SIZE)
+        {
+            throw new IllegalArgumentException(String.format("maximum data size must be between 1 and %s bytes", MAXIMUM_DATA_SIZE));
+        }
+        this.entities = entities;
+        this.projectsVersions = projectsVersions;
+        this.precomputedPureModelContexts = precomputedPureModelContexts;
+        this.maximumDependantsRegenerated = maximumDependantsRegenerated;
+        this.maximumDataSize = maximumDataSize;
+    }
+
+    public MetadataEventResponse precompute(String groupId, String artifactId, String versionId, List<String> clientVersions, boolean includeTransitive)
+    {
+        MetadataEventResponse response = new MetadataEventResponse();
+        List<ProjectVersion> dependants = includeTransitive ? findDependants(groupId, artifactId, versionId) : Collections.emptyList();
+        long invalidated = precomputedPureModelContexts.deleteTransitiveDependingOn(groupId, artifactId, versionId);
+        if (invalidated > 0)
+        {
+            response.addMessage(String.format("Invalidated [%s] precomputed transitive PMCD depending on [%s-%s-%s]", invalidated, groupId, artifactId, versionId));
+        }
+        precomputedPureModelContexts.delete(groupId, artifactId, versionId);
+        Optional<StoreProjectVersionData> versionData = projectsVersions.find(groupId, artifactId, versionId);
+        if (VersionValidator.isSnapshotVersion(versionId) || !versionData.isPresent())
+        {
+            return response;
+        }
+
+        List<Entity> versionEntities = entities.getAllEntities(groupId, artifactId, versionId);
+        for (String clientVersion : clientVersions)
+        {
+            PureModelContextData pureModelContextData = PureModelContextFragments.toPureModelContextData(versionEntities, groupId, artifactId, versionId, clientVersion);
+            store(new PrecomputedPureModelContext(groupId, artifactId, versionId, clientVersion, false, Collections.emptyList(), PureModelContextDataWriter.compress(pureModelContextData)), response);
+        }
+        boolean transitive = includeTransitive && precomputeTransitive(versionData.get(), versionEntities, clientVersions, response);
+        String message = String.format("Precomputed PMCD for [%s-%s-%s], client versions %s, transitive: [%s]", groupId, artifactId, versionId, clientVersions, transitive);
+        response.addMessage(message);
+        LOGGER.info(message);
+
+        List<ProjectVersion> regenerated = dependants.subList(0, Math.min(dependants.size(), maximumDependantsRegenerated));
+        for (ProjectVersion dependant : regenerated)
+        {
+            projectsVersions.find(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId())
+                    .filter(dependantData -> !dependantData.isEvicted() && !dependantData.getVersionData().isExcluded())
+                    .ifPresent(dependantData -> precomputeTransitive(dependantData, entities.getAllEntities(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId()), clientVersions, response));
+        }
+        if (!dependants.isEmpty())
+        {
+            response.addMessage(String.format("Regenerated transitive PMCD of [%s] of [%s] dependants of [%s-%s-%s]", regenerated.size(), dependants.size(), groupId, artifactId, versionId));
+        }
+        return response;
+    }
+
+    /**
+     * Dependants with a precomputed transitive PMCD first, then direct dependants whose transitive PMCD could not be built yet
+     */
+    private List<ProjectVersion> findDependants(String groupId, String artifactId, String versionId)
+    {
+        Set<ProjectVersion> dependants = new LinkedHashSet<>(precomputedPureModelContexts.findTransitiveDependingOn(groupId, artifactId, versionId));
+        projectsVersions.findDependants(groupId, artifactId, versionId).forEach(dependant -> dependants.add(new ProjectVersion(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId())));
+        return dependants.stream().filter(dependant -> !VersionValidator.isSnapshotVersion(dependant.getVersionId())).collect(Collectors.toList());
+    }
+
+    private boolean precomputeTransitive(StoreProjectVersionData versionData, List<Entity> versionEntities, List<String> clientVersions, MetadataEventResponse response)
+    {
+        List<ProjectVersion> dependencies = getAvailableDependencies(versionData, response);
+        if (dependencies == null)
+        {
+            return false;
+        }
+        Map<String, List<PureModelContextData>> fragments = new HashMap<>();
+        addFragments(fragments, versionEntities, versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), clientVersions);
+        for (ProjectVersion dependency : dependencies)
+        {
+            addFragments(fragments, entities.getAllEntities(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId()), dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId(), clientVersions);
+        }
+        List<String> dependencyGavs = dependencies.stream().map(ProjectVersion::getGav).collect(Collectors.toList());
+        for (String clientVersion : clientVersions)
+        {
+            store(new PrecomputedPureModelContext(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), clientVersion, true, dependencyGavs, PureModelContextDataWriter.compress(fragments.get(clientVersion))), response);
+        }
+        return true;
+    }
+
+    private void addFragments(Map<String, List<PureModelContextData>> fragments, List<Entity> projectEntities, String groupId, String artifactId, String versionId, List<String> clientVersions)
+    {
+        for (String clientVersion : clientVersions)
+        {
+            fragments.computeIfAbsent(clientVersion, key -> new ArrayList<>()).add(PureModelContextFragments.toFragment(PureModelContextFragments.toPureModelContextData(projectEntities, groupId, artifactId, versionId, clientVersion)));
+        }
+    }
+
+    private List<ProjectVersion> getAvailableDependencies(StoreProjectVersionData versionData, MetadataEventResponse response)
+    {
+        if (!versionData.getTransitiveDependenciesReport().isValid())
+        {
+            response.addMessage(String.format("Skipping transitive PMCD for [%s-%s-%s], transitive dependencies are not valid", versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()));
+            return null;
+        }
+        List<ProjectVersion> dependencies = versionData.getTransitiveDependenciesReport().getTransitiveDependencies().stream().sorted(PureModelContextFragments.PROJECT_VERSION_ORDER).collect(Collectors.toList());
+        for (ProjectVersion dependency : dependencies)
+        {
+            Optional<StoreProjectVersionData> dependencyData = projectsVersions.find(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId());
+            if (!dependencyData.isPresent() || dependencyData.get().isEvicted() || dependencyData.get().getVersionData().isExcluded())
+            {
+                response.addMessage(String.format("Skipping transitive PMCD for [%s-%s-%s], dependency [%s] is not available", versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), dependency.getGav()));
+                return null;
+            }
+        }
+        return dependencies;
+    }
+
+    private void store(PrecomputedPureModelContext data, MetadataEventResponse response)
+    {
+        if (data.getData().length > maximumDataSize)
+        {
+            response.addMessage(String.format("Skipping PMCD for [%s-%s-%s], client version [%s], transitive: [%s], compressed size [%s] exceeds [%s] bytes", data.getGroupId(), data.getArtifactId(), data.getVersionId(), data.getClientVersion(), data.isTransitive(), data.getData().length, maximumDataSize));
+            return;
+        }
+        precomputedPureModelContexts.createOrUpdate(data);
+    }
+}
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.server.pure.model.context;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Singleton;
 import org.finos.legend.depot.server.pure.model.context.api.PureModelContextService;
 import org.finos.legend.depot.server.pure.model.context.resources.PureModelContextResource;
 import org.finos.legend.depot.server.pure.model.context.services.PureModelContextServiceImpl;
@@ -25,7 +26,7 @@ public class PureModelContextModule extends PrivateModule
     @Override
     protected void configure()
     {
-        bind(PureModelContextService.class).to(PureModelContextServiceImpl.class);
+        bind(PureModelContextService.class).to(PureModelContextServiceImpl.class).in(Singleton.class);
         expose(PureModelContextService.class);
 
         bind(PureModelContextResource.class);
@@ -0,0 +1,72 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.server.pure.model.context.api;
+
+import org.finos.legend.depot.pure.model.context.PureModelContextDataWriter;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A PMCD ready to be written, either as compressed precomputed bytes or as sorted fragments merged while writing
+ */
+public final class PureModelContextDataContent
+{
+    private final byte[] precomputed;
+    private final List<PureModelContextData> fragments;
+
+    private PureModelContextDataContent(byte[] precomputed, List<PureModelContextData> fragments)
+    {
+        this.precomputed = precomputed;
+        this.fragments = fragments;
+    }
+
+    public static PureModelContextDataContent precomputed(byte[] compressed)
+    {
+        return new PureModelContextDataContent(compressed, Collections.emptyList());
+    }
+
+    public static PureModelContextDataContent fragments(List<PureModelContextData> fragments)
+    {
+        return new PureModelContextDataContent(null, fragments);
+    }
+
+    public Optional<byte[]> getPrecomputed()
+    {
+        return Optional.ofNullable(precomputed);
+    }
+
+    public List<PureModelContextData> getFragments()
+    {
+        return fragments;
+    }
+
+    public void write(OutputStream output) throws IOException
+    {
+        if (precomputed != null)
+        {
+            PureModelContextDataWriter.writeCompressed(precomputed, output);
+        }
+        else
+        {
+            PureModelContextDataWriter.write(fragments, output);
+        }
+    }
+}
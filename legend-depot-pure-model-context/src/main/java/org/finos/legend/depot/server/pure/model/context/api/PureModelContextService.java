@@ -20,4 +20,9 @@ import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextDa
 public interface PureModelContextService
 {
     PureModelContextData getPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive);
+
+    /**
+     * Resolves the version once and serves, in order: the in-memory PMCD, the precomputed one (when enabled) or the fragments to merge
+     */
+    PureModelContextDataContent getPureModelContextDataContent(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive);
 }
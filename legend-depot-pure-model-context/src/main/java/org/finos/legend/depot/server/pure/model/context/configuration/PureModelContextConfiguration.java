@@ -0,0 +1,99 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.server.pure.model.context.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class PureModelContextConfiguration
+{
+    private static final int DEFAULT_FRAGMENT_FETCH_THREADS = 8;
+    private static final int DEFAULT_MERGE_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final long DEFAULT_CACHE_MAXIMUM_ELEMENTS = 500000;
+    private static final long DEFAULT_FRAGMENT_CACHE_MAXIMUM_ELEMENTS = 1000000;
+    private static final int DEFAULT_CACHE_EXPIRY_MINUTES = 60;
+
+    @JsonProperty
+    private boolean usePrecomputed = false;
+
+    @JsonProperty
+    private int fragmentFetchThreads = DEFAULT_FRAGMENT_FETCH_THREADS;
+
+    @JsonProperty
+    private int mergeThreads = DEFAULT_MERGE_THREADS;
+
+    @JsonProperty
+    private long cacheMaximumElements = DEFAULT_CACHE_MAXIMUM_ELEMENTS;
+
+    @JsonProperty
+    private long fragmentCacheMaximumElements = DEFAULT_FRAGMENT_CACHE_MAXIMUM_ELEMENTS;
+
+    @JsonProperty
+    private int cacheExpiryMinutes = DEFAULT_CACHE_EXPIRY_MINUTES;
+
+    public PureModelContextConfiguration()
+    {
+    }
+
+    public PureModelContextConfiguration(boolean usePrecomputed)
+    {
+        this.usePrecomputed = usePrecomputed;
+    }
+
+    /**
+     * Whether PMCD precomputed at ingest (see the store server precompute stage) is looked up before building it
+     */
+    public boolean isUsePrecomputed()
+    {
+        return usePrecomputed;
+    }
+
+    /**
+     * Threads loading dependency fragments, which mostly wait on the store
+     */
+    public int getFragmentFetchThreads()
+    {
+        return fragmentFetchThreads;
+    }
+
+    /**
+     * Parallelism of the pool merging fragments into one PMCD, which is CPU bound
+     */
+    public int getMergeThreads()
+    {
+        return mergeThreads;
+    }
+
+    /**
+     * Bound of the built PMCD cache, weighed by number of elements
+     */
+    public long getCacheMaximumElements()
+    {
+        return cacheMaximumElements;
+    }
+
+    /**
+     * Bound of the per project version fragment cache, weighed by number of elements
+     */
+    public long getFragmentCacheMaximumElements()
+    {
+        return fragmentCacheMaximumElements;
+    }
+
+    public int getCacheExpiryMinutes()
+    {
+        return cacheExpiryMinutes;
+    }
+}
@@ -31,6 +31,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_AS_PMCD;
 
@@ -48,9 +49,9 @@ public class PureModelContextResource extends BaseResource
 
     @GET
     @Path("projects/{groupId}/{artifactId}/versions/{versionId}/pureModelContextData")
-    @ApiOperation(GET_VERSION_ENTITIES_AS_PMCD)
+    @ApiOperation(value = GET_VERSION_ENTITIES_AS_PMCD, response = PureModelContextData.class)
     @Produces(MediaType.APPLICATION_JSON)
-    public PureModelContextData getPureModelContextData(@PathParam("groupId") String groupId,
+    public StreamingOutput getPureModelContextData(@PathParam("groupId") String groupId,
                                                         @PathParam("artifactId") String artifactId,
                                                         @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT)  String versionId,
                                                         @QueryParam("clientVersion") String clientVersion,
@@ -58,6 +59,6 @@ public class PureModelContextResource extends BaseResource
                                                         @DefaultValue("true")
                                                         @ApiParam("Whether to include entities from dependencies") boolean transitive)
     {
-        return handle(GET_VERSION_ENTITIES_AS_PMCD, () -> service.getPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive));
+        return handleStreaming(GET_VERSION_ENTITIES_AS_PMCD, output -> service.getPureModelContextDataContent(groupId, artifactId, versionId, clientVersion, transitive).write(output));
     }
 }
@@ -15,94 +15,281 @@
 
 package org.finos.legend.depot.server.pure.model.context.services;
 
-import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.finos.legend.depot.domain.pmcd.PrecomputedPureModelContext;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.pure.model.context.PureModelContextDataWriter;
+import org.finos.legend.depot.pure.model.context.PureModelContextFragments;
+import org.finos.legend.depot.server.pure.model.context.api.PureModelContextDataContent;
 import org.finos.legend.depot.server.pure.model.context.api.PureModelContextService;
+import org.finos.legend.depot.server.pure.model.context.configuration.PureModelContextConfiguration;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
-import org.finos.legend.engine.protocol.pure.PureClientVersions;
-import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
+import org.finos.legend.depot.services.coalescing.RequestCoalescer;
+import org.finos.legend.depot.store.api.pmcd.PrecomputedPureModelContexts;
+import org.finos.legend.depot.tracing.services.TracerFactory;
+import org.finos.legend.depot.tracing.services.prometheus.PrometheusMetricsFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
-import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import static org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData.newBuilder;
-
-public class PureModelContextServiceImpl implements PureModelContextService
+public class PureModelContextServiceImpl implements PureModelContextService, AutoCloseable
 {
-    public static final String PURE = "pure";
+    public static final String PURE_MODEL_CONTEXT_DATA_COALESCED = "pure_model_context_data_coalesced";
+    public static final String PURE_MODEL_CONTEXT_DATA_CACHE_HIT = "pure_model_context_data_cache_hit";
+    public static final String PURE_MODEL_CONTEXT_DATA_CACHE_MISS = "pure_model_context_data_cache_miss";
+    public static final String PURE_MODEL_CONTEXT_DATA_CACHE_SIZE = "pure_model_context_data_cache_size";
+    public static final String PURE_MODEL_CONTEXT_FRAGMENT_CACHE_HIT = "pure_model_context_fragment_cache_hit";
+    public static final String PURE_MODEL_CONTEXT_FRAGMENT_CACHE_MISS = "pure_model_context_fragment_cache_miss";
+    public static final String PURE_MODEL_CONTEXT_FRAGMENT_COALESCED = "pure_model_context_fragment_coalesced";
+    public static final String PURE_MODEL_CONTEXT_DATA_PRECOMPUTED_HIT = "pure_model_context_data_precomputed_hit";
+    public static final String PURE_MODEL_CONTEXT_DATA_PRECOMPUTED_MISS = "pure_model_context_data_precomputed_miss";
+    public static final String RESOLVE_PMCD_DEPENDENCIES = "resolvePureModelContextDependencies";
+    public static final String BUILD_PMCD_FRAGMENTS = "buildPureModelContextFragments";
+    private final ForkJoinPool mergePool;
+    private final ExecutorService fragmentFetchers;
     private final EntitiesService entitiesService;
     private final ProjectsService projectsService;
+    private final PrecomputedPureModelContexts precomputedPureModelContexts;
+    private final PureModelContextConfiguration configuration;
+    private final RequestCoalescer<List<Object>, PureModelContextData> pureModelContextDataRequests = new RequestCoalescer<>(PURE_MODEL_CONTEXT_DATA_COALESCED);
+    private final Cache<List<Object>, PureModelContextData> pureModelContextDataCache;
+    private final RequestCoalescer<List<Object>, PureModelContextData> fragmentRequests = new RequestCoalescer<>(PURE_MODEL_CONTEXT_FRAGMENT_COALESCED);
+    private final Cache<List<Object>, PureModelContextData> fragmentCache;
 
     @Inject
-    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService)
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService, PrecomputedPureModelContexts precomputedPureModelContexts, PureModelContextConfiguration configuration)
     {
         this.entitiesService = entitiesService;
         this.projectsService = projectsService;
+        this.precomputedPureModelContexts = precomputedPureModelContexts;
+        this.configuration = configuration;
+        if (configuration.getFragmentFetchThreads() <= 0 || configuration.getMergeThreads() <= 0)
+        {
+            throw new IllegalArgumentException("fragment fetch and merge threads must be at least 1");
+        }
+        this.pureModelContextDataCache = CacheBuilder.newBuilder()
+                .maximumWeight(configuration.getCacheMaximumElements())
+                .weigher((List<Object> key, PureModelContextData value) -> Math.max(1, value.getElements().size()))
+                .expireAfterWrite(configuration.getCacheExpiryMinutes(), TimeUnit.MINUTES)
+                .build();
+        this.fragmentCache = CacheBuilder.newBuilder()
+                .maximumWeight(configuration.getFragmentCacheMaximumElements())
+                .weigher((List<Object> key, PureModelContextData value) -> Math.max(1, value.getElements().size()))
+                .expireAfterAccess(configuration.getCacheExpiryMinutes(), TimeUnit.MINUTES)
+                .build();
+        this.fragmentFetchers = Executors.newFixedThreadPool(configuration.getFragmentFetchThreads(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "pmcd-fragment-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mergePool = new ForkJoinPool(configuration.getMergeThreads());
+    }
+
+    /**
+     * Stops the fragment fetch and merge pools, requests already running complete
+     */
+    @Override
+    public void close()
+    {
+        this.fragmentFetchers.shutdown();
+        this.mergePool.shutdown();
     }
 
     @Override
     public PureModelContextData getPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
     {
         String version = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        List<Entity> entities = this.entitiesService.getEntities(groupId, artifactId, version);
-        PureModelContextData pureModelContextData = getPureModelContextData(entities, groupId, artifactId, version, clientVersion);
+        if (VersionValidator.isSnapshotVersion(version))
+        {
+            return pureModelContextDataRequests.execute(Arrays.asList(groupId, artifactId, version, clientVersion, transitive), () ->
+            {
+                List<ProjectVersion> projectVersions = getProjectVersions(groupId, artifactId, version, transitive);
+                return buildPureModelContextData(projectVersions, this.projectsService.findUpdated(projectVersions), clientVersion, transitive);
+            });
+        }
+        List<ProjectVersion> projectVersions = getProjectVersions(groupId, artifactId, version, transitive);
+        Map<ProjectVersion, Date> updated = this.projectsService.findUpdated(projectVersions);
+        List<Object> key = Arrays.asList(groupId, artifactId, version, clientVersion, transitive, updated);
+        PureModelContextData cached = getCached(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+        return loadPureModelContextData(key, projectVersions, updated, clientVersion, transitive, true);
+    }
+
+    @Override
+    public PureModelContextDataContent getPureModelContextDataContent(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        String version = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        List<ProjectVersion> projectVersions = getProjectVersions(groupId, artifactId, version, transitive);
+        Map<ProjectVersion, Date> updated = this.projectsService.findUpdated(projectVersions);
+        if (VersionValidator.isSnapshotVersion(version))
+        {
+            return PureModelContextDataContent.fragments(transitive ? getTransitiveFragments(projectVersions, updated, clientVersion) : Collections.singletonList(pureModelContextDataRequests.execute(Arrays.asList(groupId, artifactId, version, clientVersion, false), () -> buildPureModelContextData(projectVersions, updated, clientVersion, false))));
+        }
+        List<Object> key = Arrays.asList(groupId, artifactId, version, clientVersion, transitive, updated);
+        PureModelContextData cached = getCached(key);
+        if (cached != null)
+        {
+            return PureModelContextDataContent.fragments(Collections.singletonList(cached));
+        }
+        Optional<byte[]> precomputed = findPrecomputed(projectVersions, clientVersion, transitive);
+        if (precomputed.isPresent())
+        {
+            return PureModelContextDataContent.precomputed(precomputed.get());
+        }
         if (!transitive)
         {
-            return pureModelContextData;
+            return PureModelContextDataContent.fragments(Collections.singletonList(loadPureModelContextData(key, projectVersions, updated, clientVersion, false, false)));
         }
-        else
+        return PureModelContextDataContent.fragments(getTransitiveFragments(projectVersions, updated, clientVersion));
+    }
+
+    private PureModelContextData loadPureModelContextData(List<Object> key, List<ProjectVersion> projectVersions, Map<ProjectVersion, Date> updated, String clientVersion, boolean transitive, boolean lookupPrecomputed)
+    {
+        return pureModelContextDataRequests.execute(key, () ->
         {
-            List<ProjectVersionEntities> dependenciesEntities = this.entitiesService.getDependenciesEntities(groupId, artifactId, version, transitive, true);
+            PureModelContextData data = (lookupPrecomputed ? findPrecomputed(projectVersions, clientVersion, transitive) : Optional.<byte[]>empty())
+                    .map(PureModelContextDataWriter::decompress)
+                    .orElseGet(() -> buildPureModelContextData(projectVersions, updated, clientVersion, transitive));
+            pureModelContextDataCache.put(key, data);
+            PrometheusMetricsFactory.getInstance().setGauge(PURE_MODEL_CONTEXT_DATA_CACHE_SIZE, pureModelContextDataCache.size());
+            return data;
+        });
+    }
 
-            List<PureModelContextData> allPMCD = new ArrayList<>();
-            for (ProjectVersionEntities projectVersionEntities : dependenciesEntities)
-            {
-                allPMCD.add(getPureModelContextData(projectVersionEntities.getEntities().stream().map(x -> (Entity) x).collect(Collectors.toList()),
-                        projectVersionEntities.getGroupId(),
-                        projectVersionEntities.getArtifactId(),
-                        projectVersionEntities.getVersionId(),
-                        clientVersion));
-            }
-            return combinePureModelContextData(pureModelContextData,allPMCD);
+    private PureModelContextData getCached(List<Object> key)
+    {
+        PureModelContextData cached = pureModelContextDataCache.getIfPresent(key);
+        PrometheusMetricsFactory.getInstance().incrementCount(cached != null ? PURE_MODEL_CONTEXT_DATA_CACHE_HIT : PURE_MODEL_CONTEXT_DATA_CACHE_MISS);
+        return cached;
+    }
+
+    private PureModelContextData buildPureModelContextData(List<ProjectVersion> projectVersions, Map<ProjectVersion, Date> updated, String clientVersion, boolean transitive)
+    {
+        if (!transitive)
+        {
+            ProjectVersion projectVersion = projectVersions.get(0);
+            List<Entity> entities = this.entitiesService.getEntities(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+            return PureModelContextFragments.toPureModelContextData(entities, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), clientVersion);
         }
+        return PureModelContextFragments.combine(getTransitiveFragments(projectVersions, updated, clientVersion), mergePool);
     }
 
-    private PureModelContextData getPureModelContextData(List<Entity> entities, String groupId, String artifactId, String versionId, String clientVersion)
+    /**
+     * A precomputed artifact is used while the dependencies it was built from are the resolved ones
+     */
+    private Optional<byte[]> findPrecomputed(List<ProjectVersion> projectVersions, String clientVersion, boolean transitive)
     {
-        return PureModelContextDataBuilder
-                .newBuilder()
-                .withProtocol(PURE, clientVersion == null ? PureClientVersions.production : clientVersion)
-                .withSDLC(getAlloySDLC(groupId, artifactId, versionId))
-                .withEntities(entities)
-                .build();
+        if (!configuration.isUsePrecomputed())
+        {
+            return Optional.empty();
+        }
+        ProjectVersion projectVersion = projectVersions.get(0);
+        List<String> dependencies = projectVersions.subList(1, projectVersions.size()).stream().map(ProjectVersion::getGav).collect(Collectors.toList());
+        Optional<byte[]> precomputed = this.precomputedPureModelContexts.find(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), PureModelContextFragments.resolveClientVersion(clientVersion), transitive)
+                .filter(data -> Objects.equals(data.getDependencies(), dependencies))
+                .map(PrecomputedPureModelContext::getData);
+        PrometheusMetricsFactory.getInstance().incrementCount(precomputed.isPresent() ? PURE_MODEL_CONTEXT_DATA_PRECOMPUTED_HIT : PURE_MODEL_CONTEXT_DATA_PRECOMPUTED_MISS);
+        return precomputed;
     }
 
-    private AlloySDLC getAlloySDLC(String groupId, String artifactId, String versionId)
+    /**
+     * The version followed, when transitive, by its resolved dependencies in fragment order.
+     * Dependencies are read through the projects service on every call so evicted ones are restored.
+     */
+    private List<ProjectVersion> getProjectVersions(String groupId, String artifactId, String version, boolean transitive)
     {
-        AlloySDLC sdlc = new AlloySDLC();
-        sdlc.project = groupId + ":" + artifactId;
-        sdlc.baseVersion = versionId;
-        return sdlc;
+        ProjectVersion projectVersion = new ProjectVersion(groupId, artifactId, version);
+        if (!transitive)
+        {
+            return Collections.singletonList(projectVersion);
+        }
+        List<ProjectVersion> projectVersions = TracerFactory.get().executeWithTrace(RESOLVE_PMCD_DEPENDENCIES, () ->
+        {
+            List<ProjectVersion> versions = new ArrayList<>();
+            versions.add(projectVersion);
+            this.projectsService.getDependencies(Collections.singletonList(projectVersion), true).stream()
+                    .map(dep -> new ProjectVersion(dep.getGroupId(), dep.getArtifactId(), this.projectsService.resolveAliasesAndCheckVersionExists(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId())))
+                    .sorted(PureModelContextFragments.PROJECT_VERSION_ORDER)
+                    .forEach(versions::add);
+            return versions;
+        });
+        TracerFactory.get().log(String.format("dependencies: [%s] ", projectVersions.size() - 1));
+        return projectVersions;
     }
 
-    private PureModelContextData combinePureModelContextData(PureModelContextData pureModelContextData, List<PureModelContextData> dataList)
+    private List<PureModelContextData> getTransitiveFragments(List<ProjectVersion> projectVersions, Map<ProjectVersion, Date> updated, String clientVersion)
     {
-        PureModelContextData.Builder builder = newBuilder().withPureModelContextData(pureModelContextData);
-        if (dataList != null)
+        return TracerFactory.get().executeWithTrace(BUILD_PMCD_FRAGMENTS, () ->
         {
-            dataList.forEach(data ->
+            List<CompletableFuture<PureModelContextData>> fragments = projectVersions.stream()
+                    .map(pv -> CompletableFuture.supplyAsync(() -> getFragment(pv, updated.get(pv), clientVersion), fragmentFetchers))
+                    .collect(Collectors.toList());
+            try
             {
-                Objects.requireNonNull(data);
-                builder.addPureModelContextData(data);
-            });
+                return fragments.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        });
+    }
+
+    private PureModelContextData getFragment(ProjectVersion projectVersion, Date updated, String clientVersion)
+    {
+        String groupId = projectVersion.getGroupId();
+        String artifactId = projectVersion.getArtifactId();
+        String version = projectVersion.getVersionId();
+        if (VersionValidator.isSnapshotVersion(version))
+        {
+            return fragmentRequests.execute(Arrays.asList(groupId, artifactId, version, clientVersion), () -> buildFragment(groupId, artifactId, version, clientVersion));
+        }
+        List<Object> key = Arrays.asList(groupId, artifactId, version, clientVersion, updated);
+        PureModelContextData cached = fragmentCache.getIfPresent(key);
+        if (cached != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(PURE_MODEL_CONTEXT_FRAGMENT_CACHE_HIT);
+            return cached;
         }
-        return builder.distinct().sorted().build();
+        PrometheusMetricsFactory.getInstance().incrementCount(PURE_MODEL_CONTEXT_FRAGMENT_CACHE_MISS);
+        return fragmentRequests.execute(key, () ->
+        {
+            PureModelContextData fragment = buildFragment(groupId, artifactId, version, clientVersion);
+            fragmentCache.put(key, fragment);
+            return fragment;
+        });
+    }
+
+    private PureModelContextData buildFragment(String groupId, String artifactId, String version, String clientVersion)
+    {
+        return PureModelContextFragments.toFragment(PureModelContextFragments.toPureModelContextData(this.entitiesService.getEntities(groupId, artifactId, version), groupId, artifactId, version, clientVersion));
     }
 }
@@ -18,10 +18,16 @@ package org.finos.legend.depot.server.pure.model.context;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.depot.domain.api.MetadataEventResponse;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectData;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.pure.model.context.PureModelContextDataWriter;
+import org.finos.legend.depot.pure.model.context.PureModelContextFragments;
+import org.finos.legend.depot.pure.model.context.PureModelContextPrecomputer;
 import org.finos.legend.depot.server.pure.model.context.api.PureModelContextService;
 import org.finos.legend.depot.server.pure.model.context.api.PureModelContextServiceException;
+import org.finos.legend.depot.server.pure.model.context.configuration.PureModelContextConfiguration;
 import org.finos.legend.depot.server.pure.model.context.services.PureModelContextServiceImpl;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
@@ -33,7 +39,9 @@ import org.finos.legend.depot.store.metrics.api.QueryMetricsRegistry;
 import org.finos.legend.depot.store.metrics.services.QueryMetricsHandler;
 import org.finos.legend.depot.store.metrics.services.InMemoryQueryMetricsRegistry;
 import org.finos.legend.depot.services.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.store.api.pmcd.UpdatePrecomputedPureModelContexts;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.pmcd.PrecomputedPureModelContextsMongo;
 import org.finos.legend.depot.store.metrics.store.mongo.QueryMetricsMongo;
 import org.finos.legend.depot.store.notifications.queue.api.Queue;
 import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
@@ -45,8 +53,15 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 import static org.mockito.Mockito.mock;
@@ -66,7 +81,8 @@ public class TestPureModelContextService extends TestBaseServices
     private final QueryMetricsHandler metricsHandler = new QueryMetricsHandler(metrics, metricsRegistry);
     private final Queue queue = mock(Queue.class);
     ProjectsService projectsService = new ProjectsServiceImpl(projectsVersionsStore, projectsStore, metricsRegistry, queue, new ProjectsConfiguration("master"));
-    private final PureModelContextService service = new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, projectsService), projectsService);
+    private final UpdatePrecomputedPureModelContexts precomputedStore = new PrecomputedPureModelContextsMongo(mongoProvider);
+    private final PureModelContextService service = new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, projectsService), projectsService, precomputedStore, new PureModelContextConfiguration(true));
 
     private final ObjectMapper objectMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
@@ -146,7 +162,7 @@ public class TestPureModelContextService extends TestBaseServices
     {
 
         EntitiesService mockVersions = Mockito.mock(EntitiesService.class);
-        PureModelContextService newService = new PureModelContextServiceImpl(mockVersions, projectsService);
+        PureModelContextService newService = new PureModelContextServiceImpl(mockVersions, projectsService, precomputedStore, new PureModelContextConfiguration());
         Assert.assertThrows("project version not found for test.legend-blank-prod-master-SNAPSHOT", IllegalArgumentException.class, () -> getPureModelContextDataAsString("test.legend", "blank-prod", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, false));
     }
 
@@ -204,4 +220,155 @@ public class TestPureModelContextService extends TestBaseServices
         Assert.assertNotNull(modelContextDataAsString);
         Assert.assertEquals("{\"_type\":\"data\",\"elements\":[{\"_type\":\"class\",\"constraints\":[],\"name\":\"ClassWithDependency\",\"originalMilestonedProperties\":[],\"package\":\"examples::metadata::test\",\"properties\":[{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"Name\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"String\"}],\"qualifiedProperties\":[],\"stereotypes\":[],\"superTypes\":[],\"taggedValues\":[]},{\"_type\":\"profile\",\"name\":\"TestProfile\",\"package\":\"examples::metadata::test\",\"stereotypes\":[],\"tags\":[]},{\"_type\":\"class\",\"constraints\":[],\"name\":\"ClientBasic\",\"originalMilestonedProperties\":[],\"package\":\"examples::metadata::test\",\"properties\":[{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"Name\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"String\"},{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"EntityId\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"Integer\"},{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"IsActive\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"Boolean\"},{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"RiskScore\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"Float\"},{\"multiplicity\":{\"lowerBound\":1,\"upperBound\":1},\"name\":\"IncorporationDate\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"StrictDate\"},{\"multiplicity\":{\"lowerBound\":0,\"upperBound\":1},\"name\":\"OptionalAlternativeName\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"String\"},{\"multiplicity\":{\"lowerBound\":0,\"upperBound\":1},\"name\":\"newProperty\",\"stereotypes\":[],\"taggedValues\":[],\"type\":\"String\"}],\"qualifiedProperties\":[],\"stereotypes\":[],\"superTypes\":[],\"taggedValues\":[]},{\"_type\":\"profile\",\"name\":\"TestProfileTwo\",\"package\":\"examples::metadata::test::subpackage\",\"stereotypes\":[],\"tags\":[]}],\"origin\":{\"_type\":\"pointer\",\"sdlcInfo\":{\"_type\":\"alloy\",\"baseVersion\":\"master-SNAPSHOT\",\"packageableElementPointers\":[],\"project\":\"examples.metadata:test\",\"version\":\"none\"},\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"}},\"serializer\":{\"name\":\"pure\",\"version\":\"vX_X_X\"}}", modelContextDataAsString);
     }
+
+    @Test
+    public void canReuseBuiltPureModelContextDataForReleasedVersions()
+    {
+        PureModelContextData first = service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+        Assert.assertSame(first, service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true));
+        Assert.assertNotSame(first, service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, false));
+
+        PureModelContextData snapshot = service.getPureModelContextData(TEST_GROUP_ID, "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, false);
+        Assert.assertNotSame(snapshot, service.getPureModelContextData(TEST_GROUP_ID, "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, false));
+    }
+
+    @Test
+    public void canRebuildTransitivePureModelContextDataWhenADependencyIsRefreshed() throws InterruptedException
+    {
+        ProjectsService spiedProjectsService = Mockito.spy(projectsService);
+        PureModelContextService spiedService = new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, spiedProjectsService), spiedProjectsService, precomputedStore, new PureModelContextConfiguration());
+        PureModelContextData first = spiedService.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+        long resolutions = countDependenciesResolutions(spiedProjectsService);
+        Assert.assertTrue(resolutions > 0);
+        Assert.assertSame(first, spiedService.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true));
+        Assert.assertTrue(countDependenciesResolutions(spiedProjectsService) > resolutions);
+
+        ProjectVersion dependency = projectsService.getDependencies("test.legend", "blank-prod", "2.0.0", true).iterator().next();
+        Thread.sleep(10);
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId()).get());
+        PureModelContextData rebuilt = spiedService.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+        Assert.assertNotSame(first, rebuilt);
+        Assert.assertEquals(toString(first), toString(rebuilt));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void cannotBuildTransitivePureModelContextDataOnceClosed()
+    {
+        PureModelContextServiceImpl closedService = new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, projectsService), projectsService, precomputedStore, new PureModelContextConfiguration());
+        closedService.close();
+        closedService.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+    }
+
+    private static long countDependenciesResolutions(ProjectsService spiedProjectsService)
+    {
+        return Mockito.mockingDetails(spiedProjectsService).getInvocations().stream().filter(invocation -> invocation.getMethod().getName().equals("getDependencies")).count();
+    }
+
+    @Test
+    public void canReuseCachedFragmentsUntilTheirVersionIsRefreshed() throws InterruptedException
+    {
+        List<PureModelContextData> first = service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getFragments();
+        List<PureModelContextData> second = service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getFragments();
+        Assert.assertTrue(first.size() > 1);
+        Assert.assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++)
+        {
+            Assert.assertSame(first.get(i), second.get(i));
+        }
+
+        String[] refreshed = ((AlloySDLC) first.get(1).origin.sdlcInfo).project.split(":");
+        String refreshedVersion = first.get(1).origin.sdlcInfo.baseVersion;
+        Thread.sleep(10);
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find(refreshed[0], refreshed[1], refreshedVersion).get());
+        List<PureModelContextData> third = service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getFragments();
+        Assert.assertEquals(first.size(), third.size());
+        Assert.assertSame(first.get(0), third.get(0));
+        Assert.assertNotSame(first.get(1), third.get(1));
+        Assert.assertEquals(toString(first.get(1)), toString(third.get(1)));
+    }
+
+    @Test
+    public void canStreamMergedFragmentsAsSerialisedPureModelContextData() throws IOException
+    {
+        List<PureModelContextData> fragments = service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getFragments();
+        Assert.assertTrue(fragments.size() > 1);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PureModelContextDataWriter.write(fragments, output);
+
+        PureModelContextData pureModelContextData = service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+        String expected = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().writeValueAsString(pureModelContextData);
+        Assert.assertEquals(expected, new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void canServeAndRegeneratePrecomputedPureModelContextData()
+    {
+        String expected = getPureModelContextDataAsString("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true);
+        new PureModelContextPrecomputer(entitiesStore, projectsVersionsStore, precomputedStore, 2).precompute("test.legend", "blank-prod", "2.0.0", Collections.singletonList(CLIENT_VERSION), true);
+
+        PureModelContextService precomputedService = newPrecomputedService();
+        Optional<byte[]> precomputed = precomputedService.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed();
+        Assert.assertTrue(precomputed.isPresent());
+        Assert.assertEquals(expected, toString(PureModelContextDataWriter.decompress(precomputed.get())));
+        Assert.assertTrue(precomputedService.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, false).getPrecomputed().isPresent());
+        Assert.assertFalse(new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, projectsService), projectsService, precomputedStore, new PureModelContextConfiguration(false))
+                .getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed().isPresent());
+
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find("test.legend", "blank-prod", "2.0.0").get());
+        Assert.assertTrue(newPrecomputedService().getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed().isPresent());
+
+        String[] dependency = precomputedStore.find("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).get().getDependencies().get(0).split(":");
+        MetadataEventResponse response = new PureModelContextPrecomputer(entitiesStore, projectsVersionsStore, precomputedStore, 2).precompute(dependency[0], dependency[1], dependency[2], Collections.singletonList(CLIENT_VERSION), true);
+        Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("Regenerated transitive PMCD of [")));
+        precomputed = newPrecomputedService().getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed();
+        Assert.assertTrue(precomputed.isPresent());
+        Assert.assertEquals(expected, toString(PureModelContextDataWriter.decompress(precomputed.get())));
+
+        new PureModelContextPrecomputer(entitiesStore, projectsVersionsStore, precomputedStore, 0).precompute(dependency[0], dependency[1], dependency[2], Collections.singletonList(CLIENT_VERSION), true);
+        PureModelContextService invalidatedService = newPrecomputedService();
+        Assert.assertFalse(invalidatedService.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed().isPresent());
+        Assert.assertTrue(invalidatedService.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, false).getPrecomputed().isPresent());
+
+        Assert.assertEquals(expected, toString(service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getFragments().get(0)));
+        Assert.assertFalse(service.getPureModelContextDataContent("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).getPrecomputed().isPresent());
+    }
+
+    @Test
+    public void cannotStorePrecomputedPureModelContextDataOverTheMaximumSize()
+    {
+        MetadataEventResponse response = new PureModelContextPrecomputer(entitiesStore, projectsVersionsStore, precomputedStore, 2, 1).precompute("test.legend", "blank-prod", "2.0.0", Collections.singletonList(CLIENT_VERSION), true);
+        Assert.assertEquals(2, response.getMessages().stream().filter(message -> message.startsWith("Skipping PMCD for [test.legend-blank-prod-2.0.0]")).count());
+        Assert.assertFalse(precomputedStore.find("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, false).isPresent());
+        Assert.assertFalse(precomputedStore.find("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true).isPresent());
+    }
+
+    private PureModelContextService newPrecomputedService()
+    {
+        return new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, projectsService), projectsService, precomputedStore, new PureModelContextConfiguration(true));
+    }
+
+    @Test
+    public void canBuildTransitiveFragmentsConcurrentlyAsSequentially() throws IOException
+    {
+        ProjectVersion root = new ProjectVersion("test.legend", "blank-prod", "2.0.0");
+        List<ProjectVersion> dependencies = projectsService.getDependencies(Collections.singletonList(root), true).stream().sorted(PureModelContextFragments.PROJECT_VERSION_ORDER).collect(Collectors.toList());
+        Assert.assertFalse(dependencies.isEmpty());
+
+        List<PureModelContextData> fragments = service.getPureModelContextDataContent(root.getGroupId(), root.getArtifactId(), root.getVersionId(), CLIENT_VERSION, true).getFragments();
+        Assert.assertEquals(dependencies.size() + 1, fragments.size());
+        Assert.assertEquals(root.getVersionId(), fragments.get(0).origin.sdlcInfo.baseVersion);
+        for (int i = 0; i < dependencies.size(); i++)
+        {
+            Assert.assertEquals(dependencies.get(i).getGroupId() + ":" + dependencies.get(i).getArtifactId(), ((AlloySDLC) fragments.get(i + 1).origin.sdlcInfo).project);
+        }
+
+        PureModelContextData.Builder sequential = PureModelContextData.newBuilder().withPureModelContextData(PureModelContextFragments.toPureModelContextData(entitiesStore.getAllEntities(root.getGroupId(), root.getArtifactId(), root.getVersionId()), root.getGroupId(), root.getArtifactId(), root.getVersionId(), CLIENT_VERSION));
+        dependencies.forEach(dependency -> sequential.addPureModelContextData(PureModelContextFragments.toPureModelContextData(entitiesStore.getAllEntities(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId()), dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId(), CLIENT_VERSION)));
+        PureModelContextData expected = sequential.distinct().sorted().build();
+        Assert.assertEquals(toString(expected), getPureModelContextDataAsString(root.getGroupId(), root.getArtifactId(), root.getVersionId(), CLIENT_VERSION, true));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PureModelContextDataWriter.write(fragments, output);
+        Assert.assertEquals(ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().writeValueAsString(expected), new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
@@ -16,9 +16,23 @@
 package org.finos.legend.depot.server.configuration;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.finos.legend.depot.core.http.ServersConfiguration;
+import org.finos.legend.depot.server.pure.model.context.configuration.PureModelContextConfiguration;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class DepotServerConfiguration extends ServersConfiguration
 {
+    @JsonProperty("pureModelContextConfiguration")
+    private PureModelContextConfiguration pureModelContextConfiguration;
+
+    public PureModelContextConfiguration getPureModelContextConfiguration()
+    {
+        return pureModelContextConfiguration;
+    }
+
+    public void setPureModelContextConfiguration(PureModelContextConfiguration pureModelContextConfiguration)
+    {
+        this.pureModelContextConfiguration = pureModelContextConfiguration;
+    }
 }
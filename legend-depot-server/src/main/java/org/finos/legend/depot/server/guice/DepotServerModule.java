@@ -15,9 +15,52 @@
 
 package org.finos.legend.depot.server.guice;
 
+import com.google.inject.Binder;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import io.dropwizard.lifecycle.Managed;
 import org.finos.legend.depot.core.http.guice.BaseModule;
 import org.finos.legend.depot.server.configuration.DepotServerConfiguration;
+import org.finos.legend.depot.server.pure.model.context.api.PureModelContextService;
+import org.finos.legend.depot.server.pure.model.context.configuration.PureModelContextConfiguration;
+
+import javax.inject.Named;
 
 public class DepotServerModule extends BaseModule<DepotServerConfiguration>
 {
+    @Override
+    public void configure(Binder binder)
+    {
+        super.configure(binder);
+        binder.bind(PureModelContextConfiguration.class).toProvider(this::getPureModelContextConfiguration);
+    }
+
+    private PureModelContextConfiguration getPureModelContextConfiguration()
+    {
+        return getConfiguration().getPureModelContextConfiguration() != null ? getConfiguration().getPureModelContextConfiguration() : new PureModelContextConfiguration();
+    }
+
+    @Provides
+    @Singleton
+    @Named("pure-model-context-lifecycle")
+    boolean managePureModelContextService(PureModelContextService pureModelContextService)
+    {
+        if (pureModelContextService instanceof AutoCloseable)
+        {
+            getEnvironment().lifecycle().manage(new Managed()
+            {
+                @Override
+                public void start()
+                {
+                }
+
+                @Override
+                public void stop() throws Exception
+                {
+                    ((AutoCloseable) pureModelContextService).close();
+                }
+            });
+        }
+        return true;
+    }
 }
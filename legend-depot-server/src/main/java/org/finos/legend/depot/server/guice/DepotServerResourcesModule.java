@@ -19,6 +19,7 @@ import com.google.inject.PrivateModule;
 import org.finos.legend.depot.server.resources.ProjectsResource;
 import org.finos.legend.depot.server.resources.ProjectsVersionsResource;
 import org.finos.legend.depot.server.resources.dependencies.DependenciesResource;
+import org.finos.legend.depot.server.resources.dependencies.DependencyGraphResource;
 import org.finos.legend.depot.server.resources.entities.EntitiesResource;
 import org.finos.legend.depot.server.resources.entities.EntityClassifierResource;
 import org.finos.legend.depot.server.resources.file.FileGenerationsResource;
@@ -33,6 +34,7 @@ public class DepotServerResourcesModule extends PrivateModule
         bind(EntitiesResource.class);
         bind(EntityClassifierResource.class);
         bind(DependenciesResource.class);
+        bind(DependencyGraphResource.class);
         bind(FileGenerationsResource.class);
 
 
@@ -41,6 +43,7 @@ public class DepotServerResourcesModule extends PrivateModule
         expose(EntityClassifierResource.class);
         expose(EntitiesResource.class);
         expose(DependenciesResource.class);
+        expose(DependencyGraphResource.class);
         expose(FileGenerationsResource.class);
 
     }
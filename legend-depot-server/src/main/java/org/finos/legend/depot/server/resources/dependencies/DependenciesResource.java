@@ -43,21 +43,39 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_DEPENDANT_PROJECTS;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_PROJECT_DEPENDENCIES;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_PROJECT_DEPENDENCY_TREE;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_PROJECT_DEPENDENCY_TREES;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSIONS_DEPENDENCY_ENTITIES;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_DEPENDENCY_ENTITIES;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.STREAM_VERSIONS_DEPENDENCY_ENTITIES;
 
 @Path("")
 @Api("Dependencies")
 public class DependenciesResource extends BaseResource
 {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
     private final EntitiesService entitiesService;
     private final ProjectsService projectApi;
 
@@ -89,6 +107,15 @@ public class DependenciesResource extends BaseResource
         return handle(GET_PROJECT_DEPENDENCY_TREE, GET_PROJECT_DEPENDENCY_TREE, () -> this.projectApi.getProjectDependencyReport(projectDependencies));
     }
 
+    @POST
+    @Path("/projects/analyzeDependencyTrees")
+    @ApiOperation(GET_PROJECT_DEPENDENCY_TREES)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ProjectDependencyReport> analyzeDependencyTrees(@ApiParam("up to 100 sets of project dependencies, one report is returned per set") List<List<ProjectVersion>> projectDependencySets)
+    {
+        return handle(GET_PROJECT_DEPENDENCY_TREES, GET_PROJECT_DEPENDENCY_TREES, () -> this.projectApi.getProjectDependencyReports(projectDependencySets));
+    }
+
     @GET
     @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/dependantProjects")
     @ApiOperation(GET_DEPENDANT_PROJECTS)
@@ -133,6 +160,47 @@ public class DependenciesResource extends BaseResource
         return handle(GET_VERSIONS_DEPENDENCY_ENTITIES, () -> this.entitiesService.getDependenciesEntities(projectDependencies, transitive, includeOrigin));
     }
 
+    @POST
+    @Path("/projects/dependencies")
+    @ApiOperation(value = STREAM_VERSIONS_DEPENDENCY_ENTITIES, notes = "one ProjectVersionEntities json document per line, in the order dependencies are fetched")
+    @Produces(APPLICATION_NDJSON + ";qs=0.5")
+    public StreamingOutput streamAllEntitiesFromDependencies(@ApiParam("projectDependencies") List<ProjectVersion> projectDependencies,
+                                                             @QueryParam("transitive") @DefaultValue("false")
+                                                             @ApiParam("Whether to return transitive dependencies") boolean transitive,
+                                                             @QueryParam("includeOrigin") @DefaultValue("false")
+                                                             @ApiParam("Whether to return start of dependency tree") boolean includeOrigin,
+                                                             @Context Providers providers)
+    {
+        MessageBodyWriter<ProjectVersionEntities> jsonWriter = providers.getMessageBodyWriter(ProjectVersionEntities.class, ProjectVersionEntities.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+        return handleStreaming(STREAM_VERSIONS_DEPENDENCY_ENTITIES, output ->
+        {
+            Consumer<ProjectVersionEntities> writer = projectVersionEntities -> writeLine(output, jsonWriter, projectVersionEntities);
+            this.entitiesService.streamDependenciesEntities(projectDependencies, transitive, includeOrigin, writer);
+        });
+    }
+
+    /**
+     * Writes one record with the same json writer as the json endpoints, so both representations serialise alike.
+     */
+    private static void writeLine(OutputStream output, MessageBodyWriter<ProjectVersionEntities> jsonWriter, ProjectVersionEntities projectVersionEntities)
+    {
+        try
+        {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            jsonWriter.writeTo(projectVersionEntities, ProjectVersionEntities.class, ProjectVersionEntities.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), line);
+            synchronized (output)
+            {
+                line.writeTo(output);
+                output.write(NEW_LINE);
+                output.flush();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     @Deprecated
     private static final class ProjectVersionPlatformDependency extends VersionedData
@@ -0,0 +1,89 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.server.resources.dependencies;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.dependencies.DependencyGraphService;
+import org.finos.legend.depot.tracing.resources.BaseResource;
+
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_GRAPH_CONFLICTS;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_GRAPH_DEPENDANTS;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_GRAPH_DEPENDENCIES;
+
+@Path("")
+@Api("Dependencies")
+public class DependencyGraphResource extends BaseResource
+{
+    private final DependencyGraphService dependencyGraph;
+
+    @Inject
+    public DependencyGraphResource(DependencyGraphService dependencyGraph)
+    {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    @GET
+    @Path("/dependencyGraph/projects/{groupId}/{artifactId}/versions/{versionId}/dependencies")
+    @ApiOperation(value = GET_GRAPH_DEPENDENCIES, notes = "answered from the in memory dependency graph, which can lag the store by up to a minute")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Set<ProjectVersion> getDependencies(@PathParam("groupId") String groupId,
+                                               @PathParam("artifactId") String artifactId,
+                                               @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                               @QueryParam("transitive") @DefaultValue("false") @ApiParam("Whether to return transitive dependencies") boolean transitive)
+    {
+        return handle(GET_GRAPH_DEPENDENCIES, GET_GRAPH_DEPENDENCIES + groupId + artifactId, () -> this.dependencyGraph.getDependencies(Collections.singletonList(new ProjectVersion(groupId, artifactId, versionId)), transitive));
+    }
+
+    @GET
+    @Path("/dependencyGraph/projects/{groupId}/{artifactId}/versions/{versionId}/dependants")
+    @ApiOperation(value = GET_GRAPH_DEPENDANTS, notes = "answered from the in memory dependency graph, which can lag the store by up to a minute")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Set<ProjectVersion> getDependants(@PathParam("groupId") String groupId,
+                                             @PathParam("artifactId") String artifactId,
+                                             @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                             @QueryParam("transitive") @DefaultValue("false") @ApiParam("Whether to return transitive dependants") boolean transitive)
+    {
+        return handle(GET_GRAPH_DEPENDANTS, GET_GRAPH_DEPENDANTS + groupId + artifactId, () -> this.dependencyGraph.getDependants(new ProjectVersion(groupId, artifactId, versionId), transitive));
+    }
+
+    @POST
+    @Path("/dependencyGraph/conflicts")
+    @ApiOperation(value = GET_GRAPH_CONFLICTS, notes = "projects reached with more than one version from the given project versions")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ProjectDependencyReport.ProjectDependencyConflict> getConflicts(@ApiParam("projectDependencies") List<ProjectVersion> projectDependencies)
+    {
+        return handle(GET_GRAPH_CONFLICTS, () -> this.dependencyGraph.getConflicts(projectDependencies));
+    }
+}
@@ -18,6 +18,10 @@ package org.finos.legend.depot.server.resources.entities;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import org.finos.legend.depot.domain.entity.EntitiesBatchResponse;
+import org.finos.legend.depot.domain.entity.EntitiesDelta;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
+import org.finos.legend.depot.domain.entity.PackageSummary;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.tracing.resources.BaseResource;
@@ -25,7 +29,9 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -37,7 +43,11 @@ import java.util.Set;
 
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_BY_PACKAGE;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_BY_PATHS;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_DELTA;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_PAGE;
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_ENTITY;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_VERSION_PACKAGES;
 
 @Path("")
 @Api("Entities")
@@ -57,12 +67,39 @@ public class EntitiesResource extends BaseResource
     @Produces(MediaType.APPLICATION_JSON)
     public List<Entity> getEntities(@PathParam("groupId") String groupId,
                                     @PathParam("artifactId") String artifactId,
-                                    @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId)
+                                    @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                    @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields)
     {
-        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, versionId));
+        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, versionId, fields));
     }
 
 
+    @GET
+    @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/entities/page")
+    @ApiOperation(value = GET_VERSION_ENTITIES_PAGE, notes = "entities sorted by path, pass back nextCursor to get the following page")
+    @Produces(MediaType.APPLICATION_JSON)
+    public EntitiesPage<Entity> getEntitiesPage(@PathParam("groupId") String groupId,
+                                                @PathParam("artifactId") String artifactId,
+                                                @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                                @QueryParam("cursor") @ApiParam("nextCursor returned by the previous page") String cursor,
+                                                @QueryParam("limit") @DefaultValue("100") @ApiParam("Maximum number of entities in the page") int limit,
+                                                @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields)
+    {
+        return handle(GET_VERSION_ENTITIES_PAGE, () -> this.entitiesService.getEntitiesPage(groupId, artifactId, versionId, cursor, limit, fields));
+    }
+
+    @GET
+    @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/entities/delta")
+    @ApiOperation(value = GET_VERSION_ENTITIES_DELTA, notes = "entities added, changed and removed since fromVersionId, apply it to the entities of fromVersionId to get the ones of versionId")
+    @Produces(MediaType.APPLICATION_JSON)
+    public EntitiesDelta getEntitiesDelta(@PathParam("groupId") String groupId,
+                                          @PathParam("artifactId") String artifactId,
+                                          @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                          @QueryParam("fromVersionId") @ApiParam(value = "version the client already holds, " + VersionValidator.VALID_VERSION_ID_TXT) String fromVersionId)
+    {
+        return handle(GET_VERSION_ENTITIES_DELTA, () -> this.entitiesService.getEntitiesDelta(groupId, artifactId, fromVersionId, versionId));
+    }
+
     @GET
     @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/entities/{path}")
     @ApiOperation(GET_VERSION_ENTITY)
@@ -70,9 +107,23 @@ public class EntitiesResource extends BaseResource
     public Optional<Entity> getEntity(@PathParam("groupId") String groupId,
                                       @PathParam("artifactId") String artifactId,
                                       @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
-                                      @PathParam("path") String entityPath)
+                                      @PathParam("path") String entityPath,
+                                      @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields)
+    {
+        return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> this.entitiesService.getEntity(groupId, artifactId, versionId, entityPath, fields));
+    }
+
+    @POST
+    @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/entities/batch")
+    @ApiOperation(value = GET_VERSION_ENTITIES_BY_PATHS, notes = "paths not found in the version are returned in missingPaths")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public EntitiesBatchResponse getEntitiesByPaths(@PathParam("groupId") String groupId,
+                                                    @PathParam("artifactId") String artifactId,
+                                                    @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                                    @ApiParam("entity paths") List<String> entityPaths)
     {
-        return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> this.entitiesService.getEntity(groupId, artifactId, versionId, entityPath));
+        return handle(GET_VERSION_ENTITIES_BY_PATHS, () -> this.entitiesService.getEntities(groupId, artifactId, versionId, entityPaths));
     }
 
     @GET
@@ -86,10 +137,22 @@ public class EntitiesResource extends BaseResource
                                     @QueryParam("classifierPath") @ApiParam("Only include ENTITIES with one of these classifier paths.") Set<String> classifierPaths,
                                     @QueryParam("includeSubPackages")
                                     @DefaultValue("true")
-                                    @ApiParam("Whether to include ENTITIES from subpackages or only directly in one of the given packages") boolean includeSubPackages
+                                    @ApiParam("Whether to include ENTITIES from subpackages or only directly in one of the given packages") boolean includeSubPackages,
+                                    @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields
     )
     {
-        return handle(GET_VERSION_ENTITIES_BY_PACKAGE, GET_VERSION_ENTITIES_BY_PACKAGE + packageName, () -> entitiesService.getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages));
+        return handle(GET_VERSION_ENTITIES_BY_PACKAGE, GET_VERSION_ENTITIES_BY_PACKAGE + packageName, () -> entitiesService.getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages, fields));
     }
 
+    @GET
+    @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/packages")
+    @ApiOperation(value = GET_VERSION_PACKAGES, notes = "child packages of the given package (or root packages if none given) with their entity counts")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<PackageSummary> getPackages(@PathParam("groupId") String groupId,
+                                            @PathParam("artifactId") String artifactId,
+                                            @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                            @QueryParam("package") String packageName)
+    {
+        return handle(GET_VERSION_PACKAGES, GET_VERSION_PACKAGES + packageName, () -> this.entitiesService.getPackages(groupId, artifactId, versionId, packageName));
+    }
 }
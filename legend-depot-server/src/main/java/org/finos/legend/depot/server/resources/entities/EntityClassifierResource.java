@@ -18,6 +18,7 @@ package org.finos.legend.depot.server.resources.entities;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
@@ -32,8 +33,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import java.util.List;
+import java.util.Set;
 
 import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_ENTITIES_BY_CLASSIFIER_PATH;
+import static org.finos.legend.depot.tracing.resources.ResourceLoggingAndTracing.GET_ENTITIES_BY_CLASSIFIER_PATH_PAGE;
 
 @Path("")
 @Api("Classifiers")
@@ -58,8 +61,24 @@ public class EntityClassifierResource extends BaseResource
                                           @QueryParam("search") @ApiParam("The search string that the entity path contains") String search,
                                           @QueryParam("scope") @ApiParam("Whether to return entities for the latest released version or snapshot") @DefaultValue("RELEASES") Scope scope,
                                           @QueryParam("limit") @ApiParam("Limit the number of entities returned") Integer limit,
-                                          @QueryParam("summary") @DefaultValue("false") @ApiParam("Whether to return the summary view of the ENTITIES or the full entity") boolean summary)
+                                          @QueryParam("summary") @DefaultValue("false") @ApiParam("Whether to return the summary view of the ENTITIES or the full entity") boolean summary,
+                                          @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields)
     {
-        return handle(GET_ENTITIES_BY_CLASSIFIER_PATH, () -> this.graphService.getEntitiesByClassifierPath(classifierPath, search, limit, scope, summary));
+        return handle(GET_ENTITIES_BY_CLASSIFIER_PATH, () -> this.graphService.getEntitiesByClassifierPath(classifierPath, search, limit, scope, summary, fields));
+    }
+
+    @GET
+    @Path("/entitiesByClassifierPath/{classifierPath}/page")
+    @ApiOperation(value = GET_ENTITIES_BY_CLASSIFIER_PATH_PAGE, hidden = true)
+    @Produces(MediaType.APPLICATION_JSON)
+    public EntitiesPage<StoredEntity> getEntitiesPage(@PathParam("classifierPath") @ApiParam("The classifier path of the entities") String classifierPath,
+                                                      @QueryParam("search") @ApiParam("The search string that the entity path contains") String search,
+                                                      @QueryParam("scope") @ApiParam("Whether to return entities for the latest released version or snapshot") @DefaultValue("RELEASES") Scope scope,
+                                                      @QueryParam("cursor") @ApiParam("nextCursor returned by the previous page") String cursor,
+                                                      @QueryParam("limit") @DefaultValue("100") @ApiParam("Maximum number of entities in the page") int limit,
+                                                      @QueryParam("summary") @DefaultValue("false") @ApiParam("Whether to return the summary view of the ENTITIES or the full entity") boolean summary,
+                                                      @QueryParam("fields") @ApiParam("Only return these keys of the entity content") Set<String> fields)
+    {
+        return handle(GET_ENTITIES_BY_CLASSIFIER_PATH_PAGE, () -> this.graphService.getEntitiesByClassifierPathPage(classifierPath, search, cursor, limit, scope, summary, fields));
     }
 }
@@ -16,6 +16,8 @@
 package org.finos.legend.depot.server;
 
 import com.squarespace.jersey2.guice.JerseyGuiceUtils;
+import org.finos.legend.depot.domain.entity.EntitiesBatchResponse;
+import org.finos.legend.depot.domain.entity.EntitiesPage;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectData;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
@@ -23,6 +25,7 @@ import org.finos.legend.depot.server.resources.entities.EntitiesResource;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
+import org.finos.legend.depot.services.entities.EntityCursor;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
 import org.finos.legend.depot.services.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
@@ -38,10 +41,15 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 import static org.mockito.Mockito.mock;
@@ -86,7 +94,7 @@ public class TestQueryEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntitiesForProjectAndVersion()
     {
-        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0");
+        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", null);
         Assert.assertNotNull(entityList);
         Assert.assertEquals(7, entityList.size());
     }
@@ -94,16 +102,71 @@ public class TestQueryEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntityByPathForProjectAndVersion()
     {
-        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile").get();
+        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", null).get();
         Assert.assertNotNull(entity);
         Assert.assertEquals("meta::pure::metamodel::extension::Profile", entity.getClassifierPath());
 
     }
 
+    @Test
+    public void canPageThroughEntitiesForProjectAndVersion()
+    {
+        List<String> paths = new ArrayList<>();
+        EntitiesPage<Entity> page = entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", null, 3, null);
+        Assert.assertEquals(3, page.getEntities().size());
+        page.getEntities().forEach(entity -> paths.add(entity.getPath()));
+        while (page.getNextCursor() != null)
+        {
+            page = entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", page.getNextCursor(), 3, null);
+            page.getEntities().forEach(entity -> paths.add(entity.getPath()));
+        }
+        Assert.assertEquals(7, paths.size());
+        Assert.assertEquals(paths.stream().sorted().distinct().collect(Collectors.toList()), paths);
+        Assert.assertThrows(IllegalArgumentException.class, () -> entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", "not a cursor", 3, null));
+    }
+
+    @Test
+    public void cannotPageWithCursorOfAnotherVersion()
+    {
+        EntitiesPage<Entity> first = entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", null, 3, null);
+        Assert.assertThrows(IllegalArgumentException.class, () -> entitiesResource.getEntitiesPage("examples.metadata", "test", BRANCH_SNAPSHOT("master"), first.getNextCursor(), 3, null));
+
+        EntitiesPage<Entity> second = entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", first.getNextCursor(), 3, null);
+        EntitiesPage<Entity> secondOfLatest = entitiesResource.getEntitiesPage("examples.metadata", "test", "latest", first.getNextCursor(), 3, null);
+        Assert.assertEquals(second.getEntities().stream().map(Entity::getPath).collect(Collectors.toList()), secondOfLatest.getEntities().stream().map(Entity::getPath).collect(Collectors.toList()));
+        Assert.assertEquals(second.getNextCursor(), secondOfLatest.getNextCursor());
+
+        String otherArtifactCursor = new EntityCursor(0, new ProjectVersion("examples.metadata", "other", "2.3.0"), "examples::metadata::test::TestProfile").encode();
+        Assert.assertThrows(IllegalArgumentException.class, () -> entitiesResource.getEntitiesPage("examples.metadata", "test", "2.3.0", otherArtifactCursor, 3, null));
+    }
+
+    @Test
+    public void canGetEntityContentFieldsForProjectAndVersion()
+    {
+        Set<String> fields = new HashSet<>(Arrays.asList("package", "name"));
+        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", fields).get();
+        Assert.assertEquals("examples::metadata::test::TestProfile", entity.getPath());
+        Assert.assertEquals("meta::pure::metamodel::extension::Profile", entity.getClassifierPath());
+        Assert.assertEquals(fields, entity.getContent().keySet());
+
+        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", fields);
+        Assert.assertEquals(7, entityList.size());
+        entityList.forEach(e -> Assert.assertTrue(fields.containsAll(e.getContent().keySet())));
+    }
+
+    @Test
+    public void canGetEntitiesByPathsForProjectAndVersion()
+    {
+        EntitiesBatchResponse response = entitiesResource.getEntitiesByPaths("examples.metadata", "test", "2.3.0", Arrays.asList("examples::metadata::test::TestProfile", "examples::metadata::test::Missing"));
+        Assert.assertEquals(1, response.getEntities().size());
+        Assert.assertEquals("examples::metadata::test::TestProfile", response.getEntities().get(0).getPath());
+        Assert.assertEquals(Collections.singletonList("examples::metadata::test::Missing"), response.getMissingPaths());
+    }
+
     @Test
     public void canGetEntitiesByPackageForProjectAndVersion()
     {
-        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true);
+        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true, null);
         Assert.assertNotNull(entityList);
         Assert.assertEquals(4, entityList.size());
 
@@ -117,14 +180,14 @@ public class TestQueryEntitiesResource extends TestBaseServices
         Assert.assertEquals(0, metricsStore.get("examples.metadata", "test", "2.3.0").size());
 
         when(projects.find("examples.metadata","test")).thenReturn(Optional.of(new StoreProjectData("mock","examples.metadata","test")));
-        entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true);
+        entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true, null);
         metricsHandler.persistMetrics();
 
         Assert.assertEquals(1, metricsStore.get("examples.metadata", "test", "2.3.0").size());
         Assert.assertNotNull(metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getLastQueryTime());
         TimeUnit.SECONDS.sleep(30);
 
-        entitiesResource.getEntities("example.services.test", "test", "1.0.1");
+        entitiesResource.getEntities("example.services.test", "test", "1.0.1", null);
         metricsHandler.persistMetrics();
 
         Assert.assertNotNull(metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getLastQueryTime());
@@ -154,7 +217,7 @@ public class TestQueryEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntityByElementPath()
     {
-        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile").get();
+        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", null).get();
         Assert.assertNotNull(entity);
         Assert.assertEquals("meta::pure::metamodel::extension::Profile", entity.getClassifierPath());
     }
@@ -162,7 +225,7 @@ public class TestQueryEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntityByPathWithVersion()
     {
-        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile").get();
+        Entity entity = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", null).get();
         Assert.assertNotNull(entity);
         Assert.assertEquals("meta::pure::metamodel::extension::Profile", entity.getClassifierPath());
     }
@@ -170,7 +233,7 @@ public class TestQueryEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntitiesByPackage()
     {
-        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true);
+        List<Entity> entityList = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true, null);
         Assert.assertNotNull(entityList);
         Assert.assertEquals(4, entityList.size());
 
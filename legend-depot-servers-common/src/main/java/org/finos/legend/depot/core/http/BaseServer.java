@@ -36,6 +36,7 @@ import org.eclipse.jetty.util.component.LifeCycle;
 import org.finos.legend.depot.store.StorageConfiguration;
 import org.finos.legend.depot.tracing.configuration.PrometheusMetricsProviderConfiguration;
 import org.finos.legend.depot.tracing.configuration.TracingAuthenticationProviderConfiguration;
+import org.finos.legend.depot.tracing.services.ResourceBulkheads;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerExceptionMapper;
 import org.finos.legend.server.pac4j.LegendPac4jBundle;
 import org.finos.legend.server.shared.bundles.ChainFixingFilterHandler;
@@ -122,6 +123,8 @@ public abstract class BaseServer<T extends ServersConfiguration> extends Applica
             }
         });
 
+        ResourceBulkheads.configure(configuration.getBulkheads());
+
         initialiseCors(environment);
         initialisePrometheusMetrics(environment);
         initialiseOpenTracing(environment);
@@ -21,6 +21,7 @@ import io.dropwizard.Configuration;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
 import org.finos.legend.depot.services.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.store.StorageConfiguration;
+import org.finos.legend.depot.tracing.configuration.BulkheadConfiguration;
 import org.finos.legend.depot.tracing.configuration.OpenTracingConfiguration;
 import org.finos.legend.depot.tracing.configuration.PrometheusConfiguration;
 import org.finos.legend.server.pac4j.LegendPac4jConfiguration;
@@ -71,6 +72,10 @@ public class ServersConfiguration extends Configuration
     @JsonProperty("urlPattern")
     private String urlPattern;
 
+    // concurrency limits keyed by ApiOperation nickname (or value when it has no nickname)
+    @JsonProperty("bulkheads")
+    private Map<String, BulkheadConfiguration> bulkheads;
+
     public String getDeployment()
     {
         return deployment;
@@ -140,4 +145,9 @@ public class ServersConfiguration extends Configuration
     {
         return this.urlPattern;
     }
+
+    public Map<String, BulkheadConfiguration> getBulkheads()
+    {
+        return this.bulkheads;
+    }
 }
@@ -17,6 +17,8 @@ package org.finos.legend.depot.store.admin.api.artifacts;
 
 import org.finos.legend.depot.store.admin.domain.artifacts.ArtifactFile;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ArtifactsFilesStore
@@ -25,4 +27,8 @@ public interface ArtifactsFilesStore
 
     Optional<ArtifactFile> find(String path);
 
+    List<ArtifactFile> find(Collection<String> paths);
+
+    long createOrUpdate(List<ArtifactFile> details);
+
 }
@@ -20,22 +20,64 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 public interface Entities<T extends StoredEntity>
 {
-    List<Entity> getAllEntities(String groupId, String artifactId, String versionId);
+    /**
+     * A null or empty contentFields returns the whole content of each entity
+     */
+    List<Entity> getAllEntities(String groupId, String artifactId, String versionId, Set<String> contentFields);
 
-    Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path);
+    default List<Entity> getAllEntities(String groupId, String artifactId, String versionId)
+    {
+        return getAllEntities(groupId, artifactId, versionId, null);
+    }
 
-    List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages);
+    Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path, Set<String> contentFields);
+
+    default Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path)
+    {
+        return getEntity(groupId, artifactId, versionId, path, null);
+    }
+
+    List<Entity> getEntities(String groupId, String artifactId, String versionId, List<String> paths, Set<String> contentFields);
+
+    default List<Entity> getEntities(String groupId, String artifactId, String versionId, List<String> paths)
+    {
+        return getEntities(groupId, artifactId, versionId, paths, null);
+    }
+
+    List<Entity> getEntitiesPage(String groupId, String artifactId, String versionId, String afterPath, int limit, Set<String> contentFields);
+
+    List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Set<String> contentFields);
+
+    default List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    {
+        return getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages, null);
+    }
 
     List<T> getAllStoredEntities();
 
-    List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary);
+    List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary, Set<String> contentFields);
 
-    List<T> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary);
+    default List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary)
+    {
+        return findReleasedEntitiesByClassifier(classifier, search, projectVersions, limit, summary, null);
+    }
+
+    List<T> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary, Set<String> contentFields);
+
+    default List<T> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary)
+    {
+        return findLatestEntitiesByClassifier(classifier, search, limit, summary, null);
+    }
+
+    List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, ProjectVersion after, String afterPath, int limit, boolean summary, Set<String> contentFields);
+
+    List<T> findLatestEntitiesByClassifier(String classifier, String search, ProjectVersion after, String afterPath, int limit, boolean summary, Set<String> contentFields);
 
     List<T> findReleasedEntitiesByClassifier(String classifier, boolean summary);
 
@@ -45,4 +87,12 @@ public interface Entities<T extends StoredEntity>
 
     List<T> getStoredEntities(String groupId, String artifactId, String versionId);
 
+    List<T> getStoredEntitiesSummary(String groupId, String artifactId, String versionId);
+
+    /**
+     * Entity path to content hash of every entity in the version.
+     * The hash is null for entities stored before content hashes were recorded
+     */
+    Map<String, String> getEntityContentHashes(String groupId, String artifactId, String versionId);
+
 }
@@ -19,6 +19,7 @@ import org.eclipse.collections.api.tuple.Pair;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 
 import java.util.List;
+import java.util.Set;
 
 public interface UpdateEntities<T extends StoredEntity> extends Entities<T>
 {
@@ -29,6 +30,8 @@ public interface UpdateEntities<T extends StoredEntity> extends Entities<T>
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long deleteStale(String groupId, String artifactId, String versionId, Set<String> entityPaths);
+
     List<T> getStoredEntities(String groupId, String artifactId);
 
     List<Pair<String, String>> getStoredEntitiesCoordinates();
@@ -15,8 +15,10 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.StoreProjectData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +33,11 @@ public interface Projects
 
     Optional<StoreProjectData> find(String groupId, String artifactId);
 
+    /**
+     * Coordinates of all the given projects in a single lookup, unknown projects are skipped
+     */
+    List<StoreProjectData> find(Collection<? extends CoordinateData> coordinates);
+
     @Deprecated
     List<StoreProjectData> findByProjectId(String projectId);
 }
@@ -15,9 +15,13 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProjectsVersions
@@ -28,7 +32,28 @@ public interface ProjectsVersions
 
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    /**
+     * All the given project versions in a single lookup, versions are matched exactly (no aliases) and unknown ones are skipped
+     */
+    List<StoreProjectVersionData> find(Collection<ProjectVersion> projectVersions);
+
+    /**
+     * Stamp of the last write of each of the given project versions, matched exactly and skipping unknown ones
+     */
+    Map<ProjectVersion, Date> findUpdated(Collection<ProjectVersion> projectVersions);
+
     long getVersionCount(String groupId, String artifactId);
 
     List<StoreProjectVersionData> findVersion(Boolean excluded);
+
+    /**
+     * Project versions declaring a direct dependency on the given project version.
+     * A null versionId matches dependencies on any version of the project
+     */
+    List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId);
+
+    /**
+     * Coordinates and direct dependencies only of the versions written at or after updatedSince (epoch millis), all versions when not positive
+     */
+    List<StoreProjectVersionData> findVersionDependencies(long updatedSince);
 }
\ No newline at end of file
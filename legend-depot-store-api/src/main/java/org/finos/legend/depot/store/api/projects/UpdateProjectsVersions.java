@@ -17,10 +17,17 @@ package org.finos.legend.depot.store.api.projects;
 
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
 
+import java.util.List;
+
 public interface UpdateProjectsVersions extends ProjectsVersions
 {
     StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectVersionData);
 
+    /**
+     * Writes only the transitive dependencies report (and updated stamp) of each version, leaving the rest of the stored version untouched
+     */
+    long updateTransitiveDependencies(List<StoreProjectVersionData> projectVersionData);
+
     long delete(String groupId, String artifactId);
 
     long delete(String groupId, String artifactId, String versionId);
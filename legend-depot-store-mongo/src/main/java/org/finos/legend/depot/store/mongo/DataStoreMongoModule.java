@@ -17,12 +17,14 @@ package org.finos.legend.depot.store.mongo;
 
 import org.finos.legend.depot.store.api.entities.Entities;
 import org.finos.legend.depot.store.api.generation.file.FileGenerations;
+import org.finos.legend.depot.store.api.pmcd.PrecomputedPureModelContexts;
 import org.finos.legend.depot.store.api.projects.Projects;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.mongo.core.MongoClientModule;
 import org.finos.legend.depot.store.api.versionedEntities.VersionedEntities;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.generation.file.FileGenerationsMongo;
+import org.finos.legend.depot.store.mongo.pmcd.PrecomputedPureModelContextsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
@@ -38,11 +40,13 @@ public class DataStoreMongoModule extends MongoClientModule
         bind(Entities.class).to(EntitiesMongo.class);
         bind(VersionedEntities.class).to(VersionedEntitiesMongo.class);
         bind(FileGenerations.class).to(FileGenerationsMongo.class);
+        bind(PrecomputedPureModelContexts.class).to(PrecomputedPureModelContextsMongo.class);
 
         expose(Entities.class);
         expose(VersionedEntities.class);
         expose(ProjectsVersions.class);
         expose(FileGenerations.class);
         expose(Projects.class);
+        expose(PrecomputedPureModelContexts.class);
     }
 }
@@ -17,11 +17,13 @@ package org.finos.legend.depot.store.mongo;
 
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.generation.file.UpdateFileGenerations;
+import org.finos.legend.depot.store.api.pmcd.UpdatePrecomputedPureModelContexts;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
 import org.finos.legend.depot.store.api.versionedEntities.UpdateVersionedEntities;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.generation.file.FileGenerationsMongo;
+import org.finos.legend.depot.store.mongo.pmcd.PrecomputedPureModelContextsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
@@ -37,11 +39,13 @@ public class ManageDataStoreMongoModule extends DataStoreMongoModule
         bind(UpdateProjects.class).to(ProjectsMongo.class);
         bind(UpdateProjectsVersions.class).to(ProjectsVersionsMongo.class);
         bind(UpdateFileGenerations.class).to(FileGenerationsMongo.class);
+        bind(UpdatePrecomputedPureModelContexts.class).to(PrecomputedPureModelContextsMongo.class);
 
         expose(UpdateEntities.class);
         expose(UpdateVersionedEntities.class);
         expose(UpdateProjectsVersions.class);
         expose(UpdateFileGenerations.class);
         expose(UpdateProjects.class);
+        expose(UpdatePrecomputedPureModelContexts.class);
     }
 }
@@ -24,11 +24,15 @@ import org.bson.Document;
 import org.finos.legend.depot.store.mongo.admin.artifacts.ArtifactsFilesMongo;
 import org.finos.legend.depot.store.mongo.admin.migrations.ProjectToProjectVersionMigration;
 import org.finos.legend.depot.store.mongo.admin.migrations.DependenciesMigration;
+import org.finos.legend.depot.store.mongo.admin.migrations.TransitiveDependenciesEncodingMigration;
+import org.finos.legend.depot.store.mongo.admin.migrations.TransitiveDependenciesRecomputeMigration;
 import org.finos.legend.depot.store.mongo.admin.migrations.VersionedEntitiesMigration;
 import org.finos.legend.depot.store.mongo.admin.schedules.ScheduleInstancesMongo;
 import org.finos.legend.depot.store.mongo.admin.schedules.SchedulesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.generation.file.FileGenerationsMongo;
+import org.finos.legend.depot.store.mongo.pmcd.PrecomputedPureModelContextsMongo;
+import org.finos.legend.depot.store.mongo.projects.GavDictionaryMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
@@ -46,11 +50,18 @@ import static org.finos.legend.depot.store.mongo.core.BaseMongo.createIndexesIfA
 public class MongoAdminStore
 {
     private final MongoDatabase mongoDatabase;
+    private final boolean encodeTransitiveDependencies;
+
+    public MongoAdminStore(MongoDatabase mongoDatabase)
+    {
+        this(mongoDatabase, false);
+    }
 
     @Inject
-    public MongoAdminStore(@Named("mongoDatabase") MongoDatabase mongoDatabase)
+    public MongoAdminStore(@Named("mongoDatabase") MongoDatabase mongoDatabase, @Named("encodeTransitiveDependencies") boolean encodeTransitiveDependencies)
     {
         this.mongoDatabase = mongoDatabase;
+        this.encodeTransitiveDependencies = encodeTransitiveDependencies;
     }
 
 
@@ -89,9 +100,11 @@ public class MongoAdminStore
         List<String> results = new ArrayList<>();
         results.addAll(createIndexesIfAbsent(mongoDatabase,ProjectsMongo.COLLECTION,ProjectsMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase, ProjectsVersionsMongo.COLLECTION, ProjectsVersionsMongo.buildIndexes()));
+        results.addAll(createIndexesIfAbsent(mongoDatabase, GavDictionaryMongo.COLLECTION, GavDictionaryMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase,EntitiesMongo.COLLECTION,EntitiesMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase, VersionedEntitiesMongo.COLLECTION,EntitiesMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase,FileGenerationsMongo.COLLECTION,FileGenerationsMongo.buildIndexes()));
+        results.addAll(createIndexesIfAbsent(mongoDatabase,PrecomputedPureModelContextsMongo.COLLECTION,PrecomputedPureModelContextsMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase,ArtifactsFilesMongo.COLLECTION,ArtifactsFilesMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase,SchedulesMongo.COLLECTION,SchedulesMongo.buildIndexes()));
         results.addAll(createIndexesIfAbsent(mongoDatabase, ScheduleInstancesMongo.COLLECTION,ScheduleInstancesMongo.buildIndexes()));
@@ -148,6 +161,21 @@ public class MongoAdminStore
         new DependenciesMigration(mongoDatabase).addTransitiveDependenciesToVersionData();
     }
 
+    public Document recomputeAllTransitiveDependencies(boolean resume, int parallelism, int writeBatchSize, int maxClosuresInMemory)
+    {
+        return new TransitiveDependenciesRecomputeMigration(mongoDatabase, encodeTransitiveDependencies, parallelism, writeBatchSize, maxClosuresInMemory).recomputeAll(resume);
+    }
+
+    public long encodeTransitiveDependencies()
+    {
+        return new TransitiveDependenciesEncodingMigration(mongoDatabase).encodeTransitiveDependencies();
+    }
+
+    public long decodeTransitiveDependencies()
+    {
+        return new TransitiveDependenciesEncodingMigration(mongoDatabase).decodeTransitiveDependencies();
+    }
+
     @Deprecated
     public DeleteResult deleteVersionedEntities()
     {
@@ -29,6 +29,8 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,4 +74,16 @@ public class ArtifactsFilesMongo extends BaseMongo<ArtifactFile> implements Arti
     {
         return findOne(Filters.eq(PATH, path));
     }
+
+    @Override
+    public List<ArtifactFile> find(Collection<String> paths)
+    {
+        return paths.isEmpty() ? Collections.emptyList() : find(Filters.in(PATH, paths));
+    }
+
+    @Override
+    public long createOrUpdate(List<ArtifactFile> details)
+    {
+        return bulkCreateOrUpdate(details);
+    }
 }
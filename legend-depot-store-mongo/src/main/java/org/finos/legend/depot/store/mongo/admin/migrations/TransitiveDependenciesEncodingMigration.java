@@ -0,0 +1,91 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.mongo.admin.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.mongo.projects.GavDictionaryMongo;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ARTIFACT_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.GROUP_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ID_FIELD;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.VERSION_ID;
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES;
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_BITMAP;
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_REPORT;
+
+public final class TransitiveDependenciesEncodingMigration
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(TransitiveDependenciesEncodingMigration.class);
+    private static final String DEPENDENCIES_FIELD = TRANSITIVE_DEPENDENCIES_REPORT + "." + TRANSITIVE_DEPENDENCIES;
+    private static final String BITMAP_FIELD = TRANSITIVE_DEPENDENCIES_REPORT + "." + TRANSITIVE_DEPENDENCIES_BITMAP;
+
+    private final MongoDatabase mongoDatabase;
+    private final GavDictionaryMongo dictionary;
+
+    public TransitiveDependenciesEncodingMigration(MongoDatabase mongoDatabase)
+    {
+        this.mongoDatabase = mongoDatabase;
+        this.dictionary = new GavDictionaryMongo(mongoDatabase);
+    }
+
+    public long encodeTransitiveDependencies()
+    {
+        MongoCollection<Document> versions = mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION);
+        AtomicInteger count = new AtomicInteger();
+        versions.find(exists(DEPENDENCIES_FIELD)).projection(Projections.include(DEPENDENCIES_FIELD)).forEach((Consumer<Document>) document ->
+        {
+            List<Document> dependencies = document.get(TRANSITIVE_DEPENDENCIES_REPORT, Document.class).getList(TRANSITIVE_DEPENDENCIES, Document.class);
+            List<ProjectVersion> transitiveDependencies = dependencies.stream().map(dep -> new ProjectVersion(dep.getString(GROUP_ID), dep.getString(ARTIFACT_ID), dep.getString(VERSION_ID))).collect(Collectors.toList());
+            versions.updateOne(eq(ID_FIELD, document.getObjectId(ID_FIELD)), Updates.combine(Updates.set(BITMAP_FIELD, dictionary.encode(transitiveDependencies)), Updates.unset(DEPENDENCIES_FIELD)));
+            count.incrementAndGet();
+        });
+        LOGGER.info("encoded transitive dependencies of {} project versions", count.get());
+        return count.get();
+    }
+
+    public long decodeTransitiveDependencies()
+    {
+        MongoCollection<Document> versions = mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION);
+        AtomicInteger count = new AtomicInteger();
+        versions.find(exists(BITMAP_FIELD)).projection(Projections.include(BITMAP_FIELD)).forEach((Consumer<Document>) document ->
+        {
+            Binary bitmap = document.get(TRANSITIVE_DEPENDENCIES_REPORT, Document.class).get(TRANSITIVE_DEPENDENCIES_BITMAP, Binary.class);
+            List<Document> dependencies = dictionary.decode(bitmap.getData()).stream()
+                    .map(dep -> new Document(GROUP_ID, dep.getGroupId()).append(ARTIFACT_ID, dep.getArtifactId()).append(VERSION_ID, dep.getVersionId()))
+                    .collect(Collectors.toList());
+            versions.updateOne(eq(ID_FIELD, document.getObjectId(ID_FIELD)), Updates.combine(Updates.set(DEPENDENCIES_FIELD, dependencies), Updates.unset(BITMAP_FIELD)));
+            count.incrementAndGet();
+        });
+        LOGGER.info("decoded transitive dependencies of {} project versions", count.get());
+        return count.get();
+    }
+}
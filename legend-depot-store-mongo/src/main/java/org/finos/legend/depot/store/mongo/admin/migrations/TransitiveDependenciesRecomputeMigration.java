@@ -0,0 +1,376 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.mongo.admin.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ARTIFACT_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.GROUP_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ID_FIELD;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.VERSION_ID;
+
+/**
+ * Recomputes the transitive dependencies of every project version.
+ * Only coordinates and direct dependencies are kept for the whole store, versions are processed level by level in topological order,
+ * each level in parallel and written with bulk updates. Closures are kept in memory only while a pending dependant still needs them,
+ * capped by maxClosuresInMemory (evicted ones are read back from the store), and progress is checkpointed after each level.
+ * Reports are written in the store's configured encoding and mark the versions as updated, like any other transitive dependencies update.
+ */
+public final class TransitiveDependenciesRecomputeMigration
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(TransitiveDependenciesRecomputeMigration.class);
+    public static final String CHECKPOINT_COLLECTION = "transitive-dependencies-recompute";
+    private static final String CHECKPOINT_ID = "all";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String COMPLETED_LEVEL = "completedLevel";
+    private static final String COMPLETED = "completed";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+    private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+
+    private final MongoDatabase mongoDatabase;
+    private final int parallelism;
+    private final int writeBatchSize;
+    private final int maxClosuresInMemory;
+    private final boolean encodeTransitiveDependencies;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<ProjectVersion> nodes = new ArrayList<>();
+    private final List<int[]> dependencies = new ArrayList<>();
+    private final BitSet present = new BitSet();
+    private final BitSet excluded = new BitSet();
+    private final Map<Integer, BitSet> closures = new ConcurrentHashMap<>();
+
+    public TransitiveDependenciesRecomputeMigration(MongoDatabase mongoDatabase, boolean encodeTransitiveDependencies, int parallelism, int writeBatchSize, int maxClosuresInMemory)
+    {
+        if (parallelism < 1 || writeBatchSize < 1 || maxClosuresInMemory < 0)
+        {
+            throw new IllegalArgumentException("parallelism and writeBatchSize must be positive, maxClosuresInMemory cannot be negative");
+        }
+        this.mongoDatabase = mongoDatabase;
+        this.parallelism = parallelism;
+        this.writeBatchSize = writeBatchSize;
+        this.maxClosuresInMemory = maxClosuresInMemory;
+        this.encodeTransitiveDependencies = encodeTransitiveDependencies;
+    }
+
+    public Document recomputeAll(boolean resume)
+    {
+        long start = System.currentTimeMillis();
+        loadGraph();
+        List<List<Integer>> levels = new ArrayList<>();
+        BitSet invalid = sortInLevels(levels);
+        AtomicIntegerArray pendingDependants = countDependants();
+
+        MongoCollection<Document> checkpoints = mongoDatabase.getCollection(CHECKPOINT_COLLECTION);
+        long fingerprint = fingerprint();
+        Document checkpoint = checkpoints.find(eq(ID_FIELD, CHECKPOINT_ID)).first();
+        int startLevel = 0;
+        if (resume && checkpoint != null && !checkpoint.getBoolean(COMPLETED, false) && checkpoint.getLong(FINGERPRINT) == fingerprint)
+        {
+            startLevel = checkpoint.getInteger(COMPLETED_LEVEL) + 1;
+            LOGGER.info("resuming transitive dependencies recompute from level [{}] of [{}]", startLevel, levels.size());
+            levels.subList(0, Math.min(startLevel, levels.size())).forEach(level -> level.forEach(id -> release(id, pendingDependants)));
+        }
+        checkpoints.replaceOne(eq(ID_FIELD, CHECKPOINT_ID), new Document(ID_FIELD, CHECKPOINT_ID).append(FINGERPRINT, fingerprint).append(COMPLETED_LEVEL, startLevel - 1).append(COMPLETED, false), new ReplaceOptions().upsert(true));
+
+        ProjectsVersionsMongo versions = new ProjectsVersionsMongo(mongoDatabase, encodeTransitiveDependencies);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long written = 0;
+        try
+        {
+            for (int level = startLevel; level < levels.size(); level++)
+            {
+                List<Integer> levelNodes = levels.get(level);
+                Map<Integer, BitSet> computed = pool.submit(() -> levelNodes.parallelStream().collect(Collectors.toConcurrentMap(id -> id, id -> computeClosure(id, invalid, versions)))).get();
+                written += write(levelNodes, computed, invalid, versions);
+                closures.putAll(computed);
+                levelNodes.forEach(id -> release(id, pendingDependants));
+                evict();
+                checkpoints.updateOne(eq(ID_FIELD, CHECKPOINT_ID), Updates.set(COMPLETED_LEVEL, level));
+                LOGGER.info("transitive dependencies recompute: level [{}/{}] with [{}] versions completed, [{}] closures in memory", level + 1, levels.size(), levelNodes.size(), closures.size());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("transitive dependencies recompute interrupted, resume to continue", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("error recomputing transitive dependencies, resume to continue: " + e.getCause().getMessage(), e.getCause());
+        }
+        finally
+        {
+            pool.shutdown();
+            closures.clear();
+        }
+        checkpoints.updateOne(eq(ID_FIELD, CHECKPOINT_ID), Updates.set(COMPLETED, true));
+
+        long duration = System.currentTimeMillis() - start;
+        LOGGER.info("transitive dependencies recompute completed: [{}] versions, [{}] levels, [{}] invalid, [{}] written in [{}] ms", present.cardinality(), levels.size(), invalid.cardinality(), written, duration);
+        return new Document("versions", present.cardinality())
+                .append("levels", levels.size())
+                .append("resumedFromLevel", startLevel)
+                .append("invalid", invalid.cardinality())
+                .append("written", written)
+                .append("durationMs", duration);
+    }
+
+    private int idOf(String groupId, String artifactId, String versionId)
+    {
+        String gav = groupId + ":" + artifactId + ":" + versionId;
+        Integer id = ids.get(gav);
+        if (id == null)
+        {
+            id = nodes.size();
+            ids.put(gav, id);
+            nodes.add(new ProjectVersion(groupId, artifactId, versionId));
+            dependencies.add(new int[0]);
+        }
+        return id;
+    }
+
+    private void loadGraph()
+    {
+        mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION).find()
+                .projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, VERSION_DATA_DEPENDENCIES, VERSION_DATA_EXCLUDED))
+                .forEach((Consumer<Document>) document ->
+                {
+                    int id = idOf(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(VERSION_ID));
+                    present.set(id);
+                    Document versionData = document.get("versionData", Document.class);
+                    if (versionData != null)
+                    {
+                        if (versionData.getBoolean("excluded", false))
+                        {
+                            excluded.set(id);
+                        }
+                        List<Document> deps = versionData.getList("dependencies", Document.class, Collections.emptyList());
+                        dependencies.set(id, deps.stream().mapToInt(dep -> idOf(dep.getString(GROUP_ID), dep.getString(ARTIFACT_ID), dep.getString(VERSION_ID))).distinct().toArray());
+                    }
+                });
+    }
+
+    /**
+     * Kahn layering over the versions present in the store, returns the versions whose closure is invalid:
+     * excluded, depending on a missing, excluded or invalid version, or part of a cycle
+     */
+    private BitSet sortInLevels(List<List<Integer>> levels)
+    {
+        int size = nodes.size();
+        int[] pending = new int[size];
+        List<List<Integer>> dependants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            dependants.add(new ArrayList<>());
+        }
+        BitSet invalid = new BitSet();
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1))
+        {
+            if (excluded.get(id))
+            {
+                invalid.set(id);
+            }
+            for (int dep : dependencies.get(id))
+            {
+                if (present.get(dep))
+                {
+                    pending[id]++;
+                    dependants.get(dep).add(id);
+                }
+                else
+                {
+                    invalid.set(id);
+                }
+            }
+        }
+        List<Integer> current = new ArrayList<>();
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1))
+        {
+            if (pending[id] == 0)
+            {
+                current.add(id);
+            }
+        }
+        BitSet placed = new BitSet();
+        while (!current.isEmpty())
+        {
+            levels.add(current);
+            List<Integer> next = new ArrayList<>();
+            for (int id : current)
+            {
+                placed.set(id);
+                for (int dependant : dependants.get(id))
+                {
+                    if (invalid.get(id))
+                    {
+                        invalid.set(dependant);
+                    }
+                    if (--pending[dependant] == 0)
+                    {
+                        next.add(dependant);
+                    }
+                }
+            }
+            current = next;
+        }
+        BitSet cyclic = (BitSet) present.clone();
+        cyclic.andNot(placed);
+        if (!cyclic.isEmpty())
+        {
+            LOGGER.warn("[{}] versions are part of a dependency cycle, their transitive dependencies are marked invalid", cyclic.cardinality());
+            invalid.or(cyclic);
+            levels.add(cyclic.stream().boxed().collect(Collectors.toList()));
+        }
+        return invalid;
+    }
+
+    private AtomicIntegerArray countDependants()
+    {
+        AtomicIntegerArray pendingDependants = new AtomicIntegerArray(nodes.size());
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1))
+        {
+            for (int dep : dependencies.get(id))
+            {
+                pendingDependants.incrementAndGet(dep);
+            }
+        }
+        return pendingDependants;
+    }
+
+    private long fingerprint()
+    {
+        long fingerprint = present.cardinality();
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1))
+        {
+            long node = nodes.get(id).getGav().hashCode();
+            for (int dep : dependencies.get(id))
+            {
+                node = 31 * node + nodes.get(dep).getGav().hashCode();
+            }
+            fingerprint += 31 * node + (excluded.get(id) ? 1 : 0);
+        }
+        return fingerprint;
+    }
+
+    private BitSet computeClosure(int id, BitSet invalid, ProjectsVersionsMongo versions)
+    {
+        BitSet closure = new BitSet();
+        if (!invalid.get(id))
+        {
+            for (int dep : dependencies.get(id))
+            {
+                closure.set(dep);
+                closure.or(getClosure(dep, versions));
+            }
+        }
+        return closure;
+    }
+
+    private BitSet getClosure(int id, ProjectsVersionsMongo versions)
+    {
+        BitSet closure = closures.get(id);
+        if (closure != null)
+        {
+            return closure;
+        }
+        ProjectVersion projectVersion = nodes.get(id);
+        Optional<StoreProjectVersionData> stored = versions.find(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+        BitSet loaded = new BitSet();
+        stored.ifPresent(data -> data.getTransitiveDependenciesReport().getTransitiveDependencies().forEach(dep ->
+        {
+            Integer depId = ids.get(dep.getGav());
+            if (depId != null)
+            {
+                loaded.set(depId);
+            }
+        }));
+        return loaded;
+    }
+
+    private long write(List<Integer> levelNodes, Map<Integer, BitSet> computed, BitSet invalid, ProjectsVersionsMongo versions)
+    {
+        long written = 0;
+        List<StoreProjectVersionData> batch = new ArrayList<>();
+        for (int id : levelNodes)
+        {
+            ProjectVersion projectVersion = nodes.get(id);
+            List<ProjectVersion> transitiveDependencies = computed.get(id).stream().mapToObj(nodes::get).collect(Collectors.toList());
+            StoreProjectVersionData versionData = new StoreProjectVersionData(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+            versionData.setTransitiveDependenciesReport(new VersionDependencyReport(transitiveDependencies, !invalid.get(id)));
+            batch.add(versionData);
+            if (batch.size() >= writeBatchSize)
+            {
+                written += versions.updateTransitiveDependencies(batch);
+                batch.clear();
+            }
+        }
+        written += versions.updateTransitiveDependencies(batch);
+        return written;
+    }
+
+    private void release(int id, AtomicIntegerArray pendingDependants)
+    {
+        for (int dep : dependencies.get(id))
+        {
+            if (pendingDependants.decrementAndGet(dep) <= 0)
+            {
+                closures.remove(dep);
+            }
+        }
+        if (pendingDependants.get(id) <= 0)
+        {
+            closures.remove(id);
+        }
+    }
+
+    private void evict()
+    {
+        Iterator<Integer> iterator = closures.keySet().iterator();
+        while (closures.size() > maxClosuresInMemory && iterator.hasNext())
+        {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -20,11 +20,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
 import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -45,6 +50,7 @@ import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.or;
 import static org.finos.legend.depot.domain.DatesHandler.toTime;
 
 
@@ -59,6 +65,7 @@ public abstract class BaseMongo<T extends HasIdentifier>
     public static final String ID_FIELD = "_id";
     public static final String ID = "id";
     public static final FindOneAndReplaceOptions FIND_ONE_AND_REPLACE_OPTIONS = new FindOneAndReplaceOptions().upsert(true).returnDocument(ReturnDocument.AFTER);
+    protected static final int MAX_FILTERS_PER_QUERY = 500;
     protected static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(BaseMongo.class);
     private final ObjectMapper objectMapper;
     private final MongoDatabase mongoDatabase;
@@ -149,14 +156,38 @@ public abstract class BaseMongo<T extends HasIdentifier>
     {
         validateNewData(data);
         Bson keyFilter = getKeyFilter(data);
-        Document result = (Document)getCollection().findOneAndReplace(keyFilter,handleCreateUpdateDates(buildDocument(data)), FIND_ONE_AND_REPLACE_OPTIONS);
+        Document result = (Document)getCollection().findOneAndReplace(keyFilter,handleCreateUpdateDates(toDocument(data)), FIND_ONE_AND_REPLACE_OPTIONS);
         return convert(result, documentClass);
     }
 
+    /**
+     * upserts all documents in a single unordered bulk write, returns the number of documents written
+     */
+    protected long bulkCreateOrUpdate(List<T> data)
+    {
+        if (data.isEmpty())
+        {
+            return 0;
+        }
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        data.forEach(item ->
+        {
+            validateNewData(item);
+            writes.add(new ReplaceOneModel<>(getKeyFilter(item), handleCreateUpdateDates(toDocument(item)), new ReplaceOptions().upsert(true)));
+        });
+        BulkWriteResult result = getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        return result.getMatchedCount() + result.getUpserts().size();
+    }
+
     public void insert(T data)
     {
         validateNewData(data);
-        getCollection().insertOne(handleCreateUpdateDates(buildDocument(data)));
+        getCollection().insertOne(handleCreateUpdateDates(toDocument(data)));
+    }
+
+    protected Document toDocument(T data)
+    {
+        return buildDocument(data);
     }
 
     private Document handleCreateUpdateDates(Document document)
@@ -234,6 +265,19 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return convert(getCollection().find(filter));
     }
 
+    /**
+     * documents matching any of the filters, queried in chunks to keep each $or bounded
+     */
+    protected List<T> findAny(List<Bson> filters)
+    {
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < filters.size(); i += MAX_FILTERS_PER_QUERY)
+        {
+            result.addAll(find(or(filters.subList(i, Math.min(filters.size(), i + MAX_FILTERS_PER_QUERY)))));
+        }
+        return result;
+    }
+
     protected long count(Bson condition)
     {
         return getCollection().countDocuments(condition);
@@ -35,6 +35,7 @@ public class MongoClientModule extends PrivateModule
         expose(ConnectionFactory.class);
         expose(MongoDatabase.class).annotatedWith(Names.named("mongoDatabase"));
         expose(MongoClient.class);
+        expose(Boolean.class).annotatedWith(Names.named("encodeTransitiveDependencies"));
     }
 
     @Provides
@@ -51,6 +52,13 @@ public class MongoClientModule extends PrivateModule
         }
     }
 
+    @Provides
+    @Named("encodeTransitiveDependencies")
+    Boolean isEncodeTransitiveDependencies(MongoConfiguration mongoConfiguration)
+    {
+        return mongoConfiguration.isEncodeTransitiveDependencies();
+    }
+
     @Provides
     @Singleton
     ConnectionFactory getConnectionFactory(@Named("applicationName") String applicationName, MongoConfiguration mongoConfiguration, OpenTracingConfiguration openTracingConfiguration, TracerFactory tracerFactory)
@@ -35,6 +35,9 @@ public class MongoConfiguration extends StorageConfiguration
     @JsonProperty
     public boolean tracing;
 
+    @JsonProperty
+    public boolean encodeTransitiveDependencies = false;
+
     @JsonCreator
     public MongoConfiguration(@JsonProperty("database") String database, @JsonProperty("url") String url,@JsonProperty("tracing") boolean tracing)
     {
@@ -58,4 +61,9 @@ public class MongoConfiguration extends StorageConfiguration
     {
         return tracing;
     }
+
+    public boolean isEncodeTransitiveDependencies()
+    {
+        return encodeTransitiveDependencies;
+    }
 }
@@ -34,21 +34,25 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.StringTokenizer;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Aggregates.group;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Filters.or;
 import static com.mongodb.client.model.Filters.regex;
+import static com.mongodb.client.model.Sorts.ascending;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
 public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends BaseMongo<T>
@@ -61,6 +65,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     public static final String ENTITY_PACKAGE = "entity.content.package";
     public static final String ENTITY_CONTENT = "entity.content";
     public static final String VERSIONED_ENTITY = "versionedEntity";
+    public static final String CONTENT_HASH = "contentHash";
+    public static final String PACKAGE_SEPARATOR = "::";
+    private static final int STALE_DELETE_BATCH_SIZE = 1000;
+    private static final Pattern CONTENT_FIELD = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*$");
 
     protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass)
     {
@@ -88,7 +96,25 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     protected abstract boolean isVersioned();
 
-    public FindIterable findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions)
+    protected FindIterable projectContent(FindIterable query, Set<String> contentFields)
+    {
+        if (contentFields == null || contentFields.isEmpty())
+        {
+            return query;
+        }
+        List<String> fields = new ArrayList<>(Arrays.asList(GROUP_ID, ARTIFACT_ID, VERSION_ID, VERSIONED_ENTITY, ENTITY_PATH, ENTITY_CLASSIFIER_PATH));
+        for (String field : contentFields)
+        {
+            if (field == null || !CONTENT_FIELD.matcher(field).matches())
+            {
+                throw new IllegalArgumentException(String.format("invalid entity content field [%s]", field));
+            }
+            fields.add(ENTITY_CONTENT + "." + field);
+        }
+        return query.projection(Projections.include(fields));
+    }
+
+    private List<Bson> getReleasedEntitiesByClassifierFilters(String classifier, String search, List<ProjectVersion> projectVersions)
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
@@ -101,10 +127,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         {
             filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
         }
-        return executeFind(and(filters));
+        return filters;
     }
 
-    public FindIterable findLatestEntitiesByClassifier(String classifier, String search)
+    private List<Bson> getLatestEntitiesByClassifierFilters(String classifier, String search)
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
@@ -114,13 +140,83 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         {
             filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
         }
-        return executeFind(and(filters));
+        return filters;
+    }
+
+    protected Bson getAfterEntityFilter(ProjectVersion after, String afterPath)
+    {
+        return or(gt(GROUP_ID, after.getGroupId()),
+                and(eq(GROUP_ID, after.getGroupId()), gt(ARTIFACT_ID, after.getArtifactId())),
+                and(getArtifactFilter(after.getGroupId(), after.getArtifactId()), gt(VERSION_ID, after.getVersionId())),
+                and(getArtifactAndVersionFilter(after.getGroupId(), after.getArtifactId(), after.getVersionId()), gt(ENTITY_PATH, afterPath)));
     }
 
-    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path)
+    private FindIterable findEntitiesPage(List<Bson> filters, ProjectVersion after, String afterPath)
     {
-        Bson filterByKey = getEntityPathFilter(groupId, artifactId, versionId, path);
-        return findOne(filterByKey).map(T::getEntity);
+        if (after != null)
+        {
+            filters.add(getAfterEntityFilter(after, afterPath));
+        }
+        return executeFind(and(filters)).sort(ascending(GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH));
+    }
+
+    public FindIterable findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions)
+    {
+        return executeFind(and(getReleasedEntitiesByClassifierFilters(classifier, search, projectVersions)));
+    }
+
+    public FindIterable findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, ProjectVersion after, String afterPath)
+    {
+        return findEntitiesPage(getReleasedEntitiesByClassifierFilters(classifier, search, projectVersions), after, afterPath);
+    }
+
+    public FindIterable findLatestEntitiesByClassifier(String classifier, String search)
+    {
+        return executeFind(and(getLatestEntitiesByClassifierFilters(classifier, search)));
+    }
+
+    public FindIterable findLatestEntitiesByClassifier(String classifier, String search, ProjectVersion after, String afterPath)
+    {
+        return findEntitiesPage(getLatestEntitiesByClassifierFilters(classifier, search), after, afterPath);
+    }
+
+    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path, Set<String> contentFields)
+    {
+        if (contentFields == null || contentFields.isEmpty())
+        {
+            return findOne(getEntityPathFilter(groupId, artifactId, versionId, path)).map(T::getEntity);
+        }
+        List<T> result = convert(projectContent(executeFind(getEntityPathFilter(groupId, artifactId, versionId, path)), contentFields));
+        return result.stream().findFirst().map(T::getEntity);
+    }
+
+    /**
+     * entities of the version with any of the given paths, queried in chunks to keep each $in bounded
+     */
+    public List<Entity> getEntities(String groupId, String artifactId, String versionId, List<String> paths, Set<String> contentFields)
+    {
+        Bson versionFilter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
+        List<Entity> result = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i += MAX_FILTERS_PER_QUERY)
+        {
+            result.addAll(toEntities(projectContent(executeFind(and(versionFilter, in(ENTITY_PATH, paths.subList(i, Math.min(paths.size(), i + MAX_FILTERS_PER_QUERY))))), contentFields)));
+        }
+        return result;
+    }
+
+    public List<Entity> getEntitiesPage(String groupId, String artifactId, String versionId, String afterPath, int limit, Set<String> contentFields)
+    {
+        Bson filter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
+        if (afterPath != null)
+        {
+            filter = and(filter, gt(ENTITY_PATH, afterPath));
+        }
+        return toEntities(projectContent(executeFind(filter).sort(ascending(ENTITY_PATH)).limit(limit), contentFields));
+    }
+
+    private List<Entity> toEntities(FindIterable query)
+    {
+        return convert(query).stream().map(T::getEntity).collect(Collectors.toList());
     }
 
     public List<T> getStoredEntities(String groupId, String artifactId)
@@ -133,28 +229,40 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
     }
 
-    public List<Entity> getAllEntities(String groupId, String artifactId, String versionId)
+    public List<Entity> getAllEntities(String groupId, String artifactId, String versionId, Set<String> contentFields)
     {
-        return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).stream().map(T::getEntity).collect(Collectors.toList());
+        return toEntities(projectContent(executeFind(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)), contentFields));
     }
 
-    public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Set<String> contentFields)
     {
         Bson filter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
         if (includeSubPackages)
         {
-            filter = and(filter, regex(ENTITY_PACKAGE, "^" + packageName + "*"));
+            filter = and(filter, or(eq(ENTITY_PACKAGE, packageName), regex(ENTITY_PACKAGE, "^" + Pattern.quote(packageName + PACKAGE_SEPARATOR))));
         }
         else
         {
             filter = and(filter, eq(ENTITY_PACKAGE, packageName));
         }
-        Stream<Entity> entities = find(filter).stream().map(T::getEntity);
         if (classifierPaths != null && !classifierPaths.isEmpty())
         {
-            entities = entities.filter(entity -> classifierPaths.contains(entity.getClassifierPath()));
+            filter = and(filter, in(ENTITY_CLASSIFIER_PATH, classifierPaths));
         }
-        return entities.collect(Collectors.toList());
+        return toEntities(projectContent(executeFind(filter), contentFields));
+    }
+
+    public FindIterable findEntitiesSummary(String groupId, String artifactId, String versionId)
+    {
+        return executeFind(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH, ENTITY_CLASSIFIER_PATH));
+    }
+
+    public Map<String, String> getEntityContentHashes(String groupId, String artifactId, String versionId)
+    {
+        Map<String, String> result = new HashMap<>();
+        executeFind(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).projection(Projections.include(ENTITY_PATH, CONTENT_HASH)).forEach((Consumer<Document>) doc ->
+                result.put((String) ((Map<String, Object>) doc.get(ENTITY)).get(PATH), doc.getString(CONTENT_HASH)));
+        return result;
     }
 
     public FindIterable findReleasedEntitiesByClassifier(String classifier)
@@ -177,6 +285,31 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         return delete(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
     }
 
+    /**
+     * Deletes the entities of a version whose path is not one of the given paths.
+     *
+     * @return number of entities deleted
+     */
+    public long deleteStale(String groupId, String artifactId, String versionId, Set<String> entityPaths)
+    {
+        Bson versionFilter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
+        List<String> stalePaths = new ArrayList<>();
+        getCollection().find(versionFilter).projection(Projections.include(ENTITY_PATH)).forEach((Consumer<Document>) document ->
+        {
+            String path = ((Document) document.get(ENTITY)).getString(PATH);
+            if (!entityPaths.contains(path))
+            {
+                stalePaths.add(path);
+            }
+        });
+        long deleted = 0;
+        for (int i = 0; i < stalePaths.size(); i += STALE_DELETE_BATCH_SIZE)
+        {
+            deleted += delete(and(versionFilter, in(ENTITY_PATH, stalePaths.subList(i, Math.min(i + STALE_DELETE_BATCH_SIZE, stalePaths.size())))));
+        }
+        return deleted;
+    }
+
     public long delete(String groupId, String artifactId)
     {
         return delete(getArtifactVersionedFilter(groupId, artifactId));
@@ -18,11 +18,15 @@ package org.finos.legend.depot.store.mongo.entities;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.CoordinateValidator;
+import org.finos.legend.depot.domain.entity.EntityContentHash;
 import org.finos.legend.depot.domain.entity.EntityValidationErrors;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.domain.entity.StoredEntityOverview;
@@ -38,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import static com.mongodb.client.model.Filters.and;
@@ -68,7 +73,8 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         return Arrays.asList(buildIndex("versioned-groupId-artifactId-versionId-versioned", VERSIONED_ENTITY,GROUP_ID, ARTIFACT_ID, VERSION_ID),
                 buildIndex("groupId-artifactId-versionId-entityPath", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
                 buildIndex("groupId-artifactId-versionId-package", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGE),
-                buildIndex("versioned-entity-classifier", VERSIONED_ENTITY,ENTITY_CLASSIFIER_PATH)
+                buildIndex("versioned-entity-classifier", VERSIONED_ENTITY,ENTITY_CLASSIFIER_PATH),
+                buildIndex("versioned-entity-classifier-coordinates", VERSIONED_ENTITY, ENTITY_CLASSIFIER_PATH, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH)
         );
     }
 
@@ -114,8 +120,14 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     @Override
     public List<T> createOrUpdate(List<T> versionedEntities)
     {
+        if (versionedEntities.isEmpty())
+        {
+            return versionedEntities;
+        }
+        List<WriteModel<Document>> writes = new ArrayList<>();
         versionedEntities.forEach(item ->
-                getCollection().updateOne(getEntityPathFilter(item.getGroupId(), item.getArtifactId(), item.getVersionId(), item.getEntity().getPath()), combineDocument(item), INSERT_IF_ABSENT));
+                writes.add(new UpdateOneModel<>(getEntityPathFilter(item.getGroupId(), item.getArtifactId(), item.getVersionId(), item.getEntity().getPath()), combineDocument(item), INSERT_IF_ABSENT)));
+        getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(true));
         return versionedEntities;
     }
 
@@ -128,6 +140,7 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
                 set(ENTITY_PATH, entity.getEntity().getPath()),
                 set(ENTITY_CLASSIFIER_PATH, entity.getEntity().getClassifierPath()),
                 set(ENTITY_CONTENT, entity.getEntity().getContent()),
+                set(CONTENT_HASH, EntityContentHash.hash(entity.getEntity())),
                 set(VERSIONED_ENTITY, entity.isVersionedEntity()),
                 currentDate(UPDATED));
     }
@@ -139,9 +152,9 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     }
 
     @Override
-    public List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary)
+    public List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, Integer limit, boolean summary, Set<String> contentFields)
     {
-        FindIterable findIterable = super.findReleasedEntitiesByClassifier(classifier, search, projectVersions);
+        FindIterable findIterable = summary ? super.findReleasedEntitiesByClassifier(classifier, search, projectVersions) : projectContent(super.findReleasedEntitiesByClassifier(classifier, search, projectVersions), contentFields);
         if (limit != null)
         {
             return transform(summary, findIterable.limit(limit));
@@ -150,9 +163,9 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     }
 
     @Override
-    public List<T> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary)
+    public List<T> findLatestEntitiesByClassifier(String classifier, String search, Integer limit, boolean summary, Set<String> contentFields)
     {
-        FindIterable findIterable = super.findLatestEntitiesByClassifier(classifier, search);
+        FindIterable findIterable = summary ? super.findLatestEntitiesByClassifier(classifier, search) : projectContent(super.findLatestEntitiesByClassifier(classifier, search), contentFields);
         if (limit != null)
         {
             return transform(summary, findIterable.limit(limit));
@@ -160,6 +173,20 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         return transform(summary, findIterable);
     }
 
+    @Override
+    public List<T> findReleasedEntitiesByClassifier(String classifier, String search, List<ProjectVersion> projectVersions, ProjectVersion after, String afterPath, int limit, boolean summary, Set<String> contentFields)
+    {
+        FindIterable findIterable = super.findReleasedEntitiesByClassifier(classifier, search, projectVersions, after, afterPath).limit(limit);
+        return transform(summary, summary ? findIterable : projectContent(findIterable, contentFields));
+    }
+
+    @Override
+    public List<T> findLatestEntitiesByClassifier(String classifier, String search, ProjectVersion after, String afterPath, int limit, boolean summary, Set<String> contentFields)
+    {
+        FindIterable findIterable = super.findLatestEntitiesByClassifier(classifier, search, after, afterPath).limit(limit);
+        return transform(summary, summary ? findIterable : projectContent(findIterable, contentFields));
+    }
+
     @Override
     public List<T> findReleasedEntitiesByClassifier(String classifier, boolean summary)
     {
@@ -178,6 +205,12 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         return transform(summary, super.findEntitiesByClassifier(groupId, artifactId, versionId, classifier));
     }
 
+    @Override
+    public List<T> getStoredEntitiesSummary(String groupId, String artifactId, String versionId)
+    {
+        return transform(true, super.findEntitiesSummary(groupId, artifactId, versionId));
+    }
+
     protected List<T> transform(boolean summary, FindIterable query)
     {
         if (!summary)
@@ -0,0 +1,118 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.mongo.pmcd;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.pmcd.PrecomputedPureModelContext;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.api.pmcd.UpdatePrecomputedPureModelContexts;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+
+public class PrecomputedPureModelContextsMongo extends BaseMongo<PrecomputedPureModelContext> implements UpdatePrecomputedPureModelContexts
+{
+    public static final String COLLECTION = "precomputed-pure-model-contexts";
+    private static final String CLIENT_VERSION = "clientVersion";
+    private static final String TRANSITIVE = "transitive";
+    private static final String DEPENDENCIES = "dependencies";
+
+    @Inject
+    public PrecomputedPureModelContextsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
+    {
+        super(databaseProvider, PrecomputedPureModelContext.class);
+    }
+
+    @Override
+    protected MongoCollection getCollection()
+    {
+        return getMongoCollection(COLLECTION);
+    }
+
+    public static List<IndexModel> buildIndexes()
+    {
+        return Arrays.asList(
+                buildIndex("groupId-artifactId-versionId-clientVersion-transitive", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, CLIENT_VERSION, TRANSITIVE),
+                buildIndex("dependencies", DEPENDENCIES));
+    }
+
+    @Override
+    protected Bson getKeyFilter(PrecomputedPureModelContext data)
+    {
+        return getKeyFilter(data.getGroupId(), data.getArtifactId(), data.getVersionId(), data.getClientVersion(), data.isTransitive());
+    }
+
+    private Bson getKeyFilter(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        return and(getArtifactAndVersionFilter(groupId, artifactId, versionId), eq(CLIENT_VERSION, clientVersion), eq(TRANSITIVE, transitive));
+    }
+
+    @Override
+    protected void validateNewData(PrecomputedPureModelContext data)
+    {
+        //no specific validation
+    }
+
+    @Override
+    public Optional<PrecomputedPureModelContext> find(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        return findOne(getKeyFilter(groupId, artifactId, versionId, clientVersion, transitive));
+    }
+
+    @Override
+    public long delete(String groupId, String artifactId, String versionId)
+    {
+        return delete(getArtifactAndVersionFilter(groupId, artifactId, versionId));
+    }
+
+    @Override
+    public List<ProjectVersion> findTransitiveDependingOn(String groupId, String artifactId, String versionId)
+    {
+        Set<ProjectVersion> dependants = new LinkedHashSet<>();
+        getCollection().find(getTransitiveDependingOnFilter(groupId, artifactId, versionId))
+                .projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID))
+                .forEach((Consumer<Document>) document -> dependants.add(new ProjectVersion(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(VERSION_ID))));
+        return new ArrayList<>(dependants);
+    }
+
+    @Override
+    public long deleteTransitiveDependingOn(String groupId, String artifactId, String versionId)
+    {
+        return delete(getTransitiveDependingOnFilter(groupId, artifactId, versionId));
+    }
+
+    private Bson getTransitiveDependingOnFilter(String groupId, String artifactId, String versionId)
+    {
+        return and(eq(TRANSITIVE, true), eq(DEPENDENCIES, new ProjectVersion(groupId, artifactId, versionId).getGav()));
+    }
+}
@@ -0,0 +1,229 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.mongo.projects;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.in;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.createIndexesIfAbsent;
+
+/**
+ * Global dictionary giving every project version an int id, so a set of project versions can be stored as a compressed bitmap of ids.
+ * Ids are append only and never reused, they come from a counter document incremented atomically, entries are cached in memory once seen
+ */
+public class GavDictionaryMongo
+{
+    public static final String COLLECTION = "gav-dictionary";
+    private static final String GAV = "gav";
+    private static final String INDEX = "index";
+    private static final String ID_FIELD = "_id";
+    private static final String COUNTER = "counter";
+    private static final String LAST_INDEX = "lastIndex";
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final MongoDatabase mongoDatabase;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, ProjectVersion> projectVersions = new ConcurrentHashMap<>();
+    private volatile boolean initialised = false;
+
+    public GavDictionaryMongo(MongoDatabase mongoDatabase)
+    {
+        this.mongoDatabase = mongoDatabase;
+    }
+
+    public static List<IndexModel> buildIndexes()
+    {
+        return Arrays.asList(new IndexModel(Indexes.ascending(GAV), new IndexOptions().unique(true).name("gav")),
+                new IndexModel(Indexes.ascending(INDEX), new IndexOptions().unique(true).name("index")));
+    }
+
+    private MongoCollection<Document> getCollection()
+    {
+        return mongoDatabase.getCollection(COLLECTION);
+    }
+
+    public byte[] encode(List<ProjectVersion> dependencies)
+    {
+        BitSet bitmap = new BitSet();
+        getIds(dependencies).forEach(bitmap::set);
+        return compress(bitmap.toByteArray());
+    }
+
+    public List<ProjectVersion> decode(byte[] encoded)
+    {
+        BitSet bitmap = BitSet.valueOf(decompress(encoded));
+        List<Integer> missing = bitmap.stream().filter(id -> !projectVersions.containsKey(id)).boxed().collect(Collectors.toList());
+        if (!missing.isEmpty())
+        {
+            getCollection().find(in(INDEX, missing)).forEach((Consumer<Document>) this::cache);
+        }
+        return bitmap.stream().mapToObj(id ->
+        {
+            ProjectVersion projectVersion = projectVersions.get(id);
+            if (projectVersion == null)
+            {
+                throw new IllegalStateException(String.format("project version with dictionary id %s not found", id));
+            }
+            return projectVersion;
+        }).collect(Collectors.toList());
+    }
+
+    private List<Integer> getIds(List<ProjectVersion> dependencies)
+    {
+        List<String> missing = dependencies.stream().map(ProjectVersion::getGav).distinct().filter(gav -> !ids.containsKey(gav)).collect(Collectors.toList());
+        if (!missing.isEmpty())
+        {
+            getCollection().find(in(GAV, missing)).forEach((Consumer<Document>) this::cache);
+            dependencies.stream().filter(dep -> !ids.containsKey(dep.getGav())).distinct().forEach(this::assignId);
+        }
+        return dependencies.stream().map(dep -> ids.get(dep.getGav())).collect(Collectors.toList());
+    }
+
+    private void assignId(ProjectVersion projectVersion)
+    {
+        if (!initialised)
+        {
+            initialise();
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++)
+        {
+            try
+            {
+                Document entry = new Document(GAV, projectVersion.getGav()).append(INDEX, nextIndex());
+                getCollection().insertOne(entry);
+                cache(entry);
+                return;
+            }
+            catch (MongoWriteException e)
+            {
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                {
+                    throw e;
+                }
+                Document existing = getCollection().find(eq(GAV, projectVersion.getGav())).first();
+                if (existing != null)
+                {
+                    cache(existing);
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException(String.format("could not assign a dictionary id to %s", projectVersion.getGav()));
+    }
+
+    private int nextIndex()
+    {
+        Document counter = getCollection().findOneAndUpdate(eq(ID_FIELD, COUNTER), Updates.inc(LAST_INDEX, 1), new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        return counter.getInteger(LAST_INDEX);
+    }
+
+    private void initialise()
+    {
+        createIndexesIfAbsent(mongoDatabase, COLLECTION, buildIndexes());
+        Document last = getCollection().find(exists(INDEX)).sort(Indexes.descending(INDEX)).limit(1).first();
+        int lastIndex = last == null ? -1 : last.getInteger(INDEX);
+        getCollection().updateOne(eq(ID_FIELD, COUNTER), Updates.max(LAST_INDEX, lastIndex), new UpdateOptions().upsert(true));
+        initialised = true;
+    }
+
+    private void cache(Document entry)
+    {
+        String gav = entry.getString(GAV);
+        String[] coordinates = gav.split(":");
+        int id = entry.getInteger(INDEX);
+        projectVersions.putIfAbsent(id, new ProjectVersion(coordinates[0], coordinates[1], coordinates[2]));
+        ids.putIfAbsent(gav, id);
+    }
+
+    private static byte[] compress(byte[] bytes)
+    {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try
+        {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished())
+            {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] bytes)
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished())
+            {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    throw new IllegalStateException("truncated transitive dependencies bitmap");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        }
+        catch (DataFormatException e)
+        {
+            throw new IllegalStateException("invalid transitive dependencies bitmap", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexModel;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.ProjectValidator;
 import org.finos.legend.depot.domain.project.StoreProjectData;
 import org.finos.legend.depot.store.StoreException;
@@ -30,9 +31,14 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
@@ -106,6 +112,13 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return findOne(and(eq(GROUP_ID, groupId), eq(ARTIFACT_ID, artifactId)));
     }
 
+    @Override
+    public List<StoreProjectData> find(Collection<? extends CoordinateData> coordinates)
+    {
+        Map<String, Bson> filters = coordinates.stream().collect(Collectors.toMap(c -> c.getGroupId() + ":" + c.getArtifactId(), c -> getArtifactFilter(c.getGroupId(), c.getArtifactId()), (a, b) -> a, LinkedHashMap::new));
+        return findAny(new ArrayList<>(filters.values()));
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
@@ -17,12 +17,22 @@ package org.finos.legend.depot.store.mongo.projects;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.bson.types.Binary;
 import org.finos.legend.depot.domain.CoordinateValidator;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
@@ -30,27 +40,56 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.elemMatch;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.or;
+import static org.finos.legend.depot.domain.DatesHandler.toTime;
 
 public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> implements ProjectsVersions, UpdateProjectsVersions
 {
     public static final String COLLECTION = "versions";
     private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+
+    public static final String TRANSITIVE_DEPENDENCIES_REPORT = "transitiveDependenciesReport";
+    public static final String TRANSITIVE_DEPENDENCIES = "transitiveDependencies";
+    public static final String TRANSITIVE_DEPENDENCIES_BITMAP = "transitiveDependenciesBitmap";
+
+    private final GavDictionaryMongo dictionary;
+    private final boolean encodeTransitiveDependencies;
+
+    public ProjectsVersionsMongo(MongoDatabase databaseProvider)
+    {
+        this(databaseProvider, false);
+    }
 
     @Inject
-    public ProjectsVersionsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
+    public ProjectsVersionsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider, @Named("encodeTransitiveDependencies") boolean encodeTransitiveDependencies)
     {
         super(databaseProvider, StoreProjectVersionData.class, new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY));
+        this.dictionary = new GavDictionaryMongo(databaseProvider);
+        this.encodeTransitiveDependencies = encodeTransitiveDependencies;
     }
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(buildIndex("groupId-artifactId-versionId", true, GROUP_ID, ARTIFACT_ID, VERSION_ID));
+        return Arrays.asList(buildIndex("groupId-artifactId-versionId", true, GROUP_ID, ARTIFACT_ID, VERSION_ID),
+                buildIndex("updated", UPDATED),
+                buildIndex("dependencies-groupId-artifactId-versionId", VERSION_DATA_DEPENDENCIES + "." + GROUP_ID, VERSION_DATA_DEPENDENCIES + "." + ARTIFACT_ID, VERSION_DATA_DEPENDENCIES + "." + VERSION_ID));
     }
 
     @Override
@@ -75,12 +114,65 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return findOne(and(getArtifactAndVersionFilter(groupId, artifactId, versionId)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> find(Collection<ProjectVersion> projectVersions)
+    {
+        return findAny(projectVersions.stream().distinct().map(pv -> getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Map<ProjectVersion, Date> findUpdated(Collection<ProjectVersion> projectVersions)
+    {
+        List<Bson> filters = projectVersions.stream().distinct().map(pv -> getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toList());
+        Map<ProjectVersion, Date> updated = new HashMap<>();
+        for (int i = 0; i < filters.size(); i += MAX_FILTERS_PER_QUERY)
+        {
+            getCollection().find(or(filters.subList(i, Math.min(filters.size(), i + MAX_FILTERS_PER_QUERY))))
+                    .projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, UPDATED))
+                    .forEach((Consumer<Document>) document ->
+                    {
+                        Object stamp = document.get(UPDATED);
+                        updated.put(new ProjectVersion(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(VERSION_ID)), stamp instanceof Number ? new Date(((Number) stamp).longValue()) : (Date) stamp);
+                    });
+        }
+        return updated;
+    }
+
     @Override
     public List<StoreProjectVersionData> findVersion(Boolean excluded)
     {
         return find(and(eq(VERSION_DATA_EXCLUDED, excluded)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId)
+    {
+        Bson dependency = versionId == null ? getArtifactFilter(groupId, artifactId) : getArtifactAndVersionFilter(groupId, artifactId, versionId);
+        return find(elemMatch(VERSION_DATA_DEPENDENCIES, dependency));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findVersionDependencies(long updatedSince)
+    {
+        FindIterable query = updatedSince > 0 ? executeFind(gte(UPDATED, updatedSince)) : getCollection().find();
+        return convert(query.projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, VERSION_DATA_DEPENDENCIES, UPDATED)));
+    }
+
+    @Override
+    public long updateTransitiveDependencies(List<StoreProjectVersionData> projectVersionData)
+    {
+        if (projectVersionData.isEmpty())
+        {
+            return 0;
+        }
+        List<WriteModel<Document>> writes = projectVersionData.stream().map(data ->
+                new UpdateOneModel<Document>(getKeyFilter(data), Updates.combine(
+                        Updates.set(TRANSITIVE_DEPENDENCIES_REPORT, toDocument(data).get(TRANSITIVE_DEPENDENCIES_REPORT)),
+                        Updates.set(UPDATED, toTime(LocalDateTime.now())))))
+                .collect(Collectors.toList());
+        return getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false)).getMatchedCount();
+    }
+
     @Override
     public long getVersionCount(String groupId, String artifactId)
     {
@@ -99,6 +191,43 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return delete(getArtifactAndVersionFilter(groupId, artifactId, versionId));
     }
 
+    @Override
+    protected Document toDocument(StoreProjectVersionData data)
+    {
+        Document document = super.toDocument(data);
+        if (encodeTransitiveDependencies)
+        {
+            encodeTransitiveDependencies(document, data.getTransitiveDependenciesReport().getTransitiveDependencies());
+        }
+        return document;
+    }
+
+    Document encodeTransitiveDependencies(Document document, List<ProjectVersion> transitiveDependencies)
+    {
+        Document report = (Document) document.get(TRANSITIVE_DEPENDENCIES_REPORT);
+        if (report != null)
+        {
+            report.remove(TRANSITIVE_DEPENDENCIES);
+            report.put(TRANSITIVE_DEPENDENCIES_BITMAP, dictionary.encode(transitiveDependencies == null ? Collections.emptyList() : transitiveDependencies));
+        }
+        return document;
+    }
+
+    @Override
+    public <T> T convert(Document document, Class<T> clazz)
+    {
+        Document report = document == null ? null : (Document) document.get(TRANSITIVE_DEPENDENCIES_REPORT);
+        Object bitmap = report == null ? null : report.remove(TRANSITIVE_DEPENDENCIES_BITMAP);
+        T result = super.convert(document, clazz);
+        if (bitmap != null && result instanceof StoreProjectVersionData)
+        {
+            byte[] encoded = bitmap instanceof Binary ? ((Binary) bitmap).getData() : (byte[]) bitmap;
+            StoreProjectVersionData versionData = (StoreProjectVersionData) result;
+            versionData.setTransitiveDependenciesReport(new VersionDependencyReport(dictionary.decode(encoded), versionData.getTransitiveDependenciesReport().isValid()));
+        }
+        return result;
+    }
+
     @Override
     protected MongoCollection getCollection()
     {
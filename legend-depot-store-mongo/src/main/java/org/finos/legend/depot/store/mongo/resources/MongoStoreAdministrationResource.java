@@ -30,6 +30,7 @@ import javax.inject.Named;
 import javax.inject.Provider;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -213,6 +214,46 @@ public class MongoStoreAdministrationResource extends BaseAuthorisedResource
         });
     }
 
+    @PUT
+    @Path("/migrations/recomputeTransitiveDependencies")
+    @ApiOperation("recompute transitive dependencies of all versions, resumable after interruption")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response recomputeTransitiveDependencies(@QueryParam("resume") @DefaultValue("true") boolean resume,
+                                                    @QueryParam("parallelism") @DefaultValue("4") int parallelism,
+                                                    @QueryParam("writeBatchSize") @DefaultValue("500") int writeBatchSize,
+                                                    @QueryParam("maxClosuresInMemory") @DefaultValue("10000") int maxClosuresInMemory)
+    {
+        return handle("recompute transitive dependencies of all versions", () ->
+        {
+            validateUser();
+            return Response.ok().entity(manageStoreService.recomputeAllTransitiveDependencies(resume, parallelism, writeBatchSize, maxClosuresInMemory)).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/encodeTransitiveDependencies")
+    @ApiOperation("encode transitive dependencies of each version as a compressed bitmap")
+    public Response encodeTransitiveDependencies()
+    {
+        return handle("encode transitive dependencies of each version as a compressed bitmap", () ->
+        {
+            validateUser();
+            return Response.ok().entity(manageStoreService.encodeTransitiveDependencies()).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/decodeTransitiveDependencies")
+    @ApiOperation("decode transitive dependencies of each version back to a list")
+    public Response decodeTransitiveDependencies()
+    {
+        return handle("decode transitive dependencies of each version back to a list", () ->
+        {
+            validateUser();
+            return Response.ok().entity(manageStoreService.decodeTransitiveDependencies()).build();
+        });
+    }
+
     @DELETE
     @Path("/migrations/deleteVersionedEntities")
     @ApiOperation("Delete versioned entities from entities collection")
@@ -44,7 +44,8 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
         return Arrays.asList(buildIndex("versioned-groupId-artifactId-versionId-versioned", VERSIONED_ENTITY,GROUP_ID, ARTIFACT_ID, VERSION_ID),
                 buildIndex("groupId-artifactId-versionId-entityPath", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
                 buildIndex("groupId-artifactId-versionId-package", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGE),
-                buildIndex("versioned-entity-classifier", VERSIONED_ENTITY,ENTITY_CLASSIFIER_PATH)
+                buildIndex("versioned-entity-classifier", VERSIONED_ENTITY,ENTITY_CLASSIFIER_PATH),
+                buildIndex("versioned-entity-classifier-coordinates", VERSIONED_ENTITY, ENTITY_CLASSIFIER_PATH, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH)
         );
     }
 
@@ -21,6 +21,8 @@ import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 public class TestArtifactMongo extends TestStoreMongo
@@ -66,4 +68,19 @@ public class TestArtifactMongo extends TestStoreMongo
 
     }
 
+    @Test
+    public void canFindAndUpdateArtifactsInformationInBatch()
+    {
+        ArtifactsFilesStore artifacts = new ArtifactsFilesMongo(this.mongoProvider);
+        artifacts.createOrUpdate(new ArtifactFile(FILE_PATH, "lala"));
+        Assert.assertEquals(2, artifacts.createOrUpdate(Arrays.asList(new ArtifactFile(FILE_PATH, "lala", 10L, 20L), new ArtifactFile(FILE_PATH + ".other", "lolo", 30L, 40L))));
+
+        List<ArtifactFile> found = artifacts.find(Arrays.asList(FILE_PATH, FILE_PATH + ".other", FILE_PATH + ".missing"));
+        Assert.assertEquals(2, found.size());
+        ArtifactFile updated = found.stream().filter(artifact -> artifact.getPath().equals(FILE_PATH)).findFirst().get();
+        Assert.assertEquals("lala", updated.getCheckSum());
+        Assert.assertEquals(Long.valueOf(10L), updated.getSize());
+        Assert.assertEquals(Long.valueOf(20L), updated.getLastModified());
+    }
+
 }
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 import org.bson.Document;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
@@ -32,6 +33,7 @@ import org.junit.Test;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.convert;
 
@@ -142,4 +144,67 @@ public class TestDependenciesMigration extends TestStoreMongo
         StoreProjectVersionData result3 = convert(new ObjectMapper(), mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "art108"))).first(), StoreProjectVersionData.class);
         Assert.assertFalse(result3.getTransitiveDependenciesReport().isValid());
     }
+
+    private StoreProjectVersionData getVersion(String artifactId)
+    {
+        return convert(new ObjectMapper(), mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", artifactId))).first(), StoreProjectVersionData.class);
+    }
+
+    private void assertRecomputedDependencies()
+    {
+        ProjectVersion pv1 = new ProjectVersion("examples.metadata", "test-dependencies", "2.0.0");
+        ProjectVersion pv2 = new ProjectVersion("examples.metadata", "art101", "1.0.0");
+        ProjectVersion pv3 = new ProjectVersion("examples.metadata", "art102", "1.0.0");
+        ProjectVersion pv4 = new ProjectVersion("examples.metadata", "art103", "1.0.0");
+        StoreProjectVersionData result = getVersion("test");
+        Assert.assertTrue(result.getTransitiveDependenciesReport().isValid());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(pv1, pv2, pv3, pv4)), new HashSet<>(result.getTransitiveDependenciesReport().getTransitiveDependencies()));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(pv2, pv3, pv4)), new HashSet<>(getVersion("test-dependencies").getTransitiveDependenciesReport().getTransitiveDependencies()));
+        //excluded, depending on an excluded version and depending on a version not in store
+        Assert.assertFalse(getVersion("art106").getTransitiveDependenciesReport().isValid());
+        Assert.assertFalse(getVersion("art104").getTransitiveDependenciesReport().isValid());
+        Assert.assertFalse(getVersion("art108").getTransitiveDependenciesReport().isValid());
+        Assert.assertTrue(getVersion("art101").getTransitiveDependenciesReport().isValid());
+    }
+
+    @Test
+    public void canRecomputeAllTransitiveDependencies()
+    {
+        Document result = mongoAdminStore.recomputeAllTransitiveDependencies(false, 2, 2, 1);
+        Assert.assertEquals(9, result.getInteger("versions").intValue());
+        Assert.assertEquals(4, result.getInteger("levels").intValue());
+        Assert.assertEquals(4, result.getInteger("invalid").intValue());
+        assertRecomputedDependencies();
+    }
+
+    @Test
+    public void canResumeRecomputeOfAllTransitiveDependencies()
+    {
+        mongoAdminStore.recomputeAllTransitiveDependencies(false, 2, 500, 10);
+        mongoProvider.getCollection(TransitiveDependenciesRecomputeMigration.CHECKPOINT_COLLECTION).updateOne(Filters.eq("_id", "all"), Updates.combine(Updates.set("completed", false), Updates.set("completedLevel", 1)));
+
+        Document result = mongoAdminStore.recomputeAllTransitiveDependencies(true, 2, 500, 0);
+        Assert.assertEquals(2, result.getInteger("resumedFromLevel").intValue());
+        assertRecomputedDependencies();
+
+        Assert.assertEquals(0, mongoAdminStore.recomputeAllTransitiveDependencies(true, 2, 500, 10).getInteger("resumedFromLevel").intValue());
+    }
+
+    @Test
+    public void canRecomputeInConfiguredEncodingAndMarkVersionsUpdated()
+    {
+        new MongoAdminStore(mongoProvider, true).recomputeAllTransitiveDependencies(false, 2, 500, 10);
+
+        Document stored = mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "test"))).first();
+        Document report = stored.get(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_REPORT, Document.class);
+        Assert.assertNull(report.get(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES));
+        Assert.assertNotNull(report.get(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_BITMAP));
+        Assert.assertNotNull(stored.get("updated"));
+        Assert.assertEquals(4, new ProjectsVersionsMongo(mongoProvider).find("examples.metadata", "test", "3.0.0").get().getTransitiveDependenciesReport().getTransitiveDependencies().size());
+
+        mongoAdminStore.recomputeAllTransitiveDependencies(false, 2, 500, 10);
+        report = mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "test"))).first().get(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_REPORT, Document.class);
+        Assert.assertNull(report.get(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_BITMAP));
+        Assert.assertEquals(4, report.getList(ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES, Document.class).size());
+    }
 }
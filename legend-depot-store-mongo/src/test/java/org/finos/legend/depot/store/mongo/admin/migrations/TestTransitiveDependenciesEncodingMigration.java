@@ -0,0 +1,128 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.store.mongo.admin.migrations;
+
+import org.bson.Document;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
+import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.admin.MongoAdminStore;
+import org.finos.legend.depot.store.mongo.projects.GavDictionaryMongo;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES;
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_BITMAP;
+import static org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo.TRANSITIVE_DEPENDENCIES_REPORT;
+
+public class TestTransitiveDependenciesEncodingMigration extends TestStoreMongo
+{
+    private final MongoAdminStore mongoAdminStore = new MongoAdminStore(mongoProvider);
+    private final List<ProjectVersion> dependencies = Arrays.asList(new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"), new ProjectVersion("examples.metadata", "art101", "2.0.0"));
+
+    private StoreProjectVersionData newVersion()
+    {
+        StoreProjectVersionData versionData = new StoreProjectVersionData("examples.metadata", "test", "2.0.0");
+        versionData.setTransitiveDependenciesReport(new VersionDependencyReport(dependencies, true));
+        return versionData;
+    }
+
+    private Document getStoredReport()
+    {
+        return mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find().first().get(TRANSITIVE_DEPENDENCIES_REPORT, Document.class);
+    }
+
+    @Test
+    public void canStoreAndReadEncodedTransitiveDependencies()
+    {
+        ProjectsVersionsMongo versions = new ProjectsVersionsMongo(mongoProvider, true);
+        versions.createOrUpdate(newVersion());
+
+        Document report = getStoredReport();
+        Assert.assertNull(report.get(TRANSITIVE_DEPENDENCIES));
+        Assert.assertNotNull(report.get(TRANSITIVE_DEPENDENCIES_BITMAP));
+
+        StoreProjectVersionData stored = versions.find("examples.metadata", "test", "2.0.0").get();
+        Assert.assertTrue(stored.getTransitiveDependenciesReport().isValid());
+        Assert.assertEquals(2, stored.getTransitiveDependenciesReport().getTransitiveDependencies().size());
+        Assert.assertTrue(stored.getTransitiveDependenciesReport().getTransitiveDependencies().containsAll(dependencies));
+
+        StoreProjectVersionData fromPlainStore = new ProjectsVersionsMongo(mongoProvider).find("examples.metadata", "test", "2.0.0").get();
+        Assert.assertTrue(fromPlainStore.getTransitiveDependenciesReport().getTransitiveDependencies().containsAll(dependencies));
+    }
+
+    @Test
+    public void canMigrateTransitiveDependenciesToBitmapAndBack()
+    {
+        new ProjectsVersionsMongo(mongoProvider).createOrUpdate(newVersion());
+        Assert.assertNotNull(getStoredReport().get(TRANSITIVE_DEPENDENCIES));
+
+        Assert.assertEquals(1, mongoAdminStore.encodeTransitiveDependencies());
+        Assert.assertNull(getStoredReport().get(TRANSITIVE_DEPENDENCIES));
+        Assert.assertNotNull(getStoredReport().get(TRANSITIVE_DEPENDENCIES_BITMAP));
+        List<ProjectVersion> decoded = new ProjectsVersionsMongo(mongoProvider).find("examples.metadata", "test", "2.0.0").get().getTransitiveDependenciesReport().getTransitiveDependencies();
+        Assert.assertTrue(decoded.containsAll(dependencies));
+        Assert.assertEquals(0, mongoAdminStore.encodeTransitiveDependencies());
+
+        Assert.assertEquals(1, mongoAdminStore.decodeTransitiveDependencies());
+        Assert.assertNull(getStoredReport().get(TRANSITIVE_DEPENDENCIES_BITMAP));
+        Assert.assertEquals(2, getStoredReport().getList(TRANSITIVE_DEPENDENCIES, Document.class).size());
+    }
+
+    @Test
+    public void canCompareDecodedReportsRegardlessOfOrder()
+    {
+        GavDictionaryMongo dictionary = new GavDictionaryMongo(mongoProvider);
+        List<ProjectVersion> reversed = new ArrayList<>(dependencies);
+        Collections.reverse(reversed);
+        VersionDependencyReport decoded = new VersionDependencyReport(dictionary.decode(dictionary.encode(reversed)), true);
+        VersionDependencyReport report = new VersionDependencyReport(dependencies, true);
+
+        Assert.assertEquals(report, new VersionDependencyReport(reversed, true));
+        Assert.assertEquals(report, decoded);
+        Assert.assertEquals(report.hashCode(), decoded.hashCode());
+        Assert.assertNotEquals(report, new VersionDependencyReport(dependencies, false));
+        Assert.assertNotEquals(report, new VersionDependencyReport(dependencies.subList(0, 1), true));
+    }
+
+    @Test
+    public void canAssignDictionaryIdsAfterExistingEntries()
+    {
+        mongoProvider.getCollection(GavDictionaryMongo.COLLECTION).insertMany(Arrays.asList(
+                new Document("gav", "examples.metadata:existing:1.0.0").append("index", 0),
+                new Document("gav", "examples.metadata:existing:2.0.0").append("index", 1)));
+
+        GavDictionaryMongo dictionary = new GavDictionaryMongo(mongoProvider);
+        List<ProjectVersion> decoded = dictionary.decode(dictionary.encode(dependencies));
+        Assert.assertEquals(2, decoded.size());
+        Assert.assertTrue(decoded.containsAll(dependencies));
+        Assert.assertEquals(2, mongoProvider.getCollection(GavDictionaryMongo.COLLECTION).find(new Document("gav", dependencies.get(0).getGav())).first().getInteger("index").intValue());
+        Assert.assertEquals(3, mongoProvider.getCollection(GavDictionaryMongo.COLLECTION).find(new Document("gav", dependencies.get(1).getGav())).first().getInteger("index").intValue());
+
+        GavDictionaryMongo otherInstance = new GavDictionaryMongo(mongoProvider);
+        ProjectVersion added = new ProjectVersion("examples.metadata", "added", "1.0.0");
+        Assert.assertEquals(Collections.singletonList(added), otherInstance.decode(otherInstance.encode(Collections.singletonList(added))));
+        Assert.assertEquals(4, mongoProvider.getCollection(GavDictionaryMongo.COLLECTION).find(new Document("gav", added.getGav())).first().getInteger("index").intValue());
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.entities;
 
+import org.finos.legend.depot.domain.entity.EntityDefinition;
 import org.finos.legend.depot.domain.entity.StoredEntity;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -23,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -66,6 +68,25 @@ public class TestQueryVersions extends TestStoreMongo
 
     }
 
+    @Test
+    public void canQueryEntitiesByPathsInChunks()
+    {
+        List<StoredEntity> stored = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 1201; i++)
+        {
+            String path = "examples::metadata::many::Entity" + i;
+            paths.add(path);
+            stored.add(new StoredEntity("examples.metadata", "many", "1.0.0", new EntityDefinition(path, "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata::many"))));
+        }
+        versionsMongo.createOrUpdate(stored);
+        paths.add("examples::metadata::many::Missing");
+
+        List<Entity> entities = versionsMongo.getEntities("examples.metadata", "many", "1.0.0", paths, null);
+        Assert.assertEquals(1201, entities.size());
+        Assert.assertEquals(new HashSet<>(paths.subList(0, 1201)), entities.stream().map(Entity::getPath).collect(Collectors.toSet()));
+    }
+
     @Test
     public void canQueryEntityMetadataByProjectVersionPackage()
     {
@@ -90,6 +111,13 @@ public class TestQueryVersions extends TestStoreMongo
         }
     }
 
+    @Test
+    public void subPackageQueryIsAnchoredToPackageSeparator()
+    {
+        Assert.assertTrue(versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::tes", null, true).isEmpty());
+        Assert.assertEquals(1, versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::test::subpackage", null, true).size());
+    }
+
     @Test
     public void canQueryEntityMetadataByClassifierPath()
     {
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
@@ -24,7 +25,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -82,4 +86,39 @@ public class TestQueryProjectVersionApi extends TestStoreMongo
         Assert.assertEquals("3.0.0", storeProjectVersionData.get(0).getVersionId());
     }
 
+    @Test
+    public void canFindDependantProjectVersions()
+    {
+        List<String> dependants = projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "1.0.0").stream().map(StoreProjectVersionData::getVersionId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("2.3.1", "master-SNAPSHOT"), dependants);
+        Assert.assertEquals(2, projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", null).size());
+        Assert.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "2.0.0").isEmpty());
+        Assert.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test", null).isEmpty());
+    }
+
+    @Test
+    public void canFindProjectVersionsInOneLookup()
+    {
+        List<ProjectVersion> requested = Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"),
+                new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"),
+                new ProjectVersion("examples.metadata", "test", "2.3.1"),
+                new ProjectVersion("examples.metadata", "test", "9.9.9"));
+        List<String> found = projectsVersionsAPI.find(requested).stream().map(pv -> pv.getGroupId() + ":" + pv.getArtifactId() + ":" + pv.getVersionId()).sorted().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("examples.metadata:test-dependencies:1.0.0", "examples.metadata:test:2.3.1"), found);
+        Assert.assertTrue(projectsVersionsAPI.find(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void canFindUpdatedStampsOfProjectVersions()
+    {
+        ProjectsVersionsMongo versionsMongo = new ProjectsVersionsMongo(mongoProvider);
+        ProjectVersion written = new ProjectVersion("examples.metadata", "test", "2.2.0");
+        long before = System.currentTimeMillis();
+        versionsMongo.createOrUpdate(versionsMongo.find(written.getGroupId(), written.getArtifactId(), written.getVersionId()).get());
+
+        Map<ProjectVersion, Date> updated = projectsVersionsAPI.findUpdated(Arrays.asList(written, new ProjectVersion("examples.metadata", "test", "1.0.0")));
+        Assert.assertEquals(Collections.singleton(written), updated.keySet());
+        Assert.assertTrue(updated.get(written).getTime() >= before);
+        Assert.assertTrue(projectsVersionsAPI.findUpdated(Collections.emptyList()).isEmpty());
+    }
 }
@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.mongo.projects;
 
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.junit.Assert;
 import org.junit.Before;
@@ -78,4 +79,22 @@ public class TestUpdateProjectVersionApi extends TestStoreMongo
         Assert.assertEquals(updatedProject.get().getVersionData().getDependencies().size(),1);
     }
 
+
+    @Test
+    public void canUpdateOnlyTransitiveDependencies()
+    {
+        ProjectVersion dependency = new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0");
+        StoreProjectVersionData stale = projectsVersionsAPI.find("examples.metadata", "test", "2.2.0").get();
+        StoreProjectVersionData concurrentlyUpdated = projectsVersionsAPI.find("examples.metadata", "test", "2.2.0").get();
+        concurrentlyUpdated.getVersionData().setDependencies(Collections.singletonList(dependency));
+        projectsVersionsAPI.createOrUpdate(concurrentlyUpdated);
+
+        stale.setTransitiveDependenciesReport(new VersionDependencyReport(Collections.singletonList(dependency), true));
+        Assert.assertEquals(1, projectsVersionsAPI.updateTransitiveDependencies(Collections.singletonList(stale)));
+
+        StoreProjectVersionData updated = projectsVersionsAPI.find("examples.metadata", "test", "2.2.0").get();
+        Assert.assertEquals(Collections.singletonList(dependency), updated.getTransitiveDependenciesReport().getTransitiveDependencies());
+        Assert.assertEquals(Collections.singletonList(dependency), updated.getVersionData().getDependencies());
+        Assert.assertEquals(0, projectsVersionsAPI.updateTransitiveDependencies(Collections.singletonList(new StoreProjectVersionData("examples.metadata", "missing", "1.0.0"))));
+    }
 }
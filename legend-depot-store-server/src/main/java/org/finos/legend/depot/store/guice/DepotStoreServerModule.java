@@ -18,12 +18,15 @@ package org.finos.legend.depot.store.guice;
 import com.google.inject.Binder;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import io.dropwizard.lifecycle.Managed;
+import org.finos.legend.depot.artifacts.repository.api.ArtifactRepository;
 import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryProviderConfiguration;
 import org.finos.legend.depot.core.http.guice.BaseModule;
 import org.finos.legend.depot.store.artifacts.configuration.IncludeProjectPropertiesConfiguration;
 import org.finos.legend.depot.schedules.services.SchedulesFactory;
 import org.finos.legend.depot.store.admin.api.metrics.StorageMetrics;
 import org.finos.legend.depot.store.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
+import org.finos.legend.depot.store.artifacts.configuration.PureModelContextPrecomputeConfiguration;
 import org.finos.legend.depot.store.notifications.domain.QueueManagerConfiguration;
 import org.finos.legend.depot.store.server.configuration.DepotStoreServerConfiguration;
 
@@ -40,6 +43,7 @@ public class DepotStoreServerModule extends BaseModule<DepotStoreServerConfigura
         binder.bind(IncludeProjectPropertiesConfiguration.class).toProvider(this::getIncludePropertiesConfiguration);
         binder.bind(ArtifactsRetentionPolicyConfiguration.class).toProvider(this::getRetentionPolicyConfiguration);
         binder.bind(QueueManagerConfiguration.class).toProvider(this::getQueueManagerConfiguration);
+        binder.bind(PureModelContextPrecomputeConfiguration.class).toProvider(this::getPureModelContextPrecomputeConfiguration);
     }
 
     private QueueManagerConfiguration getQueueManagerConfiguration()
@@ -47,6 +51,11 @@ public class DepotStoreServerModule extends BaseModule<DepotStoreServerConfigura
         return getConfiguration().getQueueManagerConfiguration() != null ? getConfiguration().getQueueManagerConfiguration() : new QueueManagerConfiguration();
     }
 
+    private PureModelContextPrecomputeConfiguration getPureModelContextPrecomputeConfiguration()
+    {
+        return getConfiguration().getPureModelContextPrecomputeConfiguration() != null ? getConfiguration().getPureModelContextPrecomputeConfiguration() : PureModelContextPrecomputeConfiguration.disabled();
+    }
+
     private IncludeProjectPropertiesConfiguration getIncludePropertiesConfiguration()
     {
         return getConfiguration().getIncludeProjectPropertiesConfiguration();
@@ -73,4 +82,27 @@ public class DepotStoreServerModule extends BaseModule<DepotStoreServerConfigura
         return true;
     }
 
+    @Provides
+    @Singleton
+    @Named("artifact-repository-lifecycle")
+    boolean manageArtifactRepository(ArtifactRepository artifactRepository)
+    {
+        if (artifactRepository instanceof AutoCloseable)
+        {
+            getEnvironment().lifecycle().manage(new Managed()
+            {
+                @Override
+                public void start()
+                {
+                }
+
+                @Override
+                public void stop() throws Exception
+                {
+                    ((AutoCloseable) artifactRepository).close();
+                }
+            });
+        }
+        return true;
+    }
 }
@@ -21,6 +21,7 @@ import org.finos.legend.depot.artifacts.repository.api.ArtifactRepositoryProvide
 import org.finos.legend.depot.core.http.ServersConfiguration;
 import org.finos.legend.depot.store.artifacts.configuration.IncludeProjectPropertiesConfiguration;
 import org.finos.legend.depot.store.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
+import org.finos.legend.depot.store.artifacts.configuration.PureModelContextPrecomputeConfiguration;
 import org.finos.legend.depot.store.notifications.domain.QueueManagerConfiguration;
 
 
@@ -40,6 +41,9 @@ public class DepotStoreServerConfiguration extends ServersConfiguration
     @JsonProperty("artifactsRetentionPolicyConfiguration")
     private ArtifactsRetentionPolicyConfiguration artifactsRetentionPolicyConfiguration;
 
+    @JsonProperty("pureModelContextPrecomputeConfiguration")
+    private PureModelContextPrecomputeConfiguration pureModelContextPrecomputeConfiguration;
+
     public QueueManagerConfiguration getQueueManagerConfiguration()
     {
         return queueManagerConfiguration;
@@ -79,4 +83,14 @@ public class DepotStoreServerConfiguration extends ServersConfiguration
     {
         this.artifactsRetentionPolicyConfiguration = artifactsRetentionPolicyConfiguration;
     }
+
+    public PureModelContextPrecomputeConfiguration getPureModelContextPrecomputeConfiguration()
+    {
+        return pureModelContextPrecomputeConfiguration;
+    }
+
+    public void setPureModelContextPrecomputeConfiguration(PureModelContextPrecomputeConfiguration pureModelContextPrecomputeConfiguration)
+    {
+        this.pureModelContextPrecomputeConfiguration = pureModelContextPrecomputeConfiguration;
+    }
 }